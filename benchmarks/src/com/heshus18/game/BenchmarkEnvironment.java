@@ -0,0 +1,43 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Sets up libGDX for benchmarks without a window or GPU, using the same no-op GL and scripted input as the headless
+ * checks in the desktop project. The headless application is only started to set up the Gdx globals, the benchmarks
+ * themselves run on JMH's threads.
+ */
+final class BenchmarkEnvironment {
+    private static ScriptedInput input;
+
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * Sets up libGDX the first time it is called in the benchmark's JVM. Benchmarks must be run from the assets
+     * directory, so internal files resolve.
+     *
+     * @return The input read by the game, controlled by the benchmark.
+     */
+    static synchronized ScriptedInput start() {
+        if (input == null) {
+            HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+            //Never render, the application's thread has nothing to do
+            config.updatesPerSecond = -1;
+            new HeadlessApplication(new ApplicationAdapter() {
+            }, config);
+            HeadlessGL20 gl = new HeadlessGL20();
+            HeadlessRunner.FixedStepGraphics graphics = new HeadlessRunner.FixedStepGraphics(1 / 60f);
+            graphics.setGL20(gl);
+            Gdx.graphics = graphics;
+            Gdx.gl = gl;
+            Gdx.gl20 = gl;
+            input = new ScriptedInput();
+            Gdx.input = input;
+        }
+        return input;
+    }
+}
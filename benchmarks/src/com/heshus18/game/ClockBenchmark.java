@@ -0,0 +1,68 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing the clock HUD, both on frames where the time is unchanged and its labels are reused, and on frames
+ * where the time has moved on and the labels are formatted again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockBenchmark {
+    private SpriteBatch batch;
+    private RenderQueue renderQueue;
+    private Time time;
+    private Clock clock;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        batch = new DistanceFieldBatch();
+        renderQueue = new RenderQueue(batch);
+        time = new Time();
+        clock = new Clock(new Vector2(700, 460), time);
+    }
+
+    @TearDown
+    public void tearDown() {
+        clock.dispose();
+        batch.dispose();
+    }
+
+    @Benchmark
+    public int renderUnchanged() {
+        return render();
+    }
+
+    @Benchmark
+    public int renderEveryMinute() {
+        time.addTime(1);
+        return render();
+    }
+
+    private int render() {
+        renderQueue.begin();
+        clock.render(renderQueue);
+        renderQueue.flush();
+        renderQueue.end();
+        return renderQueue.getRenderCalls();
+    }
+}
@@ -0,0 +1,95 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.FloatArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding routes on the real map for an entity the size of the player: with A* between a fixed set of random
+ * pairs of points that have a route between them, and to the landmarks activities are done at, from the kept fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigatorBenchmark {
+    private static final int ROUTES = 256;
+    private static final String[] LANDMARKS = {"CS Building", "Piazza", "Goodricke Hub"};
+
+    private String mapFile;
+    private Navigator navigator;
+    private final FloatArray waypoints = new FloatArray();
+    private final float[] fromX = new float[ROUTES], fromY = new float[ROUTES];
+    private final float[] toX = new float[ROUTES], toY = new float[ROUTES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        mapFile = AssetRegistry.getInstance().mapFile(GameScreen.MAP);
+        TiledMap map = AssetRegistry.getInstance().acquire(mapFile, TiledMap.class);
+        TextureRegion[][] frames = AssetRegistry.getInstance().frames(CharacterSelectScreen.KENZIE_SPRITE_SHEET,
+                Player.SHEET_COLUMNS, Player.SHEET_ROWS);
+        float mapWidth = map.getProperties().get("width", Integer.class)
+                * map.getProperties().get("tilewidth", Integer.class) * 2f;
+        float mapHeight = map.getProperties().get("height", Integer.class)
+                * map.getProperties().get("tileheight", Integer.class) * 2f;
+        GameWorld world = new GameWorld(map, 2f, new ActivityCatalogue(Gdx.files.internal("activities.json")),
+                new PopUpManager(), frames, 0, TaskRunner.SERIAL);
+        navigator = world.getNavigator();
+
+        //Only keep pairs with a route, so every call searches
+        RandomXS128 random = new RandomXS128(1);
+        for (int i = 0; i < ROUTES; ) {
+            fromX[i] = random.nextFloat() * mapWidth;
+            fromY[i] = random.nextFloat() * mapHeight;
+            toX[i] = random.nextFloat() * mapWidth;
+            toY[i] = random.nextFloat() * mapHeight;
+            if (navigator.findRoute(fromX[i], fromY[i], toX[i], toY[i], waypoints)) {
+                i++;
+            }
+        }
+        for (String landmark : LANDMARKS) {
+            navigator.findRoute(fromX[0], fromY[0], landmark, waypoints);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        AssetRegistry.getInstance().releaseRegion(CharacterSelectScreen.KENZIE_SPRITE_SHEET);
+        AssetRegistry.getInstance().release(mapFile);
+    }
+
+    @Benchmark
+    public int routeToPoint() {
+        int i = next;
+        next = (next + 1) & (ROUTES - 1);
+        navigator.findRoute(fromX[i], fromY[i], toX[i], toY[i], waypoints);
+        return waypoints.size;
+    }
+
+    @Benchmark
+    public int routeToLandmark() {
+        int i = next;
+        next = (next + 1) & (ROUTES - 1);
+        navigator.findRoute(fromX[i], fromY[i], LANDMARKS[i % LANDMARKS.length], waypoints);
+        return waypoints.size;
+    }
+}
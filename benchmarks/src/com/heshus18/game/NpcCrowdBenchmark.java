@@ -0,0 +1,69 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a tick of the crowd of students on the real map: stepping every student, then sorting them into the
+ * spatial hash. Runs with crowds of increasing size, on the calling thread alone and split across a worker thread for
+ * every other processor, as the desktop launcher does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NpcCrowdBenchmark {
+    @Param({"200", "2000", "20000"})
+    public int crowdSize;
+
+    @Param({"false", "true"})
+    public boolean threaded;
+
+    private String mapFile;
+    private TaskRunner tasks;
+    private NpcCrowd crowd;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        mapFile = AssetRegistry.getInstance().mapFile(GameScreen.MAP);
+        TiledMap map = AssetRegistry.getInstance().acquire(mapFile, TiledMap.class);
+        TextureRegion[][] frames = AssetRegistry.getInstance().frames(CharacterSelectScreen.KENZIE_SPRITE_SHEET,
+                Player.SHEET_COLUMNS, Player.SHEET_ROWS);
+        tasks = threaded ? new ThreadPoolTaskRunner(Runtime.getRuntime().availableProcessors() - 1)
+                : TaskRunner.SERIAL;
+        GameWorld world = new GameWorld(map, 2f, new ActivityCatalogue(Gdx.files.internal("activities.json")),
+                new PopUpManager(), frames, crowdSize, tasks);
+        crowd = world.getCrowd();
+    }
+
+    @TearDown
+    public void tearDown() {
+        tasks.dispose();
+        AssetRegistry.getInstance().releaseRegion(CharacterSelectScreen.KENZIE_SPRITE_SHEET);
+        AssetRegistry.getInstance().release(mapFile);
+    }
+
+    @Benchmark
+    public float tick() {
+        crowd.update(1 / 60f);
+        return crowd.getX(0);
+    }
+}
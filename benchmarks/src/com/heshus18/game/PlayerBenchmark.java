@@ -0,0 +1,114 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a tick of the game world with the player walking, which runs every system: the player's input, checking
+ * the collision grid on all four sides of the player, looking up the activity the player is next to and moving. Runs
+ * over the real map's object layer and over layers with extra random objects, which become extra collider entities.
+ * Each call moves the player to the next of a fixed set of random positions first, so the whole map is covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private static final int POSITIONS = 1024;
+
+    //How many times more objects the object layer has than the real map, 1 being the real map
+    @Param({"1", "10", "100"})
+    public int objectScale;
+
+    private String mapFile;
+    private GameWorld world;
+    private Player player;
+    private final TickInput input = new TickInput();
+    private final float[] positionsX = new float[POSITIONS];
+    private final float[] positionsY = new float[POSITIONS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        //Walk up and to the right, so every branch of the movement code runs
+        input.set(TickInput.UP | TickInput.RIGHT, 0, 0);
+
+        mapFile = AssetRegistry.getInstance().mapFile(GameScreen.MAP);
+        TiledMap map = AssetRegistry.getInstance().acquire(mapFile, TiledMap.class);
+        int mapWidth = map.getProperties().get("width", Integer.class)
+                * map.getProperties().get("tilewidth", Integer.class);
+        int mapHeight = map.getProperties().get("height", Integer.class)
+                * map.getProperties().get("tileheight", Integer.class);
+        RandomXS128 random = new RandomXS128(objectScale);
+        TiledMap benchmarkMap = objectScale == 1 ? map : scaledMap(map, mapWidth, mapHeight, random);
+        float unitScale = 2f;
+
+        TextureRegion[][] frames = AssetRegistry.getInstance().frames(CharacterSelectScreen.KENZIE_SPRITE_SHEET,
+                Player.SHEET_COLUMNS, Player.SHEET_ROWS);
+        world = new GameWorld(benchmarkMap, unitScale, new ActivityCatalogue(Gdx.files.internal("activities.json")),
+                new PopUpManager(), frames, 0, TaskRunner.SERIAL);
+        player = world.getPlayer();
+        for (int i = 0; i < POSITIONS; i++) {
+            positionsX[i] = random.nextFloat() * mapWidth * unitScale;
+            positionsY[i] = random.nextFloat() * mapHeight * unitScale;
+        }
+    }
+
+    //Copies the map's object layer with (objectScale - 1) times as many extra objects, placed at random with sizes
+    //from a few pixels up to a couple of tiles
+    private TiledMap scaledMap(TiledMap map, int mapWidth, int mapHeight, RandomXS128 random) {
+        MapObjects objects = map.getLayers().get(GameWorld.OBJECT_LAYER).getObjects();
+        MapLayer layer = new MapLayer();
+        layer.setName(GameWorld.OBJECT_LAYER);
+        for (MapObject object : objects) {
+            layer.getObjects().add(object);
+        }
+        for (int i = 0; i < objects.getCount() * (objectScale - 1); i++) {
+            float width = 4 + random.nextFloat() * 60;
+            float height = 4 + random.nextFloat() * 60;
+            layer.getObjects().add(new RectangleMapObject(random.nextFloat() * (mapWidth - width),
+                    random.nextFloat() * (mapHeight - height), width, height));
+        }
+        TiledMap scaled = new TiledMap();
+        scaled.getProperties().putAll(map.getProperties());
+        scaled.getLayers().add(layer);
+        return scaled;
+    }
+
+    @TearDown
+    public void tearDown() {
+        AssetRegistry.getInstance().releaseRegion(CharacterSelectScreen.KENZIE_SPRITE_SHEET);
+        AssetRegistry.getInstance().release(mapFile);
+    }
+
+    @Benchmark
+    public float tick() {
+        player.setPosition(positionsX[next], positionsY[next]);
+        next = (next + 1) & (POSITIONS - 1);
+        world.tick(1 / 60f, true, input);
+        return player.getX() + player.getNearbyActivity();
+    }
+}
@@ -0,0 +1,80 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame work of the pop-up manager with many pop-ups registered and only the last one visible. The
+ * times should not grow with the number of registered pop-ups, only visible ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PopUpManagerBenchmark {
+    @Param({"16", "256", "4096"})
+    public int popUps;
+
+    private PopUpManager popUpManager;
+    private SpriteBatch batch;
+    private RenderQueue renderQueue;
+    //A tick with no input, so the visible pop-up stays open
+    private final TickInput input = new TickInput();
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        batch = new DistanceFieldBatch();
+        renderQueue = new RenderQueue(batch);
+
+        popUpManager = new PopUpManager();
+        String[] types = {"prompt", "warning", "info"};
+        for (int i = 0; i < popUps; i++) {
+            popUpManager.addPopUp(new PopUp("popUp" + i, "Pop-up number " + i + "\n\nSecond line.", 200, 170, 400,
+                    170, types[i % types.length]));
+        }
+        //A prompt never closes by itself, so it stays visible for the whole benchmark
+        popUpManager.addPopUp(new PopUp("visible", "Are you sure?", 200, 170, 400, 170, "prompt"));
+        popUpManager.showPopUp("visible");
+    }
+
+    @TearDown
+    public void tearDown() {
+        popUpManager.dispose();
+        batch.dispose();
+    }
+
+    @Benchmark
+    public void update() {
+        popUpManager.update(input);
+    }
+
+    @Benchmark
+    public int render() {
+        renderQueue.begin();
+        popUpManager.render(renderQueue);
+        renderQueue.flush();
+        renderQueue.end();
+        return renderQueue.getRenderCalls();
+    }
+
+    @Benchmark
+    public boolean isAnyPopUpVisible() {
+        return popUpManager.isAnyPopUpVisible();
+    }
+}
@@ -0,0 +1,91 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the desktop session history with a thousand and with hundreds of thousands of weeks played: opening it
+ * again, getting the best and the most recent weeks, and getting a character's averages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionHistoryBenchmark {
+    //Weeks returned by the best and recent queries, about a leaderboard's worth
+    private static final int COUNT = 10;
+    private static final String[] CHARACTERS = {CharacterSelectScreen.KENZIE_SPRITE_SHEET,
+            CharacterSelectScreen.ISABELLE_SPRITE_SHEET};
+
+    //Weeks in the history
+    @Param({"1000", "300000"})
+    public int weeks;
+
+    private File directory;
+    private MappedSessionHistory history;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkEnvironment.start();
+        directory = Files.createTempDirectory("history").toFile();
+        history = new MappedSessionHistory(directory);
+
+        //Scores spread like real weeks, so the best weeks change throughout the history
+        Array<WeekRecord> records = new Array<WeekRecord>(weeks);
+        long started = 1700000000000L;
+        for (int i = 0; i < weeks; i++) {
+            int hash = i * 0x9E3779B1;
+            records.add(new WeekRecord((hash >>> 4) % 22, 7, (hash >>> 12) % 15, (hash >>> 20) % 8,
+                    CHARACTERS[i % CHARACTERS.length], started, started + 1800000));
+            started += 3600000;
+        }
+        history.recordAll(records);
+    }
+
+    @TearDown
+    public void tearDown() {
+        history.dispose();
+        HeadlessRunner.delete(directory);
+    }
+
+    @Benchmark
+    public int reopen() throws IOException {
+        MappedSessionHistory reopened = new MappedSessionHistory(directory);
+        int size = reopened.size();
+        reopened.dispose();
+        return size;
+    }
+
+    @Benchmark
+    public Array<WeekRecord> getBest() {
+        return history.getBest(COUNT);
+    }
+
+    @Benchmark
+    public Array<WeekRecord> getRecent() {
+        return history.getRecent(COUNT);
+    }
+
+    @Benchmark
+    public SessionHistory.Averages getAverages() {
+        return history.getAverages(CharacterSelectScreen.KENZIE_SPRITE_SHEET);
+    }
+}
@@ -0,0 +1,43 @@
+package com.heshus18.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding time to the game clock, from a single minute up to deltas spanning many days.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeBenchmark {
+    //Minutes added per call: a minute, an activity, a day, and about ten weeks
+    @Param({"1", "120", "1440", "100000"})
+    public int minutes;
+
+    private Time time;
+
+    @Setup
+    public void setUp() {
+        time = new Time();
+    }
+
+    @Benchmark
+    public int addTime() {
+        time.addTime(minutes);
+        return time.getDay() + time.getHour() + time.getMinute();
+    }
+}
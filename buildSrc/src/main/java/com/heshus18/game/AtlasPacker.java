@@ -0,0 +1,100 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs the game's sprite sheets and UI textures into a texture atlas, so a frame can be drawn with very few texture
+ * switches.
+ * Run at build time by the core project's packTextures task. Each image becomes a region named after its file without
+ * the extension, e.g. "startButton". Sprite sheets are cut into their frames first, and each frame becomes a region
+ * named after the sheet with the frame's index counted row by row from the top left, so every frame is trimmed on its
+ * own. AssetRegistry reads the atlas, and falls back to the standalone images if it hasn't been built.
+ */
+public class AtlasPacker {
+    //Must match AssetRegistry
+    static final String ATLAS_NAME = "game";
+
+    /**
+     * Packs images into the atlas.
+     *
+     * @param assets  The assets directory the images are in.
+     * @param sheets  The sprite sheets to cut into frames, each with its number of columns and rows.
+     * @param images  The images to pack whole.
+     * @param staging A directory to put the cut up frames in before packing, which is emptied first.
+     * @param output  The directory to write the atlas and its page images to, which is emptied first.
+     * @throws IOException If an image can't be read, or the atlas can't be written.
+     */
+    public static void pack(File assets, Map<String, int[]> sheets, List<String> images, File staging, File output)
+            throws IOException {
+        clear(staging);
+        clear(output);
+        for (Map.Entry<String, int[]> sheet : sheets.entrySet()) {
+            split(new File(assets, sheet.getKey()), sheet.getValue()[0], sheet.getValue()[1], staging);
+        }
+        for (String image : images) {
+            Files.copy(new File(assets, image).toPath(), new File(staging, image).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 2048;
+        settings.maxHeight = 2048;
+        //Trim transparent edges, the offsets are kept so regions still draw at their original size
+        settings.stripWhitespaceX = true;
+        settings.stripWhitespaceY = true;
+        //Keep the pixel art sharp, and stop neighbouring regions bleeding in when drawn at a fractional position or
+        //scale: the padding around each region repeats its edge pixels, and transparent pixels take the colour of
+        //their neighbours
+        settings.filterMin = Texture.TextureFilter.Nearest;
+        settings.filterMag = Texture.TextureFilter.Nearest;
+        settings.paddingX = 2;
+        settings.paddingY = 2;
+        settings.edgePadding = true;
+        settings.duplicatePadding = true;
+        settings.bleed = true;
+        //The "_N" ending of a frame's name is its index
+        settings.useIndexes = true;
+        TexturePacker.process(settings, staging.getPath(), output.getPath(), ATLAS_NAME);
+    }
+
+    //Cuts a sprite sheet into its frames, named "<sheet>_<index>.png"
+    private static void split(File sheetFile, int columns, int rows, File staging) throws IOException {
+        BufferedImage sheet = ImageIO.read(sheetFile);
+        if (sheet == null) {
+            throw new IOException("Can't read " + sheetFile);
+        }
+        int frameWidth = sheet.getWidth() / columns;
+        int frameHeight = sheet.getHeight() / rows;
+        String name = sheetFile.getName().substring(0, sheetFile.getName().lastIndexOf('.'));
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                BufferedImage frame = sheet.getSubimage(column * frameWidth, row * frameHeight, frameWidth,
+                        frameHeight);
+                ImageIO.write(frame, "png", new File(staging, name + "_" + (row * columns + column) + ".png"));
+            }
+        }
+    }
+
+    private static void clear(File directory) throws IOException {
+        if (directory.isDirectory()) {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    Files.delete(file.toPath());
+                }
+            }
+        } else if (!directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+    }
+}
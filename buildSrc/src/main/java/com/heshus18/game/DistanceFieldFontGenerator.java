@@ -0,0 +1,202 @@
+package com.heshus18.game;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generates a signed distance field font from a TrueType font, as an AngelCode .fnt file and one glyph page that
+ * libGDX's BitmapFont can load.
+ * Instead of coverage, each pixel of the page holds how far it is from the edge of its glyph, 0.5 on the edge and
+ * rising inside it, so the game's shader can draw sharp text at any scale from the one page. Glyphs are drawn at a
+ * much higher resolution first, and the distance is measured on that, so edges are accurate to a fraction of a pixel.
+ * Run by the core project's generateFont task. The generated font is kept in assets, so this only needs running again
+ * if the font, size or characters change.
+ */
+public class DistanceFieldFontGenerator {
+    //How many times larger glyphs are drawn to measure distances on
+    private static final int UPSCALE = 8;
+    //Width of the glyph page, its height is the smallest power of two that fits every glyph
+    private static final int PAGE_WIDTH = 512;
+
+    private static class Glyph {
+        int id, width, height, xoffset, yoffset, xadvance, x, y;
+        byte[] distances;
+    }
+
+    /**
+     * Generates the font.
+     *
+     * @param fontFile   The TrueType font.
+     * @param size       The size of the font in pixels, as drawn at a scale of 1.
+     * @param spread     How far from a glyph's edge distances are measured, in pixels. Also the padding around each
+     *                   glyph on the page.
+     * @param characters The characters to include.
+     * @param output     The .fnt file to write. The page is written next to it as a .png with the same name.
+     * @throws IOException If the font can't be read, or the output can't be written.
+     */
+    public static void generate(File fontFile, int size, int spread, String characters, File output)
+            throws IOException {
+        Font font;
+        try {
+            font = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont((float) size * UPSCALE);
+        } catch (FontFormatException e) {
+            throw new IOException("Can't read " + fontFile, e);
+        }
+        //Glyphs are drawn without anti-aliasing, as the distance field only needs to know what is inside
+        FontRenderContext context = new FontRenderContext(null, false, true);
+        LineMetrics metrics = font.getLineMetrics(characters, context);
+        int base = Math.round(metrics.getAscent() / UPSCALE);
+        int lineHeight = Math.round(metrics.getHeight() / UPSCALE);
+
+        List<Glyph> glyphs = new ArrayList<Glyph>();
+        for (int i = 0; i < characters.length(); i++) {
+            char character = characters.charAt(i);
+            if (font.canDisplay(character)) {
+                glyphs.add(drawGlyph(font, context, character, spread, base));
+            }
+        }
+        int pageHeight = pack(glyphs);
+
+        BufferedImage page = new BufferedImage(PAGE_WIDTH, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        for (Glyph glyph : glyphs) {
+            for (int y = 0; y < glyph.height; y++) {
+                for (int x = 0; x < glyph.width; x++) {
+                    int alpha = glyph.distances[y * glyph.width + x] & 0xFF;
+                    page.setRGB(glyph.x + x, glyph.y + y, alpha << 24 | 0xFFFFFF);
+                }
+            }
+        }
+        String name = output.getName().substring(0, output.getName().lastIndexOf('.'));
+        File pageFile = new File(output.getParentFile(), name + ".png");
+        if (!output.getParentFile().isDirectory() && !output.getParentFile().mkdirs()) {
+            throw new IOException("Can't create " + output.getParentFile());
+        }
+        ImageIO.write(page, "png", pageFile);
+
+        try (PrintWriter out = new PrintWriter(output, StandardCharsets.UTF_8.name())) {
+            out.println("info face=\"" + font.getFontName() + "\" size=" + size + " bold=0 italic=0 charset=\"\""
+                    + " unicode=1 stretchH=100 smooth=1 aa=1 padding=" + spread + "," + spread + "," + spread + ","
+                    + spread + " spacing=0,0");
+            out.println("common lineHeight=" + lineHeight + " base=" + base + " scaleW=" + PAGE_WIDTH + " scaleH="
+                    + pageHeight + " pages=1 packed=0");
+            out.println("page id=0 file=\"" + pageFile.getName() + "\"");
+            out.println("chars count=" + glyphs.size());
+            for (Glyph glyph : glyphs) {
+                out.println("char id=" + glyph.id + " x=" + glyph.x + " y=" + glyph.y + " width=" + glyph.width
+                        + " height=" + glyph.height + " xoffset=" + glyph.xoffset + " yoffset=" + glyph.yoffset
+                        + " xadvance=" + glyph.xadvance + " page=0 chnl=0");
+            }
+        }
+    }
+
+    //Draws a glyph at the high resolution and works out its distance field, padded by the spread on every side
+    private static Glyph drawGlyph(Font font, FontRenderContext context, char character, int spread, int base) {
+        GlyphVector vector = font.createGlyphVector(context, String.valueOf(character));
+        Rectangle bounds = vector.getPixelBounds(context, 0, 0);
+        Glyph glyph = new Glyph();
+        glyph.id = character;
+        glyph.xadvance = Math.round(vector.getGlyphMetrics(0).getAdvanceX() / UPSCALE);
+        if (vector.getGlyphOutline(0).getBounds2D().isEmpty()) {
+            //Nothing to draw, e.g. a space
+            return glyph;
+        }
+
+        //The glyph's bounds at the font's size, in whole pixels from the baseline, then padded
+        int left = Math.floorDiv(bounds.x, UPSCALE) - spread;
+        int top = Math.floorDiv(bounds.y, UPSCALE) - spread;
+        int right = -Math.floorDiv(-(bounds.x + bounds.width), UPSCALE) + spread;
+        int bottom = -Math.floorDiv(-(bounds.y + bounds.height), UPSCALE) + spread;
+        glyph.width = right - left;
+        glyph.height = bottom - top;
+        glyph.xoffset = left;
+        glyph.yoffset = base + top;
+
+        int highWidth = glyph.width * UPSCALE, highHeight = glyph.height * UPSCALE;
+        BufferedImage image = new BufferedImage(highWidth, highHeight, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics.setColor(Color.WHITE);
+        graphics.drawGlyphVector(vector, -left * UPSCALE, -top * UPSCALE);
+        graphics.dispose();
+        boolean[] inside = new boolean[highWidth * highHeight];
+        for (int y = 0; y < highHeight; y++) {
+            for (int x = 0; x < highWidth; x++) {
+                inside[y * highWidth + x] = (image.getRGB(x, y) & 0xFFFFFF) != 0;
+            }
+        }
+
+        //Each pixel's distance is measured from the middle of its block of high resolution pixels, to the nearest
+        //high resolution pixel on the other side of the edge
+        int reach = spread * UPSCALE;
+        glyph.distances = new byte[glyph.width * glyph.height];
+        for (int y = 0; y < glyph.height; y++) {
+            for (int x = 0; x < glyph.width; x++) {
+                int centreX = x * UPSCALE + UPSCALE / 2, centreY = y * UPSCALE + UPSCALE / 2;
+                boolean in = inside[centreY * highWidth + centreX];
+                int nearest = reach * reach;
+                for (int dy = -reach; dy <= reach; dy++) {
+                    int sampleY = centreY + dy;
+                    if (sampleY < 0 || sampleY >= highHeight || dy * dy >= nearest) continue;
+                    for (int dx = -reach; dx <= reach; dx++) {
+                        int sampleX = centreX + dx;
+                        if (sampleX < 0 || sampleX >= highWidth) continue;
+                        int squared = dx * dx + dy * dy;
+                        if (squared < nearest && inside[sampleY * highWidth + sampleX] != in) {
+                            nearest = squared;
+                        }
+                    }
+                }
+                float distance = (float) Math.sqrt(nearest) / reach;
+                float value = 0.5f + (in ? distance : -distance) / 2;
+                glyph.distances[y * glyph.width + x] = (byte) Math.round(Math.max(0, Math.min(1, value)) * 255);
+            }
+        }
+        return glyph;
+    }
+
+    //Places the glyphs on the page in rows, tallest first, and returns the page's height
+    private static int pack(List<Glyph> glyphs) {
+        List<Glyph> sorted = new ArrayList<Glyph>(glyphs);
+        Collections.sort(sorted, new Comparator<Glyph>() {
+            @Override
+            public int compare(Glyph a, Glyph b) {
+                return b.height - a.height;
+            }
+        });
+        int x = 0, y = 0, rowHeight = 0;
+        for (Glyph glyph : sorted) {
+            if (glyph.width == 0) continue;
+            if (x + glyph.width > PAGE_WIDTH) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            glyph.x = x;
+            glyph.y = y;
+            x += glyph.width;
+            rowHeight = Math.max(rowHeight, glyph.height);
+        }
+        int height = 1;
+        while (height < y + rowHeight) {
+            height *= 2;
+        }
+        return height;
+    }
+}
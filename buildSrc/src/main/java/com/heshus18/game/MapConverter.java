@@ -0,0 +1,463 @@
+package com.heshus18.game;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts Tiled .tmx maps (and the .tsx tilesets they use) into the binary format read by BinaryMapLoader, so the
+ * game doesn't have to parse XML and CSV when a map is loaded.
+ * Run at build time by the core project's convertMaps task. The binary map holds exactly what TmxMapLoader would
+ * build from the XML, with y already flipped and tileset regions already worked out.
+ * Maps using features the binary format doesn't cover are skipped, and the game loads their XML instead.
+ */
+public class MapConverter {
+    //Must match BinaryMapLoader
+    static final int MAGIC = 0x48484D50;
+    static final int VERSION = 1;
+    static final String EXTENSION = ".tmb";
+
+    static final int LAYER_TILES = 0;
+    static final int LAYER_OBJECTS = 1;
+    static final int OBJECT_RECTANGLE = 0;
+    static final int OBJECT_ELLIPSE = 1;
+    static final int PROPERTY_STRING = 0;
+    static final int PROPERTY_INT = 1;
+    static final int PROPERTY_FLOAT = 2;
+    static final int PROPERTY_BOOL = 3;
+    static final int PROPERTY_COLOR = 4;
+
+    /**
+     * Thrown when a map uses a Tiled feature the binary format doesn't support.
+     */
+    public static class UnsupportedMapException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedMapException(String message) {
+            super(message);
+        }
+    }
+
+    private final File mapFile;
+    private final File mapDirectory;
+    private final List<String> images = new ArrayList<String>();
+    private int mapHeightInPixels;
+
+    private MapConverter(File mapFile) {
+        this.mapFile = mapFile;
+        this.mapDirectory = mapFile.getAbsoluteFile().getParentFile();
+    }
+
+    /**
+     * Gets the binary file a map is converted to.
+     *
+     * @param mapFile The .tmx map.
+     * @return The binary map next to it, with the same name and a .tmb extension.
+     */
+    public static File binaryFile(File mapFile) {
+        String name = mapFile.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(mapFile.getParentFile(), (dot < 0 ? name : name.substring(0, dot)) + EXTENSION);
+    }
+
+    /**
+     * Converts a map to the binary format, writing it next to the map.
+     * If the map can't be converted any old binary map is deleted, so the game falls back to the XML.
+     *
+     * @param mapFile The .tmx map.
+     * @throws UnsupportedMapException If the map uses a feature the binary format doesn't support.
+     * @throws IOException             If the map or a tileset can't be read, or the binary map can't be written.
+     */
+    public static void convert(File mapFile) throws UnsupportedMapException, IOException {
+        File output = binaryFile(mapFile);
+        MapConverter converter = new MapConverter(mapFile);
+        byte[] bytes;
+        try {
+            bytes = converter.convert();
+        } catch (UnsupportedMapException e) {
+            output.delete();
+            throw e;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)));
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+
+    private byte[] convert() throws UnsupportedMapException, IOException {
+        Element map = parse(mapFile);
+        String orientation = attribute(map, "orientation", null);
+        if (orientation != null && !orientation.equals("orthogonal")) {
+            throw new UnsupportedMapException(orientation + " maps are not supported");
+        }
+        if (intAttribute(map, "infinite", 0) != 0) {
+            throw new UnsupportedMapException("infinite maps are not supported");
+        }
+        int width = intAttribute(map, "width", 0);
+        int height = intAttribute(map, "height", 0);
+        int tileWidth = intAttribute(map, "tilewidth", 0);
+        int tileHeight = intAttribute(map, "tileheight", 0);
+        mapHeightInPixels = height * tileHeight;
+
+        //The body is written first, as the images it refers to are listed in the header
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        writeString(out, orientation);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(tileWidth);
+        out.writeInt(tileHeight);
+        out.writeInt(intAttribute(map, "hexsidelength", 0));
+        writeString(out, attribute(map, "backgroundcolor", null));
+        writeProperties(out, child(map, "properties"));
+
+        List<Element> tilesets = children(map, "tileset");
+        out.writeShort(tilesets.size());
+        for (Element tileset : tilesets) {
+            writeTileset(out, tileset);
+        }
+
+        List<Element> layers = new ArrayList<Element>();
+        for (Node node = map.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (!(node instanceof Element)) continue;
+            String name = node.getNodeName();
+            if (name.equals("layer") || name.equals("objectgroup")) {
+                layers.add((Element) node);
+            } else if (name.equals("group") || name.equals("imagelayer")) {
+                throw new UnsupportedMapException(name + " layers are not supported");
+            }
+        }
+        out.writeShort(layers.size());
+        for (Element layer : layers) {
+            if (layer.getNodeName().equals("layer")) {
+                writeTileLayer(out, layer);
+            } else {
+                writeObjectLayer(out, layer);
+            }
+        }
+        out.flush();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(file);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeShort(images.size());
+        for (String image : images) {
+            header.writeUTF(image);
+        }
+        header.write(body.toByteArray());
+        header.flush();
+        return file.toByteArray();
+    }
+
+    private void writeTileset(DataOutputStream out, Element tileset) throws UnsupportedMapException, IOException {
+        int firstgid = intAttribute(tileset, "firstgid", 1);
+        File tilesetFile = mapFile;
+        String source = attribute(tileset, "source", null);
+        if (source != null) {
+            tilesetFile = new File(mapDirectory, source);
+            tileset = parse(tilesetFile);
+        }
+
+        Element image = child(tileset, "image");
+        if (image == null) {
+            throw new UnsupportedMapException("image collection tilesets are not supported");
+        }
+        int tileWidth = intAttribute(tileset, "tilewidth", 0);
+        int tileHeight = intAttribute(tileset, "tileheight", 0);
+        int spacing = intAttribute(tileset, "spacing", 0);
+        int margin = intAttribute(tileset, "margin", 0);
+        int offsetX = 0;
+        int offsetY = 0;
+        Element offset = child(tileset, "tileoffset");
+        if (offset != null) {
+            offsetX = intAttribute(offset, "x", 0);
+            offsetY = intAttribute(offset, "y", 0);
+        }
+        String imageSource = attribute(image, "source", null);
+        int imageWidth = intAttribute(image, "width", 0);
+        int imageHeight = intAttribute(image, "height", 0);
+
+        writeString(out, attribute(tileset, "name", null));
+        out.writeInt(firstgid);
+        out.writeInt(tileWidth);
+        out.writeInt(tileHeight);
+        out.writeInt(spacing);
+        out.writeInt(margin);
+        out.writeInt(offsetX);
+        out.writeInt(offsetY);
+        out.writeShort(image(new File(tilesetFile.getAbsoluteFile().getParentFile(), imageSource)));
+        writeString(out, imageSource);
+        out.writeInt(imageWidth);
+        out.writeInt(imageHeight);
+        writeProperties(out, child(tileset, "properties"));
+
+        //Regions of each tile in the image, in the same order TmxMapLoader cuts them
+        List<int[]> regions = new ArrayList<int[]>();
+        for (int y = margin; y <= imageHeight - tileHeight; y += tileHeight + spacing) {
+            for (int x = margin; x <= imageWidth - tileWidth; x += tileWidth + spacing) {
+                regions.add(new int[]{x, y});
+            }
+        }
+        out.writeInt(regions.size());
+        for (int[] region : regions) {
+            out.writeShort(region[0]);
+            out.writeShort(region[1]);
+        }
+
+        List<Element> animations = new ArrayList<Element>();
+        for (Element tile : children(tileset, "tile")) {
+            for (Node node = tile.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof Element && !node.getNodeName().equals("animation")) {
+                    throw new UnsupportedMapException("tile " + node.getNodeName() + " is not supported");
+                }
+            }
+            if (tile.hasAttribute("type") || tile.hasAttribute("terrain") || tile.hasAttribute("probability")) {
+                throw new UnsupportedMapException("tile types, terrain and probability are not supported");
+            }
+            if (child(tile, "animation") != null && intAttribute(tile, "id", 0) < regions.size()) {
+                animations.add(tile);
+            }
+        }
+        out.writeShort(animations.size());
+        for (Element tile : animations) {
+            List<Element> frames = children(child(tile, "animation"), "frame");
+            out.writeInt(intAttribute(tile, "id", 0));
+            out.writeShort(frames.size());
+            for (Element frame : frames) {
+                out.writeInt(intAttribute(frame, "tileid", 0));
+                out.writeInt(intAttribute(frame, "duration", 0));
+            }
+        }
+    }
+
+    private void writeTileLayer(DataOutputStream out, Element layer) throws UnsupportedMapException, IOException {
+        int width = intAttribute(layer, "width", 0);
+        int height = intAttribute(layer, "height", 0);
+        int[] ids = tileIds(layer, width, height);
+        out.writeByte(LAYER_TILES);
+        out.writeInt(width);
+        out.writeInt(height);
+        writeLayerInfo(out, layer);
+
+        //Ids only need 2 bytes each unless there are a lot of tiles or any are flipped
+        boolean small = true;
+        for (int id : ids) {
+            if ((id & 0xFFFF0000) != 0) {
+                small = false;
+                break;
+            }
+        }
+        out.writeByte(small ? 2 : 4);
+        //Rows are written bottom to top, the order they are stored in a TiledMapTileLayer
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                int id = ids[y * width + x];
+                if (small) {
+                    out.writeShort(id);
+                } else {
+                    out.writeInt(id);
+                }
+            }
+        }
+    }
+
+    private void writeObjectLayer(DataOutputStream out, Element layer) throws UnsupportedMapException, IOException {
+        out.writeByte(LAYER_OBJECTS);
+        writeLayerInfo(out, layer);
+        List<Element> objects = children(layer, "object");
+        out.writeInt(objects.size());
+        for (Element object : objects) {
+            int shape = OBJECT_RECTANGLE;
+            for (Node node = object.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (!(node instanceof Element) || node.getNodeName().equals("properties")) continue;
+                if (node.getNodeName().equals("ellipse")) {
+                    shape = OBJECT_ELLIPSE;
+                } else {
+                    throw new UnsupportedMapException(node.getNodeName() + " objects are not supported");
+                }
+            }
+            if (object.hasAttribute("gid")) {
+                throw new UnsupportedMapException("tile objects are not supported");
+            }
+
+            //Same arithmetic as TmxMapLoader, so the positions match exactly
+            float x = floatAttribute(object, "x", 0);
+            float y = mapHeightInPixels - floatAttribute(object, "y", 0);
+            float width = floatAttribute(object, "width", 0);
+            float height = floatAttribute(object, "height", 0);
+
+            out.writeByte(shape);
+            out.writeInt(intAttribute(object, "id", 0));
+            writeString(out, attribute(object, "name", null));
+            writeString(out, attribute(object, "type", null));
+            out.writeFloat(x);
+            out.writeFloat(y - height);
+            out.writeFloat(width);
+            out.writeFloat(height);
+            String rotation = attribute(object, "rotation", null);
+            out.writeBoolean(rotation != null);
+            if (rotation != null) {
+                out.writeFloat(Float.parseFloat(rotation));
+            }
+            out.writeBoolean(intAttribute(object, "visible", 1) == 1);
+            writeProperties(out, child(object, "properties"));
+        }
+    }
+
+    private void writeLayerInfo(DataOutputStream out, Element layer) throws UnsupportedMapException, IOException {
+        writeString(out, attribute(layer, "name", null));
+        out.writeFloat(Float.parseFloat(attribute(layer, "opacity", "1.0")));
+        out.writeBoolean(intAttribute(layer, "visible", 1) == 1);
+        out.writeFloat(floatAttribute(layer, "offsetx", 0));
+        out.writeFloat(floatAttribute(layer, "offsety", 0));
+        out.writeFloat(floatAttribute(layer, "parallaxx", 1));
+        out.writeFloat(floatAttribute(layer, "parallaxy", 1));
+        writeProperties(out, child(layer, "properties"));
+    }
+
+    private static void writeProperties(DataOutputStream out, Element properties)
+            throws UnsupportedMapException, IOException {
+        List<Element> list = properties == null ? new ArrayList<Element>() : children(properties, "property");
+        out.writeShort(list.size());
+        for (Element property : list) {
+            String name = attribute(property, "name", null);
+            String type = attribute(property, "type", null);
+            String value = attribute(property, "value", null);
+            if (value == null) {
+                value = property.getTextContent();
+            }
+            out.writeUTF(name);
+            if (type == null || type.equals("string")) {
+                out.writeByte(PROPERTY_STRING);
+                out.writeUTF(value);
+            } else if (type.equals("int")) {
+                out.writeByte(PROPERTY_INT);
+                out.writeInt(Integer.parseInt(value));
+            } else if (type.equals("float")) {
+                out.writeByte(PROPERTY_FLOAT);
+                out.writeFloat(Float.parseFloat(value));
+            } else if (type.equals("bool")) {
+                out.writeByte(PROPERTY_BOOL);
+                out.writeBoolean(Boolean.parseBoolean(value));
+            } else if (type.equals("color")) {
+                out.writeByte(PROPERTY_COLOR);
+                out.writeUTF(value);
+            } else {
+                throw new UnsupportedMapException(type + " properties are not supported");
+            }
+        }
+    }
+
+    private static int[] tileIds(Element layer, int width, int height) throws UnsupportedMapException, IOException {
+        Element data = child(layer, "data");
+        String encoding = data == null ? null : attribute(data, "encoding", null);
+        int[] ids = new int[width * height];
+        if ("csv".equals(encoding)) {
+            String[] values = data.getTextContent().split(",");
+            for (int i = 0; i < values.length; i++) {
+                ids[i] = (int) Long.parseLong(values[i].trim());
+            }
+        } else if ("base64".equals(encoding)) {
+            byte[] bytes = Base64.getMimeDecoder().decode(data.getTextContent().trim());
+            String compression = attribute(data, "compression", null);
+            InputStream in;
+            if (compression == null) {
+                in = new ByteArrayInputStream(bytes);
+            } else if (compression.equals("gzip")) {
+                in = new GZIPInputStream(new ByteArrayInputStream(bytes));
+            } else if (compression.equals("zlib")) {
+                in = new InflaterInputStream(new ByteArrayInputStream(bytes));
+            } else {
+                throw new UnsupportedMapException(compression + " compressed layers are not supported");
+            }
+            DataInputStream tiles = new DataInputStream(in);
+            for (int i = 0; i < ids.length; i++) {
+                //Tiled stores ids little endian
+                ids[i] = Integer.reverseBytes(tiles.readInt());
+            }
+        } else {
+            throw new UnsupportedMapException("layer encoding " + encoding + " is not supported");
+        }
+        return ids;
+    }
+
+    //Adds an image to the header, returning its index
+    private int image(File image) throws UnsupportedMapException {
+        String path = mapDirectory.toURI().relativize(image.getAbsoluteFile().toURI()).getPath();
+        if (path.startsWith("/")) {
+            throw new UnsupportedMapException("tileset images outside the map's folder are not supported");
+        }
+        int index = images.indexOf(path);
+        if (index < 0) {
+            images.add(path);
+            index = images.size() - 1;
+        }
+        return index;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Element parse(File file) throws IOException {
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+            return document.getDocumentElement();
+        } catch (ParserConfigurationException e) {
+            throw new IOException(e);
+        } catch (SAXException e) {
+            throw new IOException("Error parsing " + file, e);
+        }
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && node.getNodeName().equals(name)) return (Element) node;
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> children = new ArrayList<Element>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && node.getNodeName().equals(name)) children.add((Element) node);
+        }
+        return children;
+    }
+
+    private static String attribute(Element element, String name, String defaultValue) {
+        return element.hasAttribute(name) ? element.getAttribute(name) : defaultValue;
+    }
+
+    private static int intAttribute(Element element, String name, int defaultValue) {
+        return element.hasAttribute(name) ? Integer.parseInt(element.getAttribute(name)) : defaultValue;
+    }
+
+    private static float floatAttribute(Element element, String name, float defaultValue) {
+        return element.hasAttribute(name) ? Float.parseFloat(element.getAttribute(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,94 @@
+package com.heshus18.game;
+
+/**
+ * An activity the player can do by interacting with a building on the map, e.g. studying or eating.
+ * Activities are loaded from "activities.json" by the {@link ActivityCatalogue}, and map objects are linked to them
+ * with an "activity" property in Tiled.
+ */
+public class Activity {
+    /**
+     * The kind of activity, which decides the rules used when the activity is confirmed and which score counter
+     * it increments.
+     */
+    public enum Type {
+        STUDY, EAT, RECREATION, SLEEP
+    }
+
+    private final int id;
+    private final String name;
+    private final Type type;
+    private final float energyCost;
+    private final int duration;
+    private final String promptMessage, successMessage;
+    private final String promptPopUpId, successPopUpId;
+
+    /**
+     * Creates an activity.
+     *
+     * @param id             The index of the activity in its catalogue.
+     * @param name           The unique name of the activity, used by the "activity" property of map objects.
+     * @param type           The kind of activity.
+     * @param energyCost     The energy drained when the activity is done.
+     * @param duration       The time the activity takes, in minutes.
+     * @param promptMessage  The message shown when asking the player to confirm the activity.
+     * @param successMessage The message shown when the activity is done.
+     */
+    public Activity(int id, String name, Type type, float energyCost, int duration, String promptMessage,
+                    String successMessage) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.energyCost = energyCost;
+        this.duration = duration;
+        this.promptMessage = promptMessage;
+        this.successMessage = successMessage;
+        this.promptPopUpId = name + "PopUp";
+        this.successPopUpId = name + "Success";
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public float getEnergyCost() {
+        return energyCost;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public String getPromptMessage() {
+        return promptMessage;
+    }
+
+    public String getSuccessMessage() {
+        return successMessage;
+    }
+
+    /**
+     * Gets the id of the pop-up asking the player to confirm this activity.
+     *
+     * @return The prompt pop-up id.
+     */
+    public String getPromptPopUpId() {
+        return promptPopUpId;
+    }
+
+    /**
+     * Gets the id of the pop-up shown when this activity is done.
+     *
+     * @return The success pop-up id.
+     */
+    public String getSuccessPopUpId() {
+        return successPopUpId;
+    }
+}
@@ -0,0 +1,73 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Table of every activity in the game, loaded from a JSON file.
+ * Activities are indexed by id so they can be looked up without comparing names while the game is running.
+ */
+public class ActivityCatalogue {
+    private final Array<Activity> activities;
+    private final ObjectMap<String, Activity> activitiesByName;
+
+    /**
+     * Loads the catalogue from a JSON file containing an array of activities.
+     * Each activity has a "name", "type" (STUDY, EAT, RECREATION or SLEEP), "energy", "duration" (minutes),
+     * "prompt" message and "success" message.
+     *
+     * @param file The JSON file to load.
+     */
+    public ActivityCatalogue(FileHandle file) {
+        activities = new Array<>();
+        activitiesByName = new ObjectMap<>();
+
+        JsonValue root = new JsonReader().parse(file);
+        for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+            Activity activity = new Activity(activities.size,
+                    entry.getString("name"),
+                    Activity.Type.valueOf(entry.getString("type")),
+                    entry.getFloat("energy", 0),
+                    entry.getInt("duration", 0),
+                    entry.getString("prompt"),
+                    entry.getString("success", ""));
+            if (activitiesByName.containsKey(activity.getName())) {
+                throw new IllegalArgumentException("Duplicate activity " + activity.getName() + " in " + file.path());
+            }
+            activities.add(activity);
+            activitiesByName.put(activity.getName(), activity);
+        }
+    }
+
+    /**
+     * Gets an activity by id.
+     *
+     * @param id The id of the activity.
+     * @return The activity.
+     */
+    public Activity get(int id) {
+        return activities.get(id);
+    }
+
+    /**
+     * Gets an activity by name. Only meant for resolving map properties when the map is loaded.
+     *
+     * @param name The name of the activity.
+     * @return The activity, or null if there is no activity with that name.
+     */
+    public Activity get(String name) {
+        return activitiesByName.get(name);
+    }
+
+    /**
+     * Gets the number of activities in the catalogue.
+     *
+     * @return The number of activities.
+     */
+    public int size() {
+        return activities.size;
+    }
+}
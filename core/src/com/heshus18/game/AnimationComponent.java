@@ -0,0 +1,51 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * An entity's animations, which one is playing, and where its frames are drawn relative to its position.
+ */
+public class AnimationComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<AnimationComponent> MAPPER = ComponentMapper.getFor(AnimationComponent.class);
+
+    public Animation<TextureRegion>[] animations;
+    public int current;
+    //Time the current animation has been playing
+    public float stateTime;
+    //Where the frames are drawn from the entity's position, and their size, in world units
+    public float offsetX, offsetY, width, height;
+
+    /**
+     * Plays an animation from its start.
+     *
+     * @param animation The index of the animation.
+     */
+    public void play(int animation) {
+        current = animation;
+        stateTime = 0;
+    }
+
+    /**
+     * Gets the frame of the current animation to draw.
+     *
+     * @return The frame.
+     */
+    public TextureRegion getFrame() {
+        return animations[current].getKeyFrame(stateTime, true);
+    }
+
+    @Override
+    public void reset() {
+        animations = null;
+        current = 0;
+        stateTime = 0;
+        offsetX = 0;
+        offsetY = 0;
+        width = 0;
+        height = 0;
+    }
+}
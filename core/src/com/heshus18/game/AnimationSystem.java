@@ -0,0 +1,25 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+
+/**
+ * Advances the animation of every animated entity. Runs first each tick, so an animation started later in the tick
+ * starts from its first frame.
+ */
+public class AnimationSystem extends IteratingSystem {
+    /**
+     * Creates the system.
+     *
+     * @param priority The order the system runs in, lowest first.
+     */
+    public AnimationSystem(int priority) {
+        super(Family.all(AnimationComponent.class).get(), priority);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        AnimationComponent.MAPPER.get(entity).stateTime += deltaTime;
+    }
+}
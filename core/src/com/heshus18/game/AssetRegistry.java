@@ -0,0 +1,411 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Central registry of the textures and fonts used by the game, so every pop-up, HUD element and screen shares the
+ * same copy of an asset instead of loading its own.
+ * Assets are reference counted: every call to {@link #texture(String)} or {@link #font(float)} must be matched by a
+ * call to {@link #release(String)} or {@link #releaseFont(BitmapFont)}, and an asset is disposed once nothing uses it.
+ * Screens can also have their assets prefetched in the background while an earlier screen is shown, see
+ * {@link #prefetch(Array)}.
+ * Sprites and UI images are drawn as regions of the texture atlas made by the packTextures build task, see
+ * {@link #region(String)}, so most of a frame is drawn from one texture.
+ * Text is drawn from one distance field font at every scale, see {@link #font(float)}.
+ */
+public class AssetRegistry {
+    //Made by the generateFont build task, see DistanceFieldFontGenerator
+    private static final String FONT_FILE = "fonts/dejavu-sans-sdf.fnt";
+    //The font is generated larger than it is drawn, a scale of 1 has the same cap height as libGDX's default font
+    private static final float FONT_BASE_SCALE = 0.45f;
+    //Made by the packTextures build task, see AtlasPacker
+    static final String ATLAS = "atlas/game.atlas";
+
+    //Time spent each frame uploading prefetched assets on the render thread, the rest of the loading is done on a
+    //background thread
+    private static final int PREFETCH_MILLIS = 4;
+
+    private static AssetRegistry instance;
+
+    private final AssetManager manager;
+
+    //Fonts share one glyph page, with a BitmapFont per scale as the scale is stored in the font data
+    private final Array<TextureRegion> fontPages;
+    private final IntMap<BitmapFont> fonts;
+    private final ObjectIntMap<BitmapFont> fontReferences;
+    //Whether the atlas has been built, looked up the first time a region is needed
+    private boolean atlasChecked, atlasBuilt;
+
+    private AssetRegistry() {
+        manager = new AssetManager();
+        manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+        manager.setLoader(TiledMap.class, BinaryMapLoader.EXTENSION, new BinaryMapLoader(new InternalFileHandleResolver()));
+        fontPages = new Array<TextureRegion>();
+        fonts = new IntMap<BitmapFont>();
+        fontReferences = new ObjectIntMap<BitmapFont>();
+    }
+
+    /**
+     * Gets the registry used by the game, creating it the first time it is needed.
+     *
+     * @return The asset registry.
+     */
+    public static AssetRegistry getInstance() {
+        if (instance == null) {
+            instance = new AssetRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the asset manager the registry loads its assets with.
+     *
+     * @return The asset manager.
+     */
+    public AssetManager getManager() {
+        return manager;
+    }
+
+    /**
+     * Gets a shared asset, loading it if it is not already loaded, and adds a reference to it.
+     *
+     * @param path The internal path of the asset.
+     * @param type The type of the asset.
+     * @return The asset.
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        if (manager.contains(path, type)) {
+            //Already loaded or being prefetched, so wait for it if needed and add a reference
+            manager.finishLoadingAsset(path);
+            retain(path);
+        } else {
+            manager.load(path, type);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, type);
+    }
+
+    /**
+     * Queues assets to be loaded in the background, so they are ready by the time a screen needs them.
+     * The registry keeps a reference to each prefetched asset, so they stay loaded for as long as the game runs.
+     * Anything acquired while a prefetch is running waits for the assets queued before it, so prefetch the assets of
+     * the screens the player can reach soonest first.
+     *
+     * @param assets The assets to load.
+     */
+    public void prefetch(Array<AssetDescriptor<?>> assets) {
+        for (AssetDescriptor<?> asset : assets) {
+            if (!manager.contains(asset.fileName, asset.type)) {
+                manager.load(asset);
+            }
+        }
+    }
+
+    /**
+     * Continues loading prefetched assets for a few milliseconds. Call this once a frame.
+     *
+     * @return True if every prefetched asset has been loaded.
+     */
+    public boolean updatePrefetch() {
+        return manager.update(PREFETCH_MILLIS);
+    }
+
+    /**
+     * Checks if every prefetched asset has been loaded, without loading any more.
+     *
+     * @return True if nothing is waiting to be loaded.
+     */
+    public boolean isPrefetchFinished() {
+        return manager.isFinished();
+    }
+
+    /**
+     * Gets how much of the queued assets have been loaded.
+     *
+     * @return The progress, from 0 to 1.
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Gets the file a map should be loaded from, which is its binary version if the convertMaps build task has made
+     * an up-to-date one, and the .tmx otherwise. Use the returned path to acquire and release the map.
+     *
+     * @param tmxPath The internal path of the .tmx map.
+     * @return The internal path to load the map from.
+     */
+    public String mapFile(String tmxPath) {
+        return BinaryMapLoader.mapFile(manager.getFileHandleResolver(), tmxPath);
+    }
+
+    /**
+     * Gets a shared texture, loading it if it is not already loaded, and adds a reference to it.
+     *
+     * @param path The internal path of the texture.
+     * @return The texture.
+     */
+    public Texture texture(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    /**
+     * Gets a shared image as a region of the texture atlas, and adds a reference to it. If the atlas hasn't been built
+     * or doesn't have the image, the region covers the whole of the image's own texture instead, so the game still
+     * runs without the packTextures build task.
+     * Regions from the atlas may have had their transparent edges trimmed, so draw them with
+     * {@link RenderQueue#drawRegion(com.badlogic.gdx.graphics.g2d.Batch, TextureRegion, float, float, float, float)}
+     * or a render queue, which put the edges back.
+     *
+     * @param path The internal path of the image, e.g. "startButton.png".
+     * @return The region.
+     */
+    public TextureRegion region(String path) {
+        TextureAtlas atlas = acquireAtlas();
+        if (atlas != null) {
+            TextureAtlas.AtlasRegion region = atlas.findRegion(regionName(path));
+            if (region != null) {
+                return region;
+            }
+            release(ATLAS);
+        }
+        return new TextureRegion(texture(path));
+    }
+
+    /**
+     * Gets the frames of a shared sprite sheet, and adds a reference to them. The frames come from the texture atlas,
+     * where each frame was packed separately, or are cut from the sheet's own texture if the atlas doesn't have it.
+     *
+     * @param path    The internal path of the sprite sheet.
+     * @param columns The number of frames across the sheet.
+     * @param rows    The number of frames down the sheet.
+     * @return The frames, indexed by row from the top, then column from the left.
+     */
+    public TextureRegion[][] frames(String path, int columns, int rows) {
+        TextureAtlas atlas = acquireAtlas();
+        if (atlas != null) {
+            String name = regionName(path);
+            if (atlas.findRegion(name, 0) != null) {
+                TextureRegion[][] frames = new TextureRegion[rows][columns];
+                for (int row = 0; row < rows; row++) {
+                    for (int column = 0; column < columns; column++) {
+                        frames[row][column] = atlas.findRegion(name, row * columns + column);
+                    }
+                }
+                return frames;
+            }
+            release(ATLAS);
+        }
+        Texture sheet = texture(path);
+        return TextureRegion.split(sheet, sheet.getWidth() / columns, sheet.getHeight() / rows);
+    }
+
+    /**
+     * Removes a reference to an image got with {@link #region(String)} or {@link #frames(String, int, int)}.
+     *
+     * @param path The internal path of the image.
+     */
+    public void releaseRegion(String path) {
+        //The atlas is still loaded if the region came from it, as the region holds a reference
+        if (manager.isLoaded(ATLAS, TextureAtlas.class)) {
+            TextureAtlas atlas = manager.get(ATLAS, TextureAtlas.class);
+            if (atlas.findRegion(regionName(path)) != null) {
+                release(ATLAS);
+                return;
+            }
+        }
+        release(path);
+    }
+
+    /**
+     * Gets what to prefetch so an image is ready to be got with {@link #region(String)}: the texture atlas if it has
+     * been built, and the image's own texture otherwise.
+     *
+     * @param path The internal path of the image.
+     * @return The asset to prefetch.
+     */
+    public AssetDescriptor<?> regionDependency(String path) {
+        if (isAtlasBuilt()) {
+            return new AssetDescriptor<TextureAtlas>(ATLAS, TextureAtlas.class);
+        }
+        return new AssetDescriptor<Texture>(path, Texture.class);
+    }
+
+    private boolean isAtlasBuilt() {
+        if (!atlasChecked) {
+            atlasBuilt = manager.getFileHandleResolver().resolve(ATLAS).exists();
+            atlasChecked = true;
+        }
+        return atlasBuilt;
+    }
+
+    //Gets the atlas with a reference added, or null if it hasn't been built
+    private TextureAtlas acquireAtlas() {
+        return isAtlasBuilt() ? acquire(ATLAS, TextureAtlas.class) : null;
+    }
+
+    //Regions are named after their image without the extension
+    private static String regionName(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? path : path.substring(0, dot);
+    }
+
+    /**
+     * Removes a reference to an asset, disposing it if nothing else is using it.
+     *
+     * @param path The internal path of the asset.
+     */
+    public void release(String path) {
+        manager.unload(path);
+    }
+
+    //Adds a reference to a loaded asset and everything it depends on, the same way the asset manager does when the
+    //asset is loaded again
+    private void retain(String path) {
+        manager.setReferenceCount(path, manager.getReferenceCount(path) + 1);
+        Array<String> dependencies = manager.getDependencies(path);
+        if (dependencies != null) {
+            for (String dependency : dependencies) {
+                retain(dependency);
+            }
+        }
+    }
+
+    /**
+     * Gets a shared copy of the game's font at a scale, and adds a reference to it.
+     * The font is a signed distance field font, so all scales share the same glyph page and stay sharp, as long as
+     * they are drawn with a {@link DistanceFieldBatch}. The returned font must not have its scale changed.
+     *
+     * @param scale The scale of the font, where 1 is about the size of libGDX's default font.
+     * @return The font.
+     */
+    public BitmapFont font(float scale) {
+        BitmapFont font = fonts.get(Float.floatToIntBits(scale));
+        if (font == null) {
+            BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(Gdx.files.internal(FONT_FILE), false);
+            if (fontPages.isEmpty()) {
+                Texture page = new Texture(Gdx.files.internal(data.imagePaths[0]));
+                //Distances are blended between texels, which is what keeps the edges smooth when scaled
+                page.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+                fontPages.add(new TextureRegion(page));
+            }
+            data.setScale(scale * FONT_BASE_SCALE);
+            font = new BitmapFont(data, fontPages, true);
+            fonts.put(Float.floatToIntBits(scale), font);
+        }
+        fontReferences.getAndIncrement(font, 0, 1);
+        return font;
+    }
+
+    /**
+     * Removes a reference to a font, disposing it if nothing else is using it.
+     * The glyph texture is disposed once no font at any scale is in use.
+     *
+     * @param font The font returned by {@link #font(float)}.
+     */
+    public void releaseFont(BitmapFont font) {
+        int references = fontReferences.getAndIncrement(font, 0, -1) - 1;
+        if (references > 0) return;
+
+        fontReferences.remove(font, 0);
+        fonts.remove(fonts.findKey(font, true, 0));
+        if (fonts.size == 0) {
+            for (TextureRegion page : fontPages) {
+                page.getTexture().dispose();
+            }
+            fontPages.clear();
+        }
+    }
+
+    /**
+     * Checks if a texture is the glyph page of the distance field font, so it needs drawing with the distance field
+     * shader.
+     *
+     * @param texture The texture.
+     * @return True if the texture is a font page.
+     */
+    public boolean isDistanceField(Texture texture) {
+        for (int i = 0; i < fontPages.size; i++) {
+            if (fontPages.get(i).getTexture() == texture) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a report of every asset currently resident, with its reference count and estimated GPU memory.
+     *
+     * @return The report, one asset per line.
+     */
+    public String getMemoryReport() {
+        StringBuilder report = new StringBuilder();
+        long totalBytes = 0;
+        for (String path : manager.getAssetNames()) {
+            Object asset = manager.get(path);
+            long bytes = asset instanceof Texture ? textureBytes((Texture) asset) : 0;
+            totalBytes += bytes;
+            report.append(path).append(" (").append(manager.getAssetType(path).getSimpleName())
+                    .append(", refs ").append(manager.getReferenceCount(path))
+                    .append(", ").append(bytes / 1024).append(" KB)\n");
+        }
+        for (TextureRegion page : fontPages) {
+            long bytes = textureBytes(page.getTexture());
+            totalBytes += bytes;
+            report.append(FONT_FILE).append(" (font page shared by ").append(fonts.size)
+                    .append(" scales, ").append(bytes / 1024).append(" KB)\n");
+        }
+        report.append("Total texture memory: ").append(totalBytes / 1024).append(" KB");
+        return report.toString();
+    }
+
+    private static long textureBytes(Texture texture) {
+        Pixmap.Format format = texture.getTextureData().getFormat();
+        int bytesPerPixel;
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                bytesPerPixel = 1;
+                break;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                bytesPerPixel = 2;
+                break;
+            case RGB888:
+                bytesPerPixel = 3;
+                break;
+            default:
+                bytesPerPixel = 4;
+                break;
+        }
+        return (long) texture.getWidth() * texture.getHeight() * bytesPerPixel;
+    }
+
+    /**
+     * Disposes every asset in the registry after closing the game.
+     */
+    public void dispose() {
+        manager.dispose();
+        for (TextureRegion page : fontPages) {
+            page.getTexture().dispose();
+        }
+        fontPages.clear();
+        fonts.clear();
+        fontReferences.clear();
+        instance = null;
+    }
+}
@@ -0,0 +1,391 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Loads a {@link TiledMap} from the binary maps written by the convertMaps build task, which builds exactly the same
+ * map as {@link com.badlogic.gdx.maps.tiled.TmxMapLoader} would from the .tmx file, without parsing any XML.
+ * Tile ids are stored packed and already in libGDX row order, tileset regions are already cut out, and objects
+ * already have y-up positions, so loading is just reading the file.
+ * Use {@link #mapFile(FileHandleResolver, String)} to pick the binary map when there is an up-to-date one, and the .tmx otherwise.
+ */
+public class BinaryMapLoader extends AsynchronousAssetLoader<TiledMap, BinaryMapLoader.Parameters> {
+    //Must match MapConverter in buildSrc
+    static final int MAGIC = 0x48484D50;
+    static final int VERSION = 1;
+    public static final String EXTENSION = ".tmb";
+
+    private static final int LAYER_TILES = 0;
+    private static final int OBJECT_ELLIPSE = 1;
+    private static final int PROPERTY_STRING = 0;
+    private static final int PROPERTY_INT = 1;
+    private static final int PROPERTY_FLOAT = 2;
+    private static final int PROPERTY_BOOL = 3;
+
+    private static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+    private static final int FLAG_FLIP_VERTICALLY = 0x40000000;
+    private static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+    private static final int MASK_CLEAR = 0xE0000000;
+
+    /**
+     * Settings for the textures of a binary map, the same as {@link com.badlogic.gdx.maps.tiled.TmxMapLoader}'s.
+     */
+    public static class Parameters extends AssetLoaderParameters<TiledMap> {
+        public boolean generateMipMaps = false;
+        public Texture.TextureFilter textureMinFilter = Texture.TextureFilter.Nearest;
+        public Texture.TextureFilter textureMagFilter = Texture.TextureFilter.Nearest;
+    }
+
+    private TiledMap map;
+
+    /**
+     * Creates a binary map loader.
+     *
+     * @param resolver Resolves the paths of maps into files.
+     */
+    public BinaryMapLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    /**
+     * Picks the file to load a map from: the binary map converted from it if there is one that is up-to-date,
+     * otherwise the .tmx itself.
+     *
+     * @param resolver Resolves the paths of maps into files.
+     * @param tmxPath  The path of the .tmx map.
+     * @return The path of the binary map, or the .tmx path if there isn't a usable binary map.
+     */
+    public static String mapFile(FileHandleResolver resolver, String tmxPath) {
+        int dot = tmxPath.lastIndexOf('.');
+        String binaryPath = (dot < 0 ? tmxPath : tmxPath.substring(0, dot)) + EXTENSION;
+        FileHandle binary = resolver.resolve(binaryPath);
+        if (!binary.exists()) return tmxPath;
+        //The .tmx may have been edited since the last build, lastModified is 0 where it isn't known
+        if (binary.lastModified() < resolver.resolve(tmxPath).lastModified()) return tmxPath;
+        return binaryPath;
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+        if (parameter != null) {
+            textureParameter.genMipMaps = parameter.generateMipMaps;
+            textureParameter.minFilter = parameter.textureMinFilter;
+            textureParameter.magFilter = parameter.textureMagFilter;
+        }
+
+        //Only the header needs to be read to find the tileset images
+        DataInputStream in = new DataInputStream(file.read());
+        try {
+            Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+            for (FileHandle image : readHeader(in, file)) {
+                dependencies.add(new AssetDescriptor<Texture>(image, Texture.class, textureParameter));
+            }
+            return dependencies;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading binary map " + fileName, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()));
+        try {
+            Array<FileHandle> images = readHeader(in, file);
+            Texture[] textures = new Texture[images.size];
+            for (int i = 0; i < images.size; i++) {
+                textures[i] = manager.get(images.get(i).path(), Texture.class);
+            }
+            map = readMap(in, textures);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading binary map " + fileName, e);
+        }
+    }
+
+    @Override
+    public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        TiledMap loaded = map;
+        map = null;
+        return loaded;
+    }
+
+    private static Array<FileHandle> readHeader(DataInputStream in, FileHandle file) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new GdxRuntimeException(file.path() + " is not a binary map");
+        }
+        int version = in.readShort();
+        if (version != VERSION) {
+            throw new GdxRuntimeException(file.path() + " is binary map version " + version + ", expected " + VERSION
+                    + ". Run the convertMaps task again.");
+        }
+        int imageCount = in.readShort();
+        Array<FileHandle> images = new Array<FileHandle>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            images.add(relativeFile(file, in.readUTF()));
+        }
+        return images;
+    }
+
+    private static TiledMap readMap(DataInputStream in, Texture[] textures) throws IOException {
+        TiledMap map = new TiledMap();
+        MapProperties mapProperties = map.getProperties();
+        String orientation = readString(in);
+        if (orientation != null) {
+            mapProperties.put("orientation", orientation);
+        }
+        mapProperties.put("width", in.readInt());
+        mapProperties.put("height", in.readInt());
+        int tileWidth = in.readInt();
+        int tileHeight = in.readInt();
+        mapProperties.put("tilewidth", tileWidth);
+        mapProperties.put("tileheight", tileHeight);
+        mapProperties.put("hexsidelength", in.readInt());
+        String backgroundColor = readString(in);
+        if (backgroundColor != null) {
+            mapProperties.put("backgroundcolor", backgroundColor);
+        }
+        readProperties(in, mapProperties);
+
+        int tilesetCount = in.readShort();
+        for (int i = 0; i < tilesetCount; i++) {
+            map.getTileSets().addTileSet(readTileset(in, textures));
+        }
+
+        int layerCount = in.readShort();
+        for (int i = 0; i < layerCount; i++) {
+            map.getLayers().add(readLayer(in, map, tileWidth, tileHeight));
+        }
+        return map;
+    }
+
+    private static TiledMapTileSet readTileset(DataInputStream in, Texture[] textures) throws IOException {
+        TiledMapTileSet tileset = new TiledMapTileSet();
+        tileset.setName(readString(in));
+        int firstgid = in.readInt();
+        int tileWidth = in.readInt();
+        int tileHeight = in.readInt();
+        int spacing = in.readInt();
+        int margin = in.readInt();
+        int offsetX = in.readInt();
+        int offsetY = in.readInt();
+        Texture texture = textures[in.readShort()];
+        String imageSource = readString(in);
+        int imageWidth = in.readInt();
+        int imageHeight = in.readInt();
+
+        MapProperties properties = tileset.getProperties();
+        readProperties(in, properties);
+        properties.put("firstgid", firstgid);
+        properties.put("imagesource", imageSource);
+        properties.put("imagewidth", imageWidth);
+        properties.put("imageheight", imageHeight);
+        properties.put("tilewidth", tileWidth);
+        properties.put("tileheight", tileHeight);
+        properties.put("margin", margin);
+        properties.put("spacing", spacing);
+
+        int tileCount = in.readInt();
+        for (int i = 0; i < tileCount; i++) {
+            TextureRegion region = new TextureRegion(texture, in.readUnsignedShort(), in.readUnsignedShort(),
+                    tileWidth, tileHeight);
+            StaticTiledMapTile tile = new StaticTiledMapTile(region);
+            tile.setId(firstgid + i);
+            tile.setOffsetX(offsetX);
+            tile.setOffsetY(-(float) offsetY);
+            tileset.putTile(tile.getId(), tile);
+        }
+
+        //Animated tiles replace their static tile once they have all been made, as their frames are static tiles
+        int animationCount = in.readShort();
+        Array<AnimatedTiledMapTile> animatedTiles = new Array<AnimatedTiledMapTile>(animationCount);
+        for (int i = 0; i < animationCount; i++) {
+            int id = firstgid + in.readInt();
+            int frameCount = in.readShort();
+            Array<StaticTiledMapTile> frames = new Array<StaticTiledMapTile>(frameCount);
+            IntArray intervals = new IntArray(frameCount);
+            for (int j = 0; j < frameCount; j++) {
+                frames.add((StaticTiledMapTile) tileset.getTile(firstgid + in.readInt()));
+                intervals.add(in.readInt());
+            }
+            AnimatedTiledMapTile animatedTile = new AnimatedTiledMapTile(intervals, frames);
+            animatedTile.setId(id);
+            animatedTiles.add(animatedTile);
+        }
+        for (AnimatedTiledMapTile animatedTile : animatedTiles) {
+            tileset.putTile(animatedTile.getId(), animatedTile);
+        }
+        return tileset;
+    }
+
+    private static MapLayer readLayer(DataInputStream in, TiledMap map, int tileWidth, int tileHeight)
+            throws IOException {
+        MapLayer layer;
+        if (in.readByte() == LAYER_TILES) {
+            layer = new TiledMapTileLayer(in.readInt(), in.readInt(), tileWidth, tileHeight);
+        } else {
+            layer = new MapLayer();
+        }
+        layer.setName(readString(in));
+        layer.setOpacity(in.readFloat());
+        layer.setVisible(in.readBoolean());
+        layer.setOffsetX(in.readFloat());
+        layer.setOffsetY(in.readFloat());
+        layer.setParallaxX(in.readFloat());
+        layer.setParallaxY(in.readFloat());
+        readProperties(in, layer.getProperties());
+
+        if (layer instanceof TiledMapTileLayer) {
+            TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+            boolean small = in.readByte() == 2;
+            for (int y = 0; y < tileLayer.getHeight(); y++) {
+                for (int x = 0; x < tileLayer.getWidth(); x++) {
+                    int id = small ? in.readUnsignedShort() : in.readInt();
+                    if (id == 0) continue;
+                    TiledMapTile tile = map.getTileSets().getTile(id & ~MASK_CLEAR);
+                    if (tile != null) {
+                        Cell cell = createCell(id);
+                        cell.setTile(tile);
+                        tileLayer.setCell(x, y, cell);
+                    }
+                }
+            }
+        } else {
+            int objectCount = in.readInt();
+            for (int i = 0; i < objectCount; i++) {
+                layer.getObjects().add(readObject(in));
+            }
+        }
+        return layer;
+    }
+
+    private static MapObject readObject(DataInputStream in) throws IOException {
+        int shape = in.readByte();
+        int id = in.readInt();
+        String name = readString(in);
+        String type = readString(in);
+        float x = in.readFloat();
+        float y = in.readFloat();
+        float width = in.readFloat();
+        float height = in.readFloat();
+
+        MapObject object = shape == OBJECT_ELLIPSE
+                ? new EllipseMapObject(x, y, width, height) : new RectangleMapObject(x, y, width, height);
+        object.setName(name);
+        MapProperties properties = object.getProperties();
+        if (in.readBoolean()) {
+            properties.put("rotation", in.readFloat());
+        }
+        if (type != null) {
+            properties.put("type", type);
+        }
+        if (id != 0) {
+            properties.put("id", id);
+        }
+        properties.put("x", x);
+        properties.put("y", y);
+        properties.put("width", width);
+        properties.put("height", height);
+        object.setVisible(in.readBoolean());
+        readProperties(in, properties);
+        return object;
+    }
+
+    //Same flips and rotations as TmxMapLoader
+    private static Cell createCell(int id) {
+        boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
+        boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
+        Cell cell = new Cell();
+        if ((id & FLAG_FLIP_DIAGONALLY) != 0) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    private static void readProperties(DataInputStream in, MapProperties properties) throws IOException {
+        int count = in.readShort();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            int type = in.readByte();
+            switch (type) {
+                case PROPERTY_STRING:
+                    properties.put(name, in.readUTF());
+                    break;
+                case PROPERTY_INT:
+                    properties.put(name, in.readInt());
+                    break;
+                case PROPERTY_FLOAT:
+                    properties.put(name, in.readFloat());
+                    break;
+                case PROPERTY_BOOL:
+                    properties.put(name, in.readBoolean());
+                    break;
+                default:
+                    //Tiled stores colours as #AARRGGBB
+                    String value = in.readUTF();
+                    properties.put(name, Color.valueOf(value.substring(3) + value.substring(1, 3)));
+                    break;
+            }
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    //Resolves a path relative to the folder of a map, the same way TmxMapLoader resolves tileset images
+    private static FileHandle relativeFile(FileHandle file, String path) {
+        FileHandle result = file.parent();
+        for (String token : path.split("/")) {
+            if (token.equals("..")) {
+                result = result.parent();
+            } else if (!token.isEmpty() && !token.equals(".")) {
+                result = result.child(token);
+            }
+        }
+        return result;
+    }
+}
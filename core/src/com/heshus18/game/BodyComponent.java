@@ -0,0 +1,21 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * The size of an entity's box, from its position, in world units. Colliders block the box, and interactables are
+ * found by it.
+ */
+public class BodyComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<BodyComponent> MAPPER = ComponentMapper.getFor(BodyComponent.class);
+
+    public float width, height;
+
+    @Override
+    public void reset() {
+        width = 0;
+        height = 0;
+    }
+}
@@ -2,12 +2,14 @@ package com.heshus18.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 /**
@@ -20,9 +22,35 @@ public class CharacterSelectScreen implements Screen {
     OrthographicCamera camera;
     SpriteBatch batch;
     BitmapFont font;
+    Vector3 touchPos;
     private final Rectangle kenzieButtonBounds, isabelleButtonBounds;
 
-    private final Texture kenzie, isabelle;
+    private final TextureRegion kenzie, isabelle;
+
+    static final String KENZIE_PREVIEW = "KenziePreview.png";
+    static final String ISABELLE_PREVIEW = "IsabellePreview.png";
+    static final String KENZIE_SPRITE_SHEET = "KenzieSpriteSheet.png";
+    static final String ISABELLE_SPRITE_SHEET = "IsabelleSpriteSheet.png";
+
+    /**
+     * Checks if a sprite sheet is one of the characters that can be picked, e.g. when reading a saved week.
+     * @param spriteSheet The sprite sheet.
+     * @return True if it is a character's sprite sheet.
+     */
+    static boolean isCharacter(String spriteSheet) {
+        return KENZIE_SPRITE_SHEET.equals(spriteSheet) || ISABELLE_SPRITE_SHEET.equals(spriteSheet);
+    }
+
+    /**
+     * Gets the assets CharacterSelectScreen needs, so they can be loaded in the background from the main menu.
+     * @return The character preview images.
+     */
+    static Array<AssetDescriptor<?>> getAssetDependencies() {
+        Array<AssetDescriptor<?>> assets = new Array<AssetDescriptor<?>>();
+        assets.add(AssetRegistry.getInstance().regionDependency(KENZIE_PREVIEW));
+        assets.add(AssetRegistry.getInstance().regionDependency(ISABELLE_PREVIEW));
+        return assets;
+    }
 
     /**
      * Constructs character select screen and initialises UI components
@@ -33,15 +61,15 @@ public class CharacterSelectScreen implements Screen {
         //Create camera to draw UI
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
-        batch = new SpriteBatch();
+        batch = game.batch;
+        touchPos = new Vector3();
 
         //Create texture models for sprite choices
-        kenzie = new Texture(Gdx.files.internal("KenziePreview.png"));
-        isabelle = new Texture(Gdx.files.internal("IsabellePreview.png"));
+        kenzie = AssetRegistry.getInstance().region(KENZIE_PREVIEW);
+        isabelle = AssetRegistry.getInstance().region(ISABELLE_PREVIEW);
 
         //Initialise font size
-        font = new BitmapFont();
-        font.getData().setScale(2f);
+        font = AssetRegistry.getInstance().font(2f);
 
         //Initialise button box variables for characters
         float buttonWidth = 384;
@@ -69,24 +97,21 @@ public class CharacterSelectScreen implements Screen {
         //Draw "Choose Character" text and sprite models to the screen
         batch.begin();
         font.draw(batch, "Choose Character", 280, 450);
-        batch.draw(kenzie, kenzieButtonBounds.x, kenzieButtonBounds.y,
+        RenderQueue.drawRegion(batch, kenzie, kenzieButtonBounds.x, kenzieButtonBounds.y,
                 kenzieButtonBounds.width, kenzieButtonBounds.height);
-        batch.draw(isabelle, isabelleButtonBounds.x, isabelleButtonBounds.y,
+        RenderQueue.drawRegion(batch, isabelle, isabelleButtonBounds.x, isabelleButtonBounds.y,
                 isabelleButtonBounds.width, isabelleButtonBounds.height);
         batch.end();
 
-        //Detect click on each character, and create a new instance of GameScreen with the corresponding character
-        //sprite.
+        //Detect click on each character, and start the game with the corresponding character sprite.
         if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
             camera.unproject(touchPos);
 
             if (kenzieButtonBounds.contains(touchPos.x, touchPos.y)) {
-                game.setScreen(new GameScreen(game, "KenzieSpriteSheet.png"));
-                dispose();
+                game.screens.startWeek(KENZIE_SPRITE_SHEET);
             } else if (isabelleButtonBounds.contains(touchPos.x, touchPos.y)) {
-                game.setScreen(new GameScreen(game, "IsabelleSpriteSheet.png"));
-                dispose();
+                game.screens.startWeek(ISABELLE_SPRITE_SHEET);
             }
         }
     }
@@ -104,14 +129,13 @@ public class CharacterSelectScreen implements Screen {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
      */
     @Override
     public void dispose() {
-        batch.dispose();
-        isabelle.dispose();
-        kenzie.dispose();
-        font.dispose();
+        AssetRegistry.getInstance().releaseRegion(ISABELLE_PREVIEW);
+        AssetRegistry.getInstance().releaseRegion(KENZIE_PREVIEW);
+        AssetRegistry.getInstance().releaseFont(font);
     }
 
     @Override
@@ -0,0 +1,447 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.*;
+
+/**
+ * Tile map renderer that bakes the tiles that never change into meshes once, instead of rebuilding the vertices of
+ * every visible tile each frame like {@link OrthogonalTiledMapRenderer} does.
+ * The map is split into square chunks, and each chunk gets one mesh holding the static tiles of a run of layers, so
+ * drawing the map is a handful of mesh draws for the chunks the camera can see. Animated tiles are drawn each frame
+ * with the batch, the same as before.
+ * It is a drop-in replacement for {@link OrthogonalTiledMapRenderer}, and chunking can be turned off with
+ * {@link #setChunked(boolean)} to compare the two. Layer opacity and the batch colour are baked into the meshes when
+ * they are built, so call {@link #rebuild()} if they or the map's tiles change.
+ */
+public class ChunkedTiledMapRenderer extends OrthogonalTiledMapRenderer {
+    public static final int CHUNK_TILES = 16;
+
+    private static final VertexAttributes ATTRIBUTES = new VertexAttributes(
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            VertexAttribute.ColorPacked(), VertexAttribute.TexCoords(0));
+
+    //Static tiles of a run of layers that are drawn one after another with nothing in between. Only the last layer
+    //of a band can have animated tiles, as they have to be drawn after its static tiles.
+    private static class Band {
+        final Array<TiledMapTileLayer> layers = new Array<TiledMapTileLayer>();
+        final Array<Chunk> chunks = new Array<Chunk>();
+        int drawnFrame = -1;
+    }
+
+    //Mesh of one chunk of a band, split into runs of quads using the same texture
+    private static class Chunk {
+        final Rectangle bounds = new Rectangle();
+        final Array<Texture> textures = new Array<Texture>();
+        final IntArray runStarts = new IntArray();
+        final IntArray runCounts = new IntArray();
+        Mesh mesh;
+    }
+
+    //How a tile layer is drawn: the band it is in, and its animated tiles
+    private static class LayerInfo {
+        Band band;
+        final IntArray animatedCells = new IntArray();
+    }
+
+    private final ObjectMap<TiledMapTileLayer, LayerInfo> layerInfo;
+    private final Array<Band> bands;
+    private boolean chunked = true;
+    private int frame, chunksDrawn;
+
+    /**
+     * Creates a renderer for a map that draws with an existing batch, and bakes its static tiles.
+     *
+     * @param map       The map to draw.
+     * @param unitScale The number of world units per map pixel.
+     * @param batch     The batch to draw animated tiles with. Its shader is used to draw the chunks.
+     */
+    public ChunkedTiledMapRenderer(TiledMap map, float unitScale, Batch batch) {
+        super(map, unitScale, batch);
+        layerInfo = new ObjectMap<TiledMapTileLayer, LayerInfo>();
+        bands = new Array<Band>();
+        rebuild();
+    }
+
+    /**
+     * Turns chunked drawing on or off. While off, every tile is drawn the same way as
+     * {@link OrthogonalTiledMapRenderer}.
+     *
+     * @param chunked True to draw the baked chunks.
+     */
+    public void setChunked(boolean chunked) {
+        this.chunked = chunked;
+    }
+
+    /**
+     * Checks if the baked chunks are being drawn.
+     *
+     * @return True if chunked drawing is on.
+     */
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    /**
+     * Gets how many chunk meshes were drawn since the last call to {@link #setView}.
+     * Each one is at least one draw call, on top of the batch's.
+     *
+     * @return The number of chunks drawn.
+     */
+    public int getChunksDrawn() {
+        return chunksDrawn;
+    }
+
+    /**
+     * Bakes the static tiles of the map's visible top level tile layers again. Layers with parallax scrolling, and
+     * layers that were hidden when the map was baked, are left out and drawn every frame instead.
+     */
+    public void rebuild() {
+        disposeChunks();
+        layerInfo.clear();
+        bands.clear();
+
+        Array<TiledMapTileLayer> run = new Array<TiledMapTileLayer>();
+        MapLayers layers = map.getLayers();
+        for (int i = 0; i < layers.getCount(); i++) {
+            MapLayer layer = layers.get(i);
+            if (!(layer instanceof TiledMapTileLayer)) continue;
+            TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+            if (!tileLayer.isVisible()) continue;
+            if (tileLayer.getParallaxX() != 1 || tileLayer.getParallaxY() != 1) {
+                //Moves relative to the other layers, so can't be baked
+                bakeBand(run);
+                continue;
+            }
+
+            LayerInfo info = new LayerInfo();
+            layerInfo.put(tileLayer, info);
+            run.add(tileLayer);
+            for (int row = 0; row < tileLayer.getHeight(); row++) {
+                for (int col = 0; col < tileLayer.getWidth(); col++) {
+                    Cell cell = tileLayer.getCell(col, row);
+                    if (cell != null && cell.getTile() instanceof AnimatedTiledMapTile) {
+                        info.animatedCells.add(col);
+                        info.animatedCells.add(row);
+                    }
+                }
+            }
+            if (info.animatedCells.notEmpty()) {
+                bakeBand(run);
+            }
+        }
+        bakeBand(run);
+    }
+
+    //Bakes a run of layers into chunk meshes, then empties the run
+    private void bakeBand(Array<TiledMapTileLayer> layers) {
+        if (layers.isEmpty()) return;
+        Band band = new Band();
+        band.layers.addAll(layers);
+        bands.add(band);
+        for (TiledMapTileLayer layer : layers) {
+            layerInfo.get(layer).band = band;
+        }
+
+        int columns = 0, rows = 0;
+        for (TiledMapTileLayer layer : layers) {
+            columns = Math.max(columns, layer.getWidth());
+            rows = Math.max(rows, layer.getHeight());
+        }
+        FloatArray vertices = new FloatArray();
+        float[] quad = new float[NUM_VERTICES];
+        for (int chunkRow = 0; chunkRow < rows; chunkRow += CHUNK_TILES) {
+            for (int chunkColumn = 0; chunkColumn < columns; chunkColumn += CHUNK_TILES) {
+                Chunk chunk = new Chunk();
+                vertices.clear();
+                for (TiledMapTileLayer layer : layers) {
+                    float color = Color.toFloatBits(batch.getColor().r, batch.getColor().g, batch.getColor().b,
+                            batch.getColor().a * layer.getOpacity());
+                    //Same order as OrthogonalTiledMapRenderer, top row first
+                    int lastRow = Math.min(chunkRow + CHUNK_TILES, layer.getHeight()) - 1;
+                    int lastColumn = Math.min(chunkColumn + CHUNK_TILES, layer.getWidth()) - 1;
+                    for (int row = lastRow; row >= chunkRow; row--) {
+                        for (int col = chunkColumn; col <= lastColumn; col++) {
+                            Cell cell = layer.getCell(col, row);
+                            if (cell == null || cell.getTile() == null) continue;
+                            if (cell.getTile() instanceof AnimatedTiledMapTile) continue;
+                            Texture texture = tileVertices(layer, cell, col, row, color, quad);
+                            addQuad(chunk, texture, vertices.size / NUM_VERTICES);
+                            vertices.addAll(quad);
+                            extend(chunk.bounds, quad, vertices.size == NUM_VERTICES);
+                        }
+                    }
+                }
+                if (vertices.isEmpty()) continue;
+
+                int quads = vertices.size / NUM_VERTICES;
+                chunk.mesh = new Mesh(true, quads * 4, quads * 6, ATTRIBUTES);
+                chunk.mesh.setVertices(vertices.items, 0, vertices.size);
+                short[] indices = new short[quads * 6];
+                for (int q = 0, v = 0; q < indices.length; q += 6, v += 4) {
+                    indices[q] = (short) v;
+                    indices[q + 1] = (short) (v + 1);
+                    indices[q + 2] = (short) (v + 2);
+                    indices[q + 3] = (short) (v + 2);
+                    indices[q + 4] = (short) (v + 3);
+                    indices[q + 5] = (short) v;
+                }
+                chunk.mesh.setIndices(indices);
+                band.chunks.add(chunk);
+            }
+        }
+        layers.clear();
+    }
+
+    //Adds a quad to the chunk's current run, or starts a new run if the texture changes
+    private static void addQuad(Chunk chunk, Texture texture, int quad) {
+        int run = chunk.textures.size - 1;
+        if (run >= 0 && chunk.textures.get(run) == texture) {
+            chunk.runCounts.incr(run, 6);
+        } else {
+            chunk.textures.add(texture);
+            chunk.runStarts.add(quad * 6);
+            chunk.runCounts.add(6);
+        }
+    }
+
+    private static void extend(Rectangle bounds, float[] quad, boolean first) {
+        float minX = Math.min(Math.min(quad[X1], quad[X2]), Math.min(quad[X3], quad[X4]));
+        float minY = Math.min(Math.min(quad[Y1], quad[Y2]), Math.min(quad[Y3], quad[Y4]));
+        float maxX = Math.max(Math.max(quad[X1], quad[X2]), Math.max(quad[X3], quad[X4]));
+        float maxY = Math.max(Math.max(quad[Y1], quad[Y2]), Math.max(quad[Y3], quad[Y4]));
+        if (first) {
+            bounds.set(minX, minY, maxX - minX, maxY - minY);
+        } else {
+            bounds.merge(minX, minY);
+            bounds.merge(maxX, maxY);
+        }
+    }
+
+    /**
+     * Sets the area of the map to draw from a camera. Call this once a frame before drawing any layers.
+     *
+     * @param camera The camera to draw the map with.
+     */
+    @Override
+    public void setView(OrthographicCamera camera) {
+        super.setView(camera);
+        frame++;
+        chunksDrawn = 0;
+    }
+
+    /**
+     * Sets the area of the map to draw. Call this once a frame before drawing any layers.
+     *
+     * @param projection The projection matrix to draw with.
+     * @param x          The x coordinate of the area.
+     * @param y          The y coordinate of the area.
+     * @param width      The width of the area.
+     * @param height     The height of the area.
+     */
+    @Override
+    public void setView(Matrix4 projection, float x, float y, float width, float height) {
+        super.setView(projection, x, y, width, height);
+        frame++;
+        chunksDrawn = 0;
+    }
+
+    /**
+     * Draws a tile layer. The first time a layer of a band is drawn in a frame the visible chunks of the whole band
+     * are drawn, so the static tiles of the band's other layers have already been drawn by the time they are.
+     * Animated tiles are always drawn with the batch.
+     *
+     * @param layer The layer to draw.
+     */
+    @Override
+    public void renderTileLayer(TiledMapTileLayer layer) {
+        LayerInfo info = chunked ? layerInfo.get(layer) : null;
+        if (info == null) {
+            super.renderTileLayer(layer);
+            return;
+        }
+        if (info.band.drawnFrame != frame) {
+            if (anyHidden(info.band)) {
+                //A baked layer has been hidden, so it has to be taken out of the chunks
+                rebuild();
+                renderTileLayer(layer);
+                return;
+            }
+            info.band.drawnFrame = frame;
+            renderBand(info.band);
+        }
+        renderAnimatedCells(layer, info.animatedCells);
+    }
+
+    private static boolean anyHidden(Band band) {
+        for (int i = 0; i < band.layers.size; i++) {
+            if (!band.layers.get(i).isVisible()) return true;
+        }
+        return false;
+    }
+
+    private void renderBand(Band band) {
+        //Anything already in the batch is under the chunks
+        batch.flush();
+        ShaderProgram shader = batch.getShader();
+        if (batch.isBlendingEnabled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            Gdx.gl.glBlendFuncSeparate(batch.getBlendSrcFunc(), batch.getBlendDstFunc(),
+                    batch.getBlendSrcFuncAlpha(), batch.getBlendDstFuncAlpha());
+        } else {
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+        for (int i = 0; i < band.chunks.size; i++) {
+            Chunk chunk = band.chunks.get(i);
+            if (!viewBounds.overlaps(chunk.bounds)) continue;
+            for (int run = 0; run < chunk.textures.size; run++) {
+                chunk.textures.get(run).bind();
+                chunk.mesh.render(shader, GL20.GL_TRIANGLES, chunk.runStarts.get(run), chunk.runCounts.get(run));
+            }
+            chunksDrawn++;
+        }
+    }
+
+    private void renderAnimatedCells(TiledMapTileLayer layer, IntArray cells) {
+        if (cells.isEmpty()) return;
+        float color = Color.toFloatBits(batch.getColor().r, batch.getColor().g, batch.getColor().b,
+                batch.getColor().a * layer.getOpacity());
+        float tileWidth = layer.getTileWidth() * unitScale;
+        float tileHeight = layer.getTileHeight() * unitScale;
+        for (int i = 0; i < cells.size; i += 2) {
+            int col = cells.get(i);
+            int row = cells.get(i + 1);
+            float x = col * tileWidth + layer.getRenderOffsetX() * unitScale;
+            float y = row * tileHeight - layer.getRenderOffsetY() * unitScale;
+            if (x > viewBounds.x + viewBounds.width || x + tileWidth < viewBounds.x
+                    || y > viewBounds.y + viewBounds.height || y + tileHeight < viewBounds.y) continue;
+            Texture texture = tileVertices(layer, layer.getCell(col, row), col, row, color, vertices);
+            batch.draw(texture, vertices, 0, NUM_VERTICES);
+        }
+    }
+
+    //Works out the vertices of a tile the same way OrthogonalTiledMapRenderer does, returning its texture
+    private Texture tileVertices(TiledMapTileLayer layer, Cell cell, int col, int row, float color, float[] out) {
+        TiledMapTile tile = cell.getTile();
+        TextureRegion region = tile.getTextureRegion();
+        float x1 = col * layer.getTileWidth() * unitScale + layer.getRenderOffsetX() * unitScale
+                + tile.getOffsetX() * unitScale;
+        float y1 = row * layer.getTileHeight() * unitScale - layer.getRenderOffsetY() * unitScale
+                + tile.getOffsetY() * unitScale;
+        float x2 = x1 + region.getRegionWidth() * unitScale;
+        float y2 = y1 + region.getRegionHeight() * unitScale;
+        float u1 = region.getU();
+        float v1 = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        out[X1] = x1;
+        out[Y1] = y1;
+        out[C1] = color;
+        out[U1] = u1;
+        out[V1] = v1;
+
+        out[X2] = x1;
+        out[Y2] = y2;
+        out[C2] = color;
+        out[U2] = u1;
+        out[V2] = v2;
+
+        out[X3] = x2;
+        out[Y3] = y2;
+        out[C3] = color;
+        out[U3] = u2;
+        out[V3] = v2;
+
+        out[X4] = x2;
+        out[Y4] = y1;
+        out[C4] = color;
+        out[U4] = u2;
+        out[V4] = v1;
+
+        if (cell.getFlipHorizontally()) {
+            swap(out, U1, U3);
+            swap(out, U2, U4);
+        }
+        if (cell.getFlipVertically()) {
+            swap(out, V1, V3);
+            swap(out, V2, V4);
+        }
+        switch (cell.getRotation()) {
+            case Cell.ROTATE_90:
+                rotate(out, V1, V2, V3, V4);
+                rotate(out, U1, U2, U3, U4);
+                break;
+            case Cell.ROTATE_180:
+                swap(out, U1, U3);
+                swap(out, U2, U4);
+                swap(out, V1, V3);
+                swap(out, V2, V4);
+                break;
+            case Cell.ROTATE_270:
+                rotate(out, V1, V4, V3, V2);
+                rotate(out, U1, U4, U3, U2);
+                break;
+            default:
+                break;
+        }
+        return region.getTexture();
+    }
+
+    private static void swap(float[] values, int a, int b) {
+        float temp = values[a];
+        values[a] = values[b];
+        values[b] = temp;
+    }
+
+    //Moves each value to the previous index: a gets b, b gets c, c gets d and d gets a
+    private static void rotate(float[] values, int a, int b, int c, int d) {
+        float temp = values[a];
+        values[a] = values[b];
+        values[b] = values[c];
+        values[c] = values[d];
+        values[d] = temp;
+    }
+
+    private void disposeChunks() {
+        for (Band band : bands) {
+            for (Chunk chunk : band.chunks) {
+                chunk.mesh.dispose();
+            }
+        }
+    }
+
+    /**
+     * Disposes the chunk meshes, and the batch if the renderer created it.
+     */
+    @Override
+    public void dispose() {
+        disposeChunks();
+        bands.clear();
+        super.dispose();
+    }
+}
@@ -1,19 +1,22 @@
 package com.heshus18.game;
 
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.math.Vector2;
 
 /**
  * Represents a clock in the game, displaying the current time and day.
  * The clock uses the {@link Time} class to obtain time information and renders it on screen.
  */
-public class Clock {
+public class Clock implements Time.Listener {
     private final BitmapFont font;
     private final Vector2 position;
     private final Time gameTime;
 
+    //Text is only laid out again when the time changes, instead of every frame
+    private final GlyphLayout dayLayout, timeLayout;
+    private boolean changed;
+
     /**
      * Creates a Clock instance with a specified position and time.
      *
@@ -24,29 +27,64 @@ public class Clock {
         //Set position of the clock
         this.position = position;
         this.gameTime = gameTime;
-        this.font = new BitmapFont();
-        this.font.setColor(Color.WHITE);
-        this.font.getData().setScale(1.2f);
+        this.font = AssetRegistry.getInstance().font(1.2f);
+        this.dayLayout = new GlyphLayout();
+        this.timeLayout = new GlyphLayout();
+        this.changed = true;
+        gameTime.addListener(this);
+    }
+
+    /**
+     * Marks the labels to be laid out again the next time the clock is drawn.
+     *
+     * @param time The time that changed.
+     */
+    @Override
+    public void timeChanged(Time time) {
+        changed = true;
     }
 
     /**
      * Draws the required components to the screen.
-     * @param batch The collection of sprites being used in the game.
+     * @param renderQueue The render queue being used in the game.
      */
-    public void render(SpriteBatch batch) {
-        //Obtaining the current day and time
-        String day = gameTime.getDayName(gameTime.getDay());
-        String time = String.format("%02d:%02d", gameTime.getHour(), gameTime.getMinute());
+    public void render(RenderQueue renderQueue) {
+        layOut();
 
         //Draw the time HUD on screen
-        font.draw(batch, day, position.x, position.y);
-        font.draw(batch, time, position.x, position.y - 25);
+        renderQueue.drawText(RenderQueue.HUD, 0, font, dayLayout, position.x, position.y);
+        renderQueue.drawText(RenderQueue.HUD, 0, font, timeLayout, position.x, position.y - 25);
+    }
+
+    /**
+     * Checks if a point on the HUD is on the clock's labels, e.g. so clicking them doesn't walk the player there.
+     *
+     * @param x The x coordinate of the point in HUD coordinates.
+     * @param y The y coordinate of the point in HUD coordinates.
+     * @return True if the point is on the labels.
+     */
+    public boolean contains(float x, float y) {
+        layOut();
+        //Text is drawn down from its position, and the time label is drawn below the day
+        float width = Math.max(dayLayout.width, timeLayout.width);
+        return x >= position.x && x <= position.x + width && y <= position.y
+                && y >= position.y - 25 - timeLayout.height;
+    }
+
+    //Lays out the labels if the current day or time has changed
+    private void layOut() {
+        if (changed) {
+            dayLayout.setText(font, gameTime.getDayName());
+            timeLayout.setText(font, gameTime.getClockLabel());
+            changed = false;
+        }
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Stops following the time and releases the shared font used by the clock after closing the game.
      */
     public void dispose() {
-        font.dispose();
+        gameTime.removeListener(this);
+        AssetRegistry.getInstance().releaseFont(font);
     }
 }
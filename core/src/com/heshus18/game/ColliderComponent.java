@@ -0,0 +1,13 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Marks an entity whose box blocks moving entities, e.g. a building or the edge of the map.
+ */
+public class ColliderComponent implements Component, Pool.Poolable {
+    @Override
+    public void reset() {
+    }
+}
@@ -0,0 +1,68 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Occupancy grid baked from the boxes of the world's colliders.
+ * Each cell is marked as blocked if any collider covers it, so checking if an area is blocked only looks at the cells
+ * under that area instead of every collider on the map.
+ */
+public class CollisionGrid extends MapGrid {
+    //One bit per cell, row by row
+    private final long[] cells;
+
+    /**
+     * Creates a collision grid covering the map and every box that blocks movement.
+     *
+     * @param boxes     The boxes that block movement.
+     * @param mapWidth  The width of the map in world units.
+     * @param mapHeight The height of the map in world units.
+     * @param cellSize  The width and height of a single grid cell in world units.
+     */
+    public CollisionGrid(Array<Rectangle> boxes, float mapWidth, float mapHeight, float cellSize) {
+        super(boxes, mapWidth, mapHeight, cellSize);
+        cells = new long[(columns * rows + 63) / 64];
+        fill(boxes);
+    }
+
+    @Override
+    protected void fillCell(int index, int box) {
+        cells[index >>> 6] |= 1L << (index & 63);
+    }
+
+    /**
+     * Checks if any cell under an area is blocked. Areas with zero width or height are treated as lines, which is
+     * how the player's collision edges are checked.
+     *
+     * @param x      The x coordinate of the area in world units.
+     * @param y      The y coordinate of the area in world units.
+     * @param width  The width of the area.
+     * @param height The height of the area.
+     * @return True if any part of the area is on a blocked cell, false otherwise. Cells outside the grid are free.
+     */
+    public boolean isBlocked(float x, float y, float width, float height) {
+        int startColumn = Math.max(column(x), 0);
+        int endColumn = Math.min(column(x + width), columns - 1);
+        int startRow = Math.max(row(y), 0);
+        int endRow = Math.min(row(y + height), rows - 1);
+        for (int r = startRow; r <= endRow; r++) {
+            for (int c = startColumn; c <= endColumn; c++) {
+                int index = r * columns + c;
+                if ((cells[index >>> 6] & (1L << (index & 63))) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the cell containing a point is blocked.
+     *
+     * @param x The x coordinate in world units.
+     * @param y The y coordinate in world units.
+     * @return True if the point is on a blocked cell, false otherwise.
+     */
+    public boolean isBlocked(float x, float y) {
+        return isBlocked(x, y, 0, 0);
+    }
+}
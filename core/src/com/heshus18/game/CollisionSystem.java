@@ -0,0 +1,113 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Finds which directions each moving entity is blocked in by colliders.
+ * The colliders are baked into a {@link CollisionGrid}, so the checks don't depend on how many colliders there are.
+ * The grid is baked when the system is added to the engine, and again before the next tick whenever a collider is
+ * added or removed.
+ */
+public class CollisionSystem extends IteratingSystem {
+    private static final Family COLLIDERS = Family.all(PositionComponent.class, BodyComponent.class,
+            ColliderComponent.class).get();
+
+    private final float mapWidth, mapHeight, cellSize, gap;
+    private ImmutableArray<Entity> colliders;
+    private CollisionGrid grid;
+    private boolean changed;
+    private final EntityListener colliderListener = new EntityListener() {
+        @Override
+        public void entityAdded(Entity entity) {
+            changed = true;
+        }
+
+        @Override
+        public void entityRemoved(Entity entity) {
+            changed = true;
+        }
+    };
+
+    /**
+     * Creates the system.
+     *
+     * @param mapWidth  The width of the map in world units.
+     * @param mapHeight The height of the map in world units.
+     * @param cellSize  The width and height of a cell of the collision grid in world units.
+     * @param gap       How far from each side of an entity's box colliders are looked for, in world units.
+     * @param priority  The order the system runs in, lowest first.
+     */
+    public CollisionSystem(float mapWidth, float mapHeight, float cellSize, float gap, int priority) {
+        super(Family.all(PositionComponent.class, BodyComponent.class, MovementComponent.class).get(), priority);
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.cellSize = cellSize;
+        this.gap = gap;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        colliders = engine.getEntitiesFor(COLLIDERS);
+        engine.addEntityListener(COLLIDERS, colliderListener);
+        bake();
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+        engine.removeEntityListener(colliderListener);
+        colliders = null;
+        grid = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (changed) {
+            bake();
+        }
+        super.update(deltaTime);
+    }
+
+    //Bakes the colliders into a new grid
+    private void bake() {
+        Array<Rectangle> boxes = new Array<Rectangle>(colliders.size());
+        for (Entity collider : colliders) {
+            PositionComponent position = PositionComponent.MAPPER.get(collider);
+            BodyComponent body = BodyComponent.MAPPER.get(collider);
+            boxes.add(new Rectangle(position.x, position.y, body.width, body.height));
+        }
+        grid = new CollisionGrid(boxes, mapWidth, mapHeight, cellSize);
+        changed = false;
+    }
+
+    /**
+     * Gets the grid the colliders were last baked into.
+     *
+     * @return The collision grid, or null if the system hasn't been added to an engine.
+     */
+    public CollisionGrid getGrid() {
+        return grid;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        PositionComponent position = PositionComponent.MAPPER.get(entity);
+        BodyComponent body = BodyComponent.MAPPER.get(entity);
+        MovementComponent movement = MovementComponent.MAPPER.get(entity);
+
+        //Check 4 1 dimensional collision edges on each side of the entity, with a small gap between them to avoid
+        //overlap, against the collision grid.
+        movement.blockedUp = grid.isBlocked(position.x, position.y + body.height + gap, body.width, 0);
+        movement.blockedLeft = grid.isBlocked(position.x - gap, position.y, 0, body.height);
+        movement.blockedRight = grid.isBlocked(position.x + body.width + gap, position.y, 0, body.height);
+        movement.blockedDown = grid.isBlocked(position.x, position.y - gap, body.width, 0);
+    }
+}
@@ -2,12 +2,14 @@ package com.heshus18.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 /**
@@ -19,9 +21,22 @@ public class CreditsScreen implements Screen {
     OrthographicCamera camera;
     SpriteBatch batch;
     BitmapFont font;
-    private final Texture mainMenuButtonTexture;
+    Vector3 touchPos;
+    private final TextureRegion mainMenuButtonTexture;
     private final Rectangle mainMenuButtonBounds;
 
+    static final String MAIN_MENU_BUTTON = "mainMenuButton.png";
+
+    /**
+     * Gets the assets CreditsScreen needs, so they can be loaded in the background from the main menu.
+     * @return The main menu button image.
+     */
+    static Array<AssetDescriptor<?>> getAssetDependencies() {
+        Array<AssetDescriptor<?>> assets = new Array<AssetDescriptor<?>>();
+        assets.add(AssetRegistry.getInstance().regionDependency(MAIN_MENU_BUTTON));
+        return assets;
+    }
+
     /**
      * Constructs the credits screen and initializes UI components.
      *
@@ -33,13 +48,13 @@ public class CreditsScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
 
-        //Create a new spritebatch to store sprites, and font
-        batch = new SpriteBatch();
-        font = new BitmapFont();
-        font.getData().setScale(2f);
+        //Use the game's batch for drawing, and create font
+        batch = game.batch;
+        touchPos = new Vector3();
+        font = AssetRegistry.getInstance().font(2f);
 
         //Load main menu button texture
-        mainMenuButtonTexture = new Texture(Gdx.files.internal("mainMenuButton.png"));
+        mainMenuButtonTexture = AssetRegistry.getInstance().region(MAIN_MENU_BUTTON);
 
         //Initialise button size variables
         float buttonWidth = 300;
@@ -69,17 +84,16 @@ public class CreditsScreen implements Screen {
         font.draw(batch, "Izz Abd Aziz\nPhil Suwanpimolkul\nTom Loomes\nOwen Kilpatrick\nZachary Vickers\nMichael Ballantyne", 300, 350);
 
         //Draw button textures on top of button boxes
-        batch.draw(mainMenuButtonTexture, mainMenuButtonBounds.x, mainMenuButtonBounds.y, mainMenuButtonBounds.width, mainMenuButtonBounds.height);
+        RenderQueue.drawRegion(batch, mainMenuButtonTexture, mainMenuButtonBounds.x, mainMenuButtonBounds.y, mainMenuButtonBounds.width, mainMenuButtonBounds.height);
         batch.end();
 
         //Detect button presses, and return to main menu screen if touched
         if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
             camera.unproject(touchPos);
 
             if (mainMenuButtonBounds.contains(touchPos.x, touchPos.y)) {
-                game.setScreen(new MainMenuScreen(game));
-                dispose();
+                game.screens.showMainMenu();
             }
         }
     }
@@ -97,13 +111,12 @@ public class CreditsScreen implements Screen {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
      */
     @Override
     public void dispose() {
-        batch.dispose();
-        mainMenuButtonTexture.dispose();
-        font.dispose();
+        AssetRegistry.getInstance().releaseRegion(MAIN_MENU_BUTTON);
+        AssetRegistry.getInstance().releaseFont(font);
     }
 
     @Override
@@ -0,0 +1,65 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Input from the keyboard and mouse. Movement keys are read at every tick, while presses and touches are read every
+ * frame and held until the next tick, so they aren't missed or repeated when a frame has no ticks or several.
+ */
+public class DeviceInput implements InputSource {
+    private final OrthographicCamera hudCamera, worldCamera;
+    private final Vector3 touchPos;
+    //Presses since the last tick, and where the last touch was on the HUD and on the map
+    private int pressed;
+    private float touchX, touchY, targetX, targetY;
+
+    /**
+     * Creates the input.
+     *
+     * @param hudCamera   The HUD camera, used to turn touches into HUD coordinates.
+     * @param worldCamera The camera the map is drawn with, used to turn touches into points to walk to.
+     */
+    public DeviceInput(OrthographicCamera hudCamera, OrthographicCamera worldCamera) {
+        this.hudCamera = hudCamera;
+        this.worldCamera = worldCamera;
+        this.touchPos = new Vector3();
+    }
+
+    @Override
+    public void poll() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
+            pressed |= TickInput.INTERACT;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+            pressed |= TickInput.BACK;
+        }
+        if (Gdx.input.justTouched()) {
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            hudCamera.unproject(touchPos);
+            pressed |= TickInput.TOUCH;
+            touchX = touchPos.x;
+            touchY = touchPos.y;
+
+            //The same touch is also somewhere on the map, which the player walks to unless a pop-up is in the way
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            worldCamera.unproject(touchPos);
+            pressed |= TickInput.MOVE_TO;
+            targetX = touchPos.x;
+            targetY = touchPos.y;
+        }
+    }
+
+    @Override
+    public void next(TickInput input) {
+        int buttons = pressed;
+        if (Gdx.input.isKeyPressed(Input.Keys.W)) buttons |= TickInput.UP;
+        if (Gdx.input.isKeyPressed(Input.Keys.S)) buttons |= TickInput.DOWN;
+        if (Gdx.input.isKeyPressed(Input.Keys.A)) buttons |= TickInput.LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.D)) buttons |= TickInput.RIGHT;
+        input.set(buttons, touchX, touchY, targetX, targetY);
+        pressed = 0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Sprite batch that draws both ordinary textures and the distance field font from {@link AssetRegistry#font(float)},
+ * so text stays sharp at every scale.
+ * Both are drawn with the same shader, which is told whether the current texture is a font page each time the batch
+ * switches texture. The batch flushes on a texture switch anyway, so drawing text doesn't cost any extra draw calls or
+ * shader switches.
+ */
+public class DistanceFieldBatch extends SpriteBatch {
+    private static final String VERTEX_SHADER = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0/254.0);\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    //The font page's alpha is 0.5 on the edge of a glyph. The edge is blended over about a screen pixel, worked out
+    //from how fast the distance changes across the pixel where derivatives are available, and a fixed width otherwise
+    private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+            + "#ifdef DERIVATIVES\n"
+            + "#extension GL_OES_standard_derivatives : enable\n"
+            + "#endif\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform float u_distanceField;\n"
+            + "\n"
+            + "void main() {\n"
+            + "    vec4 texel = texture2D(u_texture, v_texCoords);\n"
+            + "    if (u_distanceField > 0.5) {\n"
+            + "#ifdef DERIVATIVES\n"
+            + "        float smoothing = 0.7 * fwidth(texel.a);\n"
+            + "#else\n"
+            + "        float smoothing = 0.1;\n"
+            + "#endif\n"
+            + "        texel.a = smoothstep(0.5 - smoothing, 0.5 + smoothing, texel.a);\n"
+            + "    }\n"
+            + "    gl_FragColor = v_color * texel;\n"
+            + "}\n";
+
+    private final ShaderProgram shader;
+    private boolean distanceField;
+
+    /**
+     * Creates a batch with the same size as a default sprite batch.
+     */
+    public DistanceFieldBatch() {
+        this(createShader());
+    }
+
+    private DistanceFieldBatch(ShaderProgram shader) {
+        super(1000, shader);
+        this.shader = shader;
+    }
+
+    private static ShaderProgram createShader() {
+        //Desktop OpenGL always has derivatives, but on GLES and WebGL they are an extension
+        String prefix = "";
+        if (Gdx.app.getType() == Application.ApplicationType.Desktop
+                || Gdx.graphics.supportsExtension("OES_standard_derivatives")
+                || Gdx.graphics.supportsExtension("GL_OES_standard_derivatives")) {
+            prefix = "#define DERIVATIVES\n";
+        }
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, prefix + FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling distance field shader: " + shader.getLog());
+        }
+        return shader;
+    }
+
+    /**
+     * Starts drawing, with the distance field turned off until a font page is drawn.
+     */
+    @Override
+    public void begin() {
+        super.begin();
+        distanceField = false;
+        if (getShader() == shader) {
+            shader.setUniformf("u_distanceField", 0f);
+        }
+    }
+
+    /**
+     * Flushes what was drawn with the previous texture, then turns the distance field on or off for the new one.
+     *
+     * @param texture The texture to draw with next.
+     */
+    @Override
+    protected void switchTexture(Texture texture) {
+        super.switchTexture(texture);
+        boolean fontPage = AssetRegistry.getInstance().isDistanceField(texture);
+        if (fontPage != distanceField && getShader() == shader) {
+            shader.setUniformf("u_distanceField", fontPage ? 1f : 0f);
+            distanceField = fontPage;
+        }
+    }
+
+    /**
+     * Disposes the batch and its shader.
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+        shader.dispose();
+    }
+}
@@ -1,8 +1,6 @@
 package com.heshus18.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
 /**
@@ -13,7 +11,8 @@ public class EnergyBar {
     private float energy;
     private final float maxEnergy, barWidth, barHeight;
     private final Vector2 position;
-    private final Texture backgroundTexture,foregroundTexture;
+    private final String backgroundTexturePath, foregroundTexturePath;
+    private final TextureRegion backgroundTexture, foregroundTexture;
 
     /**
      * Creates an EnergyBar instance with specified properties.
@@ -32,17 +31,30 @@ public class EnergyBar {
         this.barWidth = barWidth;
         this.barHeight = barHeight;
         this.position = position;
-        this.backgroundTexture = new Texture(Gdx.files.internal(backgroundTexturePath));
-        this.foregroundTexture = new Texture(Gdx.files.internal(foregroundTexturePath));
+        this.backgroundTexturePath = backgroundTexturePath;
+        this.foregroundTexturePath = foregroundTexturePath;
+        this.backgroundTexture = AssetRegistry.getInstance().region(backgroundTexturePath);
+        this.foregroundTexture = AssetRegistry.getInstance().region(foregroundTexturePath);
+    }
+
+    /**
+     * Checks if a point on the HUD is on the energy bar, e.g. so clicking it doesn't walk the player there.
+     *
+     * @param x The x coordinate of the point in HUD coordinates.
+     * @param y The y coordinate of the point in HUD coordinates.
+     * @return True if the point is on the bar.
+     */
+    public boolean contains(float x, float y) {
+        return x >= position.x && x <= position.x + barWidth && y >= position.y && y <= position.y + barHeight;
     }
 
     /**
      * Renders the energy bar on the screen, showing the current energy level.
      *
-     * @param batch The SpriteBatch used for drawing.
+     * @param renderQueue The render queue used for drawing.
      */
-    public void render(SpriteBatch batch) {
-        batch.draw(backgroundTexture, position.x, position.y, barWidth, barHeight);
+    public void render(RenderQueue renderQueue) {
+        renderQueue.draw(RenderQueue.HUD, 0, backgroundTexture, position.x, position.y, barWidth, barHeight);
 
         // This allows the size of the background and foreground of the energy bar to be adjusted
         // i.e. this is the code used for a 4 pixel border
@@ -52,8 +64,8 @@ public class EnergyBar {
         float adjustedX = position.x + padding;
         float adjustedY = position.y + padding;
 
-        //Draw the energy bar texture to the screen
-        batch.draw(foregroundTexture, adjustedX, adjustedY, adjustedWidth, adjustedHeight);
+        //Draw the energy bar texture to the screen, on top of the background
+        renderQueue.draw(RenderQueue.HUD, 1, foregroundTexture, adjustedX, adjustedY, adjustedWidth, adjustedHeight);
     }
 
     /**
@@ -99,10 +111,10 @@ public class EnergyBar {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Releases the shared textures used by the energy bar after closing the game.
      */
     public void dispose() {
-        backgroundTexture.dispose();
-        foregroundTexture.dispose();
+        AssetRegistry.getInstance().releaseRegion(backgroundTexturePath);
+        AssetRegistry.getInstance().releaseRegion(foregroundTexturePath);
     }
 }
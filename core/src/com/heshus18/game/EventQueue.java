@@ -0,0 +1,198 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Queue of game events, so systems can react to what happens in the game without calling each other directly.
+ * Events are published to the queue and only delivered when it is drained, once a frame, to the subscribers of each
+ * event's type in the order the events were published. Events published while draining are delivered in the same
+ * drain, after the events already queued.
+ * Event objects are reused, so publishing does not allocate once the queue has grown to the most events seen in a
+ * frame. Subscribers must not keep the event they are given.
+ */
+public class EventQueue {
+    /**
+     * The kinds of event.
+     */
+    public enum Type {
+        //The player confirmed an activity, value is the activity's id
+        ACTIVITY_STARTED,
+        //The player's energy changed, amount is the new energy
+        ENERGY_CHANGED,
+        //The player went to bed and it is now the next day, value is the new day
+        DAY_ADVANCED,
+        //The player went to bed on the last day
+        WEEK_OVER,
+        //A pop-up should be shown, text is its id
+        POP_UP_REQUESTED
+    }
+
+    /**
+     * An event in the queue. Which fields are used depends on the type.
+     */
+    public static class Event {
+        private Type type;
+        private int value;
+        private float amount;
+        private String text;
+
+        public Type getType() {
+            return type;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public float getAmount() {
+            return amount;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Told about the events of the types it subscribed to.
+     */
+    public interface Subscriber {
+        /**
+         * Called when an event is delivered.
+         *
+         * @param event The event, which is reused after this returns.
+         */
+        void onEvent(Event event);
+    }
+
+    //Queued events are a ring buffer over the pool of event objects
+    private Event[] events;
+    private int head, size;
+    private final Array<Subscriber>[] subscribers;
+
+    /**
+     * Creates an empty queue.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EventQueue() {
+        events = new Event[16];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new Event();
+        }
+        subscribers = new Array[Type.values().length];
+        for (int i = 0; i < subscribers.length; i++) {
+            subscribers[i] = new Array<Subscriber>();
+        }
+    }
+
+    /**
+     * Subscribes to every event of a type. Subscribers of a type are told about each event in the order they
+     * subscribed.
+     *
+     * @param type       The type of event.
+     * @param subscriber The subscriber.
+     */
+    public void subscribe(Type type, Subscriber subscriber) {
+        subscribers[type.ordinal()].add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber added with {@link #subscribe(Type, Subscriber)}.
+     *
+     * @param type       The type of event.
+     * @param subscriber The subscriber.
+     */
+    public void unsubscribe(Type type, Subscriber subscriber) {
+        subscribers[type.ordinal()].removeValue(subscriber, true);
+    }
+
+    /**
+     * Queues an event with no values.
+     *
+     * @param type The type of event.
+     */
+    public void publish(Type type) {
+        publish(type, 0, 0, null);
+    }
+
+    /**
+     * Queues an event with a whole number, e.g. an id.
+     *
+     * @param type  The type of event.
+     * @param value The value of the event.
+     */
+    public void publish(Type type, int value) {
+        publish(type, value, 0, null);
+    }
+
+    /**
+     * Queues an event with an amount.
+     *
+     * @param type   The type of event.
+     * @param amount The amount of the event.
+     */
+    public void publish(Type type, float amount) {
+        publish(type, 0, amount, null);
+    }
+
+    /**
+     * Queues an event with some text, e.g. an id.
+     *
+     * @param type The type of event.
+     * @param text The text of the event.
+     */
+    public void publish(Type type, String text) {
+        publish(type, 0, 0, text);
+    }
+
+    private void publish(Type type, int value, float amount, String text) {
+        if (size == events.length) {
+            grow();
+        }
+        Event event = events[(head + size) % events.length];
+        event.type = type;
+        event.value = value;
+        event.amount = amount;
+        event.text = text;
+        size++;
+    }
+
+    //Doubles the buffer, moving the queued events to the start of it
+    private void grow() {
+        Event[] grown = new Event[events.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = events[(head + i) % events.length];
+        }
+        for (int i = size; i < grown.length; i++) {
+            grown[i] = new Event();
+        }
+        events = grown;
+        head = 0;
+    }
+
+    /**
+     * Delivers every queued event to its subscribers, including events published by the subscribers themselves.
+     */
+    public void drain() {
+        while (size > 0) {
+            //The event stays queued while it is delivered, so events published by subscribers can't reuse it
+            Event event = events[head];
+            Array<Subscriber> typeSubscribers = subscribers[event.type.ordinal()];
+            for (int i = 0; i < typeSubscribers.size; i++) {
+                typeSubscribers.get(i).onEvent(event);
+            }
+            event.text = null;
+            head = (head + 1) % events.length;
+            size--;
+        }
+    }
+
+    /**
+     * Checks if any events are waiting to be delivered.
+     *
+     * @return True if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
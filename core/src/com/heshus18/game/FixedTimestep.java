@@ -0,0 +1,82 @@
+package com.heshus18.game;
+
+/**
+ * Runs the game simulation at a fixed tick rate, independent of how often frames are rendered.
+ * Each frame's delta time is added to an accumulator, and the simulation is stepped once for every whole tick that
+ * has built up. Whatever is left over is how far the frame is between the last two ticks, which rendering uses to
+ * interpolate positions so movement stays smooth at any frame rate.
+ * As every tick has the same length, the simulation gives the same results however the frames are spread out.
+ */
+public class FixedTimestep {
+    //Longest frame that is simulated in full. Longer frames (e.g. after the window is dragged) lose the extra time
+    //rather than running so many ticks that the next frame is even longer.
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private final float tickSeconds;
+    private float accumulator;
+    private long ticks;
+
+    /**
+     * Creates a fixed timestep.
+     *
+     * @param ticksPerSecond How many times a second the simulation is stepped.
+     */
+    public FixedTimestep(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+        }
+        tickSeconds = 1f / ticksPerSecond;
+    }
+
+    /**
+     * Adds a frame's time to the accumulator.
+     *
+     * @param delta The time in seconds since the last frame.
+     * @return How many ticks to run this frame, which may be 0 when frames are rendered faster than the tick rate.
+     */
+    public int advance(float delta) {
+        accumulator += Math.min(delta, MAX_FRAME_TIME);
+        int count = 0;
+        while (accumulator >= tickSeconds) {
+            accumulator -= tickSeconds;
+            count++;
+        }
+        ticks += count;
+        return count;
+    }
+
+    /**
+     * Starts again with no time built up and no ticks run, e.g. for a new week.
+     */
+    public void reset() {
+        accumulator = 0;
+        ticks = 0;
+    }
+
+    /**
+     * Gets how far the current frame is between the last tick and the next one, for interpolating.
+     *
+     * @return The fraction of a tick, from 0 to 1.
+     */
+    public float getAlpha() {
+        return accumulator / tickSeconds;
+    }
+
+    /**
+     * Gets the length of a tick.
+     *
+     * @return The time in seconds of every tick.
+     */
+    public float getTickSeconds() {
+        return tickSeconds;
+    }
+
+    /**
+     * Gets how many ticks have been run in total.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
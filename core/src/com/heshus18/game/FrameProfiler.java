@@ -0,0 +1,306 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Times each phase of the game's frames, for finding out what makes a frame slow.
+ * Phases are timed with nanosecond timers between {@link #begin(Phase)} and {@link #end(Phase)}, and the last
+ * {@link #WINDOW} frames are kept, so the overlay can show rolling averages, the 99th percentile and worst frame times,
+ * a histogram of frame times, garbage collections, heap usage and batch render calls. The kept frames can also be
+ * written to a CSV file.
+ * When the profiler is off every call returns straight away, so it can be left in the frame loop.
+ */
+public class FrameProfiler {
+    /**
+     * The parts of a frame that are timed. A phase can be timed several times in a frame, e.g. once per tick, and the
+     * times are added up.
+     */
+    public enum Phase {
+        //Stepping the world's entities: player input, collision, interaction and movement, in every tick
+        MOVE("move"),
+        //Pop-up timers, clicks and drawing
+        POP_UPS("pop-ups"),
+        //Delivering events, including the activities they carry out
+        EVENTS("events"),
+        //Moving the cameras to follow the player
+        CAMERA("camera"),
+        //Queuing the world's sprites and the interact prompt
+        PLAYER("player"),
+        //Queuing the energy bar and clock
+        HUD("hud"),
+        //Drawing the tile map
+        MAP("map"),
+        //Drawing the queued sprites and text, and ending the batch
+        DRAW("draw");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Statistics about the runtime that libGDX doesn't give on every platform.
+     */
+    public interface RuntimeStats {
+        /**
+         * Gets the number of garbage collections since the game started.
+         *
+         * @return The number of collections, or -1 if it isn't known.
+         */
+        long getGcCount();
+
+        /**
+         * Gets the memory used on the heap.
+         *
+         * @return The used heap in bytes.
+         */
+        long getHeapUsed();
+    }
+
+    //Number of frames kept for the overlay and CSV
+    public static final int WINDOW = 600;
+    //How often the overlay's text is updated, in frames
+    private static final int OVERLAY_INTERVAL = 30;
+    //Upper bounds of the histogram's buckets in milliseconds, the last bucket has every slower frame
+    private static final int[] BUCKET_MILLIS = {4, 8, 12, 17, 25, 33, 50};
+    private static final String[] BUCKET_LABELS = {"<4", "<8", "<12", "<17", "<25", "<33", "<50", "50+"};
+    //Phase.values() copies the array every call, so it is only called once
+    private static final Phase[] PHASE_VALUES = Phase.values();
+    private static final int PHASES = PHASE_VALUES.length;
+
+    private boolean enabled;
+    private RuntimeStats runtimeStats;
+    //Time each phase was begun, and the total time of each phase this frame
+    private final long[] phaseStarted = new long[PHASES];
+    private final long[] phaseTotal = new long[PHASES];
+    private long frameStarted;
+    //Whether the frame being timed was begun while the profiler was on, so a frame it was turned on in isn't kept
+    private boolean frameBegun;
+    //The kept frames, as a ring buffer: the time of each phase, the whole frame, render calls, GCs and heap
+    private final long[][] phaseSamples = new long[PHASES][WINDOW];
+    private final long[] frameSamples = new long[WINDOW];
+    private final int[] renderCallSamples = new int[WINDOW];
+    private final long[] gcSamples = new long[WINDOW];
+    private final long[] heapSamples = new long[WINDOW];
+    private int next, count;
+    private long frames;
+    //Frame times sorted for the percentile, and the overlay's text
+    private final long[] sorted = new long[WINDOW];
+    private final int[] buckets = new int[BUCKET_LABELS.length];
+    private final StringBuilder text = new StringBuilder(512);
+    private final GlyphLayout layout = new GlyphLayout();
+    private boolean textChanged;
+
+    /**
+     * Creates a profiler that is off, using the heap size reported by libGDX and no GC count.
+     */
+    public FrameProfiler() {
+        runtimeStats = new RuntimeStats() {
+            @Override
+            public long getGcCount() {
+                return -1;
+            }
+
+            @Override
+            public long getHeapUsed() {
+                return Gdx.app.getJavaHeap();
+            }
+        };
+    }
+
+    /**
+     * Turns the profiler on or off. Turning it on starts with no kept frames, and the first frame kept is the next one
+     * begun.
+     *
+     * @param enabled True to time frames.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            next = 0;
+            count = 0;
+            frameBegun = false;
+            text.setLength(0);
+            textChanged = true;
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets where the GC count and heap usage come from, e.g. the JVM's management beans on desktop.
+     *
+     * @param runtimeStats The runtime statistics.
+     */
+    public void setRuntimeStats(RuntimeStats runtimeStats) {
+        this.runtimeStats = runtimeStats;
+    }
+
+    /**
+     * Starts timing a frame. Call this first thing in the frame.
+     */
+    public void beginFrame() {
+        if (!enabled) return;
+        Arrays.fill(phaseTotal, 0);
+        frameStarted = TimeUtils.nanoTime();
+        frameBegun = true;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase The phase.
+     */
+    public void begin(Phase phase) {
+        if (!enabled) return;
+        phaseStarted[phase.ordinal()] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase, adding the time since {@link #begin(Phase)} to the phase's time this frame.
+     *
+     * @param phase The phase.
+     */
+    public void end(Phase phase) {
+        if (!enabled) return;
+        phaseTotal[phase.ordinal()] += TimeUtils.nanoTime() - phaseStarted[phase.ordinal()];
+    }
+
+    /**
+     * Stops timing a frame and keeps its times. Call this last thing in the frame.
+     *
+     * @param renderCalls The number of draw calls the sprite batch made this frame.
+     */
+    public void endFrame(int renderCalls) {
+        if (!enabled || !frameBegun) return;
+        frameBegun = false;
+        frameSamples[next] = TimeUtils.nanoTime() - frameStarted;
+        for (int phase = 0; phase < PHASES; phase++) {
+            phaseSamples[phase][next] = phaseTotal[phase];
+        }
+        renderCallSamples[next] = renderCalls;
+        gcSamples[next] = runtimeStats.getGcCount();
+        heapSamples[next] = runtimeStats.getHeapUsed();
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        frames++;
+        if (frames % OVERLAY_INTERVAL == 0) {
+            updateText();
+        }
+    }
+
+    //Rebuilds the overlay's text from the kept frames
+    private void updateText() {
+        int last = (next + WINDOW - 1) % WINDOW;
+        long frameTotal = 0, max = 0;
+        Arrays.fill(buckets, 0);
+        for (int i = 0; i < count; i++) {
+            long frame = frameSamples[i];
+            sorted[i] = frame;
+            frameTotal += frame;
+            max = Math.max(max, frame);
+            int bucket = 0;
+            while (bucket < BUCKET_MILLIS.length && frame >= BUCKET_MILLIS[bucket] * 1000000L) {
+                bucket++;
+            }
+            buckets[bucket]++;
+        }
+        Arrays.sort(sorted, 0, count);
+        long p99 = sorted[Math.min(count - 1, count * 99 / 100)];
+
+        text.setLength(0);
+        text.append("Frame avg ");
+        appendMillis(frameTotal / count);
+        text.append(" p99 ");
+        appendMillis(p99);
+        text.append(" max ");
+        appendMillis(max);
+        text.append(" ms (").append(count).append(" frames)\n");
+        for (Phase phase : PHASE_VALUES) {
+            long phaseTotal = 0;
+            long[] samples = phaseSamples[phase.ordinal()];
+            for (int i = 0; i < count; i++) {
+                phaseTotal += samples[i];
+            }
+            text.append(phase.label).append(' ');
+            appendMillis(phaseTotal / count);
+            text.append(" ms\n");
+        }
+        text.append("Render calls ").append(renderCallSamples[last]);
+        long gcs = gcSamples[last];
+        if (gcs >= 0) {
+            text.append("  GCs ").append(gcs - gcSamples[count < WINDOW ? 0 : next]).append(" in window");
+        }
+        text.append("  Heap ").append(heapSamples[last] / (1024 * 1024)).append(" MB\n");
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            text.append(BUCKET_LABELS[bucket]).append(" ms ");
+            //One mark per 2% of frames, so a full window fills 50 marks
+            for (int mark = 0; mark < buckets[bucket] * 50 / count; mark++) {
+                text.append('|');
+            }
+            text.append(' ').append(buckets[bucket]).append('\n');
+        }
+        textChanged = true;
+    }
+
+    //Appends a time in nanoseconds as milliseconds with three decimal places
+    private void appendMillis(long nanos) {
+        long micros = nanos / 1000;
+        text.append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) text.append('0');
+        if (fraction < 10) text.append('0');
+        text.append(fraction);
+    }
+
+    /**
+     * Queues the overlay to be drawn on top of the HUD, if the profiler is on.
+     *
+     * @param renderQueue The render queue used for drawing.
+     * @param font        The font to draw the overlay with.
+     */
+    public void render(RenderQueue renderQueue, BitmapFont font) {
+        if (!enabled) return;
+        //Only lay out the text again when it has changed
+        if (textChanged) {
+            layout.setText(font, text.length() > 0 ? text : "Profiling...");
+            textChanged = false;
+        }
+        renderQueue.drawText(RenderQueue.HUD, 100, font, layout, 20, 480 - 60);
+    }
+
+    /**
+     * Writes the kept frames to a CSV file, oldest first, with a row per frame and the times in nanoseconds.
+     *
+     * @param file The file to write.
+     */
+    public void writeCsv(FileHandle file) {
+        StringBuilder csv = new StringBuilder((count + 1) * 96);
+        csv.append("frame");
+        for (Phase phase : PHASE_VALUES) {
+            csv.append(',').append(phase.label).append("_ns");
+        }
+        csv.append(",frame_ns,render_calls,gc_count,heap_bytes\n");
+        int first = count < WINDOW ? 0 : next;
+        for (int i = 0; i < count; i++) {
+            int sample = (first + i) % WINDOW;
+            csv.append(frames - count + i);
+            for (int phase = 0; phase < PHASES; phase++) {
+                csv.append(',').append(phaseSamples[phase][sample]);
+            }
+            csv.append(',').append(frameSamples[sample]).append(',').append(renderCallSamples[sample]).append(',')
+                    .append(gcSamples[sample]).append(',').append(heapSamples[sample]).append('\n');
+        }
+        file.writeString(csv.toString(), false);
+    }
+}
@@ -3,9 +3,9 @@ package com.heshus18.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.ScreenUtils;
@@ -19,9 +19,12 @@ public class GameOverScreen implements Screen {
     OrthographicCamera camera;
     SpriteBatch batch;
     BitmapFont font;
-    private final Texture mainMenuButtonTexture, exitButtonTexture;
+    Vector3 touchPos;
+    private final TextureRegion mainMenuButtonTexture, exitButtonTexture;
     private final Rectangle mainMenuButtonBounds, exitButtonBounds;
     private final Score score;
+    //The score counters, built when the screen is shown rather than every frame
+    private final StringBuilder scoresText;
 
     /**
      * Constructs the game over screen with a reference to the game instance and initializes UI components.
@@ -34,15 +37,14 @@ public class GameOverScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
 
-        //Create a new spritebatch to store sprites, and font
-
-        batch = new SpriteBatch();
-        font = new BitmapFont();
-        font.getData().setScale(2f);
+        //Use the game's batch for drawing, and create font
+        batch = game.batch;
+        touchPos = new Vector3();
+        font = AssetRegistry.getInstance().font(2f);
 
         //Load textures for menu buttons
-        mainMenuButtonTexture = new Texture(Gdx.files.internal("mainMenuButton.png"));
-        exitButtonTexture = new Texture(Gdx.files.internal("exitButton.png"));
+        mainMenuButtonTexture = AssetRegistry.getInstance().region("mainMenuButton.png");
+        exitButtonTexture = AssetRegistry.getInstance().region("exitButton.png");
 
         //Initialise position variables for menu button boxes
         float buttonWidth = 300;
@@ -57,6 +59,19 @@ public class GameOverScreen implements Screen {
         exitButtonBounds = new Rectangle(posX, exitYPos, buttonWidth, buttonHeight);
 
         this.score = Score.getInstance();
+        scoresText = new StringBuilder(96);
+    }
+
+    /**
+     * Builds the list of stats from the score of the week that just ended.
+     */
+    @Override
+    public void show() {
+        scoresText.setLength(0);
+        scoresText.append("Times Eaten: ").append(score.getTimeAte())
+                .append("\nTimes Slept: ").append(score.getTimeSlept())
+                .append("\nTimes Studied: ").append(score.getTimeStudy())
+                .append("\nTimes Activities: ").append(score.getTimeActivity());
     }
     /**
      * Draws the required components to the screen.
@@ -72,25 +87,21 @@ public class GameOverScreen implements Screen {
         //Draw "GAME OVER" text, and list of stats
         batch.begin();
         font.draw(batch, "GAME OVER", 300, 400);
-        String scoresText = String.format(
-                "Times Eaten: %d\nTimes Slept: %d\nTimes Studied: %d\nTimes Activities: %d",
-                score.getTimeAte(), score.getTimeSlept(), score.getTimeStudy(), score.getTimeActivity());
         font.draw(batch, scoresText, 300, 350);
 
         //Draw button textures on top of button boxes
-        batch.draw(mainMenuButtonTexture, mainMenuButtonBounds.x, mainMenuButtonBounds.y, mainMenuButtonBounds.width, mainMenuButtonBounds.height);
-        batch.draw(exitButtonTexture, exitButtonBounds.x, exitButtonBounds.y, exitButtonBounds.width, exitButtonBounds.height);
+        RenderQueue.drawRegion(batch, mainMenuButtonTexture, mainMenuButtonBounds.x, mainMenuButtonBounds.y, mainMenuButtonBounds.width, mainMenuButtonBounds.height);
+        RenderQueue.drawRegion(batch, exitButtonTexture, exitButtonBounds.x, exitButtonBounds.y, exitButtonBounds.width, exitButtonBounds.height);
         batch.end();
 
         //Detect inputs for button presses, and send player to main menu or close game accordingly
         if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
             camera.unproject(touchPos);
 
             if (mainMenuButtonBounds.contains(touchPos.x, touchPos.y)) {
                 score.resetCounters();
-                game.setScreen(new MainMenuScreen(game));
-                dispose();
+                game.screens.showMainMenu();
             } else if (exitButtonBounds.contains(touchPos.x, touchPos.y)) {
                 Gdx.app.exit();
             }
@@ -110,19 +121,15 @@ public class GameOverScreen implements Screen {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
      */
     @Override
     public void dispose() {
-        batch.dispose();
-        mainMenuButtonTexture.dispose();
-        exitButtonTexture.dispose();
-        font.dispose();
+        AssetRegistry.getInstance().releaseRegion("mainMenuButton.png");
+        AssetRegistry.getInstance().releaseRegion("exitButton.png");
+        AssetRegistry.getInstance().releaseFont(font);
     }
 
-    @Override
-    public void show() {}
-
     @Override
     public void pause() {}
 
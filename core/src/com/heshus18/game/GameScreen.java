@@ -3,14 +3,18 @@ package com.heshus18.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.maps.tiled.*;
 
 import java.util.Objects;
@@ -25,14 +29,17 @@ import java.util.Objects;
 public class GameScreen implements Screen {
     final HesHustle game;
     static SpriteBatch batch;
+    static RenderQueue renderQueue;
 
-    //Player instance / sprite sheet
+    //Entities of the world, the player's entity and sprite sheet
+    GameWorld world;
     Player player;
-    Texture spriteSheet;
+    String spriteChoice;
 
     //Map objects/variables
     OrthographicCamera camera;
     public static TiledMap background;
+    String mapFile;
     public static float unitScale;
     public static String keyPress = "";
     float mapWidth, mapHeight;
@@ -40,17 +47,51 @@ public class GameScreen implements Screen {
     //HUD objects
     EnergyBar energyBar;
     OrthographicCamera hudCamera;
+    private final WeekRules week;
     private final Time gameTime;
     private final Clock clockHUD;
-    private final OrthogonalTiledMapRenderer renderer;
+    private final ChunkedTiledMapRenderer renderer;
+    private final FixedTimestep timestep;
+    //Where each tick's input comes from, the keyboard and mouse unless changed, and the input of the current tick
+    private InputSource input;
+    private final DeviceInput deviceInput;
+    private final TickInput tickInput;
+    //When the week was started, for the session history
+    private long startedMillis;
     PopUpManager popUpManager;
+    EventQueue events;
     Score score = Score.getInstance();
+    ActivityCatalogue activities;
 
     //Font for interact popups
     static BitmapFont font;
 
+    static final String MAP = "tileMap.tmx";
+    static final String ENERGY_BAR_BACKGROUND = "energyBarBackground.png";
+    static final String ENERGY_BAR_FOREGROUND = "energyBarForeground.png";
+
     /**
-     * Constructs an instance for GameScreen, creating player, map, energy bar, clock, and pop-up manager instances.
+     * Gets the assets GameScreen needs, so they can be loaded in the background while the menus are shown.
+     * @return The map, and the texture atlas or the character sprite sheets, HUD and pop-up textures if it hasn't been
+     * built.
+     */
+    static Array<AssetDescriptor<?>> getAssetDependencies() {
+        AssetRegistry registry = AssetRegistry.getInstance();
+        Array<AssetDescriptor<?>> assets = new Array<AssetDescriptor<?>>();
+        assets.add(new AssetDescriptor<TiledMap>(registry.mapFile(MAP), TiledMap.class));
+        assets.add(registry.regionDependency(CharacterSelectScreen.KENZIE_SPRITE_SHEET));
+        assets.add(registry.regionDependency(CharacterSelectScreen.ISABELLE_SPRITE_SHEET));
+        assets.add(registry.regionDependency(ENERGY_BAR_BACKGROUND));
+        assets.add(registry.regionDependency(ENERGY_BAR_FOREGROUND));
+        for (String texture : PopUp.TEXTURES) {
+            assets.add(registry.regionDependency(texture));
+        }
+        return assets;
+    }
+
+    /**
+     * Constructs an instance for GameScreen, creating the map, the world's entities, energy bar, clock, and pop-up
+     * manager instances.
      * @param game The instance of game this screen is a part of.
      * @param spriteChoice The sprite that the player chose during CharacterSelectScreen.
      */
@@ -59,194 +100,365 @@ public class GameScreen implements Screen {
 
         //Use the game's batch for drawing and create main character
         batch = game.batch;
+        renderQueue = new RenderQueue(batch);
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
 
         //Loading character texture and tile map
-        spriteSheet = new Texture(Gdx.files.internal(spriteChoice));
-        background = new TmxMapLoader().load("tileMap.tmx");
-        player = new Player(spriteSheet);
+        this.spriteChoice = spriteChoice;
+        TextureRegion[][] frames = AssetRegistry.getInstance().frames(spriteChoice, Player.SHEET_COLUMNS,
+                Player.SHEET_ROWS);
+        mapFile = AssetRegistry.getInstance().mapFile(MAP);
+        background = AssetRegistry.getInstance().acquire(mapFile, TiledMap.class);
+        activities = new ActivityCatalogue(Gdx.files.internal("activities.json"));
         unitScale = 2f; //change this value for size?
-        renderer = new OrthogonalTiledMapRenderer(background, unitScale);
+        popUpManager = new PopUpManager();
+        world = new GameWorld(background, unitScale, activities, popUpManager, frames, game.crowdSize,
+                game.tasks);
+        player = world.getPlayer();
+        renderer = new ChunkedTiledMapRenderer(background, unitScale, batch);
+        timestep = new FixedTimestep(game.tickRate);
+        startedMillis = TimeUtils.millis();
 
         //Creating a stationary secondary camera for the HUD
         hudCamera = new OrthographicCamera();
         hudCamera.setToOrtho(false, 800, 480);
         hudCamera.update();
+        deviceInput = new DeviceInput(hudCamera, camera);
+        input = deviceInput;
+        tickInput = new TickInput();
 
         //Create instances of HUD elements
         energyBar = new EnergyBar(100f, 250f, 35f, new Vector2(20f, 480 - 45f),
-                "energyBarBackground.png", "energyBarForeground.png");
-        gameTime = new Time();
+                ENERGY_BAR_BACKGROUND, ENERGY_BAR_FOREGROUND);
+        week = new WeekRules(score);
+        gameTime = week.getTime();
         clockHUD = new Clock(new Vector2(800 - 100, 480 - 20f), gameTime);
 
         //Creating interact pop-up font
-        font = new BitmapFont();
-        font.getData().setScale(1.5f);
+        font = AssetRegistry.getInstance().font(1.5f);
 
-        //Create instance of popUpManager and pop-up instances for each event type
-        popUpManager = new PopUpManager();
+        //Create pop-up instances for each event type
+        events = new EventQueue();
+        subscribeToEvents();
 
-        //Study pop-up
-        //Create pop-up for interacting with "study" objects
-        PopUp studyPopUp = new PopUp("studyPopUp", "Are you sure you want to start studying?\n\nEnergy " +
-                "drain: 20%\nDuration: 2 Hours", 200, 170, 400, 170, hudCamera, "prompt");
-        //Send to confirmation pop-up for when the player studies, or if the player cannot study.
-        studyPopUp.addConfirmAction(new Runnable() {
-            @Override
-            public void run() {
-                if (!energyBar.drainEnergy(20f)) {
-                    popUpManager.showPopUp("noEnergyPopUp");
-                } else {
-                    gameTime.addTime(120);
-                    score.incrementTimeStudy();
-                    popUpManager.showPopUp("studySuccess");
+        //Create a prompt pop-up and a success pop-up for each activity in the catalogue
+        for (int i = 0; i < activities.size(); i++) {
+            final Activity activity = activities.get(i);
+            PopUp promptPopUp = new PopUp(activity.getPromptPopUpId(), activity.getPromptMessage(), 200, 170,
+                    400, 170, PopUp.Type.PROMPT);
+            promptPopUp.addConfirmAction(new Runnable() {
+                @Override
+                public void run() {
+                    events.publish(EventQueue.Type.ACTIVITY_STARTED, activity.getId());
                 }
-            }
-        });
-        popUpManager.addPopUp(studyPopUp);
+            });
+            popUpManager.addPopUp(promptPopUp);
 
-        //Repeat for all other activities
-        //Eating pop-up
-        PopUp eatingPopUp = new PopUp("eatingPopUp", "Are you sure you want to start eating?\n\nEnergy " +
-                "drain: 10%\nDuration: 1 Hour", 200, 170, 400, 170, hudCamera, "prompt");
-        eatingPopUp.addConfirmAction(new Runnable() {
-            @Override
-            public void run() {
-                if (!energyBar.drainEnergy(10f)) {
-                    popUpManager.showPopUp("noEnergyPopUp");
-                } else {
-                    gameTime.addTime(60);
-                    score.incrementTimeAte();
-                    popUpManager.showPopUp("eatingSuccess");
-                }
+            //Sleeping uses the "nextDay" pop-up instead, as its message depends on the new day
+            if (activity.getType() != Activity.Type.SLEEP) {
+                PopUp successPopUp = new PopUp(activity.getSuccessPopUpId(), activity.getSuccessMessage(), 0, 0,
+                        800, 480, PopUp.Type.INFO);
+                popUpManager.addPopUp(successPopUp);
             }
-        });
-        popUpManager.addPopUp(eatingPopUp);
-        //Activity pop-up
-        PopUp activityPopUp = new PopUp("activityPopUp", "Are you sure you want to start this " +
-                "activity?\n\nEnergy drain: 15%\nDuration: 2 Hours", 200, 170, 400, 170,
-                hudCamera, "prompt");
-        activityPopUp.addConfirmAction(new Runnable() {
-            @Override
-            public void run() {
-                if (!energyBar.drainEnergy(15f)) {
-                    popUpManager.showPopUp("noEnergyPopUp");
-                } else {
-                    gameTime.addTime(120);
-                    score.incrementTimeActivity();
-                    popUpManager.showPopUp("activitySuccess");
-                }
-            }
-        });
-        popUpManager.addPopUp(activityPopUp);
-        //Sleeping pop-up
-        PopUp sleepingPopUp = new PopUp("sleepingPopUp", "Are you sure you want to go to bed?\n\nYou " +
-                "will advance to the next day.", 200, 170, 400, 170, hudCamera, "prompt");
-        sleepingPopUp.addConfirmAction(new Runnable() {
-            @Override
-            public void run() {
-                int currentHour = gameTime.getHour();
-                int currentDay = gameTime.getDay();
-                //Sleeping pop-up checks day/time and progresses tho the next day. If day is Sunday, send to
-                //GameOverScreen.
-                if (currentHour < 18) {
-                    popUpManager.showPopUp("cantSleepPopUp");
-                } else {
-                    if (currentDay == 7) {
-                        score.incrementTimeSlept();
-                        game.setScreen(new GameOverScreen(game));
-                    } else {
-                        gameTime.nextDay();
-                        score.incrementTimeSlept();
-                        if (currentHour >= 18 && currentHour <= 22) {
-                            energyBar.addEnergy(100f);
-                        } else {
-                            energyBar.addEnergy(50f);
-                        }
-                        String newMessage = "You went to bed! It's now " + gameTime.getDayName(gameTime.getDay()) + ".";
-                        popUpManager.updateMessage("nextDay", newMessage);
-                        popUpManager.showPopUp("nextDay");
-                    }
-                }
-            }
-        });
-        popUpManager.addPopUp(sleepingPopUp);
+        }
 
         //Create confirmation pop-ups for each interaction type
         //No energy pop-up
         PopUp noEnergyPopUp = new PopUp("noEnergyPopUp", "Uh oh! You don't have enough energy!\n\nTime " +
-                "to head to bed.", 200, 170, 400, 170, hudCamera, "warning");
+                "to head to bed.", 200, 170, 400, 170, PopUp.Type.WARNING);
         popUpManager.addPopUp(noEnergyPopUp);
         //Can't sleep pop-up
         PopUp cantSleepPopUp = new PopUp("cantSleepPopUp", "It is too early to go to bed!\n\nCome back" +
-                " later.", 200, 170, 400, 170, hudCamera, "warning");
+                " later.", 200, 170, 400, 170, PopUp.Type.WARNING);
         popUpManager.addPopUp(cantSleepPopUp);
-        //Eating success pop-up
-        PopUp eatingSucess = new PopUp("eatingSuccess", "You've finished eating!", 0, 0, 800,
-                480, hudCamera, "info");
-        popUpManager.addPopUp(eatingSucess);
-        //Study success pop-up
-        PopUp studySucess = new PopUp("studySuccess", "You've finished studying!", 0, 0, 800,
-                480, hudCamera, "info");
-        popUpManager.addPopUp(studySucess);
-        //Activity success pop-up
-        PopUp activitySuccess = new PopUp("activitySuccess", "You've finished a recreational activity!",
-                0, 0, 800, 480, hudCamera, "info");
-        popUpManager.addPopUp(activitySuccess);
         //Sleep success/next day pop-up
-        String message = "You went to bed! It's now " + gameTime.getDayName(gameTime.getDay()) + ".";
-        PopUp nextDay = new PopUp("nextDay", message, 0, 0, 800, 480, hudCamera, "info");
+        String message = "You went to bed! It's now " + gameTime.getDayName() + ".";
+        PopUp nextDay = new PopUp("nextDay", message, 0, 0, 800, 480, PopUp.Type.INFO);
         popUpManager.addPopUp(nextDay);
 
+        Gdx.app.debug("AssetRegistry", AssetRegistry.getInstance().getMemoryReport());
+    }
+
+    /**
+     * Constructs an instance for GameScreen that carries on a saved week, with the time, energy, score and player
+     * position it was saved with.
+     * @param game The instance of game this screen is a part of.
+     * @param saved The saved week.
+     */
+    public GameScreen(final HesHustle game, WeekSnapshot saved) {
+        this(game, saved.getCharacter());
+        restore(saved);
+    }
+
+    /**
+     * Starts another week on this screen, so the map, grids and pop-ups built for the last week are used again.
+     * Everything the last week changed is put back to how a new week starts, then the saved week is restored if there
+     * is one. The input goes back to the keyboard and mouse.
+     * @param spriteChoice The sprite sheet of the chosen character.
+     * @param saved The saved week to carry on, or null to start a new one.
+     */
+    public void startWeek(String spriteChoice, WeekSnapshot saved) {
+        if (!spriteChoice.equals(this.spriteChoice)) {
+            AssetRegistry.getInstance().releaseRegion(this.spriteChoice);
+            this.spriteChoice = spriteChoice;
+            player.setFrames(AssetRegistry.getInstance().frames(spriteChoice, Player.SHEET_COLUMNS,
+                    Player.SHEET_ROWS));
+        }
+        week.reset();
+        score.resetCounters();
+        player.reset();
+        popUpManager.hideAll();
+        energyBar.setEnergy(week.getEnergy());
+        popUpManager.updateMessage("nextDay", "You went to bed! It's now " + gameTime.getDayName() + ".");
+        timestep.reset();
+        input = deviceInput;
+        startedMillis = TimeUtils.millis();
+        if (saved != null) {
+            restore(saved);
+        }
+    }
+
+    //Carries on a saved week, with the time, energy, score and player position it was saved with
+    private void restore(WeekSnapshot saved) {
+        week.restore(saved.getMinuteOfWeek(), saved.getEnergy());
+        score.setCounters(saved.getTimeAte(), saved.getTimeSlept(), saved.getTimeStudy(), saved.getTimeActivity());
+        player.setPosition(saved.getPlayerX(), saved.getPlayerY());
+        energyBar.setEnergy(week.getEnergy());
+        popUpManager.updateMessage("nextDay", "You went to bed! It's now " + gameTime.getDayName() + ".");
+        startedMillis = saved.getStartedMillis();
     }
+
+    /**
+     * Changes where the game gets its input from, e.g. to play back a recording.
+     * @param input The input source.
+     */
+    public void setInputSource(InputSource input) {
+        this.input = input;
+    }
+
     /**
-     * Draws the required components to the screen.
+     * Gets the time of the week being played.
+     * @return The time.
+     */
+    public Time getTime() {
+        return gameTime;
+    }
+
+    /**
+     * Takes a snapshot of the week, for saving it or checking a replay.
+     * @return The time, energy, score and player position now.
+     */
+    public WeekSnapshot snapshot() {
+        return WeekSnapshot.capture(week, player, spriteChoice, startedMillis, TimeUtils.millis());
+    }
+
+    /**
+     * Subscribes the game's systems to the events they react to. Events are delivered once a frame, after the
+     * pop-ups have handled input, so nothing changes while the pop-ups are being updated.
+     */
+    private void subscribeToEvents() {
+        events.subscribe(EventQueue.Type.ACTIVITY_STARTED, new EventQueue.Subscriber() {
+            @Override
+            public void onEvent(EventQueue.Event event) {
+                confirmActivity(activities.get(event.getValue()));
+            }
+        });
+        events.subscribe(EventQueue.Type.ENERGY_CHANGED, new EventQueue.Subscriber() {
+            @Override
+            public void onEvent(EventQueue.Event event) {
+                energyBar.setEnergy(event.getAmount());
+            }
+        });
+        events.subscribe(EventQueue.Type.DAY_ADVANCED, new EventQueue.Subscriber() {
+            @Override
+            public void onEvent(EventQueue.Event event) {
+                String newMessage = "You went to bed! It's now " + gameTime.getDayName(event.getValue()) + ".";
+                popUpManager.updateMessage("nextDay", newMessage);
+            }
+        });
+        events.subscribe(EventQueue.Type.WEEK_OVER, new EventQueue.Subscriber() {
+            @Override
+            public void onEvent(EventQueue.Event event) {
+                game.history.record(WeekRecord.fromScore(score, spriteChoice, startedMillis, TimeUtils.millis()));
+                game.screens.showGameOver();
+            }
+        });
+        events.subscribe(EventQueue.Type.POP_UP_REQUESTED, new EventQueue.Subscriber() {
+            @Override
+            public void onEvent(EventQueue.Event event) {
+                popUpManager.showPopUp(event.getText());
+            }
+        });
+    }
+
+    /**
+     * Carries out an activity after the player confirms its pop-up, using the rules of the week, and publishes
+     * events for what happened.
+     * @param activity The activity that was confirmed.
+     */
+    private void confirmActivity(Activity activity) {
+        float energyBefore = week.getEnergy();
+        switch (week.perform(activity)) {
+            case DONE:
+                events.publish(EventQueue.Type.POP_UP_REQUESTED, activity.getSuccessPopUpId());
+                break;
+            case NO_ENERGY:
+                events.publish(EventQueue.Type.POP_UP_REQUESTED, "noEnergyPopUp");
+                break;
+            case TOO_EARLY:
+                events.publish(EventQueue.Type.POP_UP_REQUESTED, "cantSleepPopUp");
+                break;
+            case NEXT_DAY:
+                events.publish(EventQueue.Type.DAY_ADVANCED, gameTime.getDay());
+                events.publish(EventQueue.Type.POP_UP_REQUESTED, "nextDay");
+                break;
+            case WEEK_OVER:
+                events.publish(EventQueue.Type.WEEK_OVER);
+                break;
+        }
+        if (week.getEnergy() != energyBefore) {
+            events.publish(EventQueue.Type.ENERGY_CHANGED, week.getEnergy());
+        }
+
+        //Save the week after every confirmed activity, or forget the save once the week is over. Only the snapshot is
+        //taken here, the save store writes it out without holding up the frame
+        if (week.isWeekOver()) {
+            game.saves.delete(SaveStore.AUTOSAVE_SLOT);
+        } else {
+            game.saves.save(SaveStore.AUTOSAVE_SLOT, snapshot());
+        }
+    }
+
+    /**
+     * Steps the game forward by however many ticks are due, then draws the required components to the screen.
+     * Everything is queued first and then drawn in a single pass of the sprite batch, on top of the tile map.
      * @param delta The time in seconds since the last render.
      */
     @Override
     public void render(float delta) {
-        //Move camera to player position
-        camera.position.x = player.getX() + player.getWidth()/2;
-        camera.position.y = player.getY() + player.getHeight()/2;
+        FrameProfiler profiler = game.profiler;
+        profiler.beginFrame();
+
+        //Run the simulation at a fixed tick rate
+        input.poll();
+        int ticks = timestep.advance(delta);
+        for (int i = 0; i < ticks && !week.isWeekOver(); i++) {
+            tick();
+        }
+
+        //Move camera to player position, between the last two ticks
+        profiler.begin(FrameProfiler.Phase.CAMERA);
+        float alpha = timestep.getAlpha();
+        float playerX = player.getRenderX(alpha);
+        float playerY = player.getRenderY(alpha);
+        camera.position.x = playerX + player.getWidth()/2;
+        camera.position.y = playerY + player.getHeight()/2;
         camera.update();
+        hudCamera.update();
+        renderQueue.setProjection(RenderQueue.WORLD, camera.combined);
+        renderQueue.setProjection(RenderQueue.HUD, hudCamera.combined);
+        profiler.end(FrameProfiler.Phase.CAMERA);
 
-        //Draw solid background colour
-        ScreenUtils.clear(0.3765f, 0.4588f, 0.5882f, 1);
-        batch.setProjectionMatrix(camera.combined);
+        //Queue the world's sprites, and the interact prompt if the player is next to an activity
+        profiler.begin(FrameProfiler.Phase.PLAYER);
+        world.render(renderQueue, alpha, camera);
+        if (player.getNearbyActivity() != -1) {
+            interact();
+        }
+        profiler.end(FrameProfiler.Phase.PLAYER);
+
+        //Queue HUD
+        profiler.begin(FrameProfiler.Phase.HUD);
+        energyBar.render(renderQueue);
+        clockHUD.render(renderQueue);
+        profiler.end(FrameProfiler.Phase.HUD);
+        profiler.begin(FrameProfiler.Phase.POP_UPS);
+        popUpManager.render(renderQueue);
+        profiler.end(FrameProfiler.Phase.POP_UPS);
+        profiler.render(renderQueue, game.font);
 
+        //Switch between the baked map chunks and drawing every tile, to compare the two
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F8)) {
+            renderer.setChunked(!renderer.isChunked());
+        }
+        //Show or hide the frame profiler, and write out the frames it has kept
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            profiler.setEnabled(!profiler.isEnabled());
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4) && profiler.isEnabled()
+                && Gdx.files.isLocalStorageAvailable()) {
+            profiler.writeCsv(Gdx.files.local("frame-profile-" + TimeUtils.millis() + ".csv"));
+        }
+
+        //Draw solid background colour, then the map and everything queued this frame
+        ScreenUtils.clear(0.3765f, 0.4588f, 0.5882f, 1);
         renderer.setView(camera);
-        renderer.render();
+        renderQueue.begin();
+        profiler.begin(FrameProfiler.Phase.MAP);
+        renderMap();
+        profiler.end(FrameProfiler.Phase.MAP);
+        profiler.begin(FrameProfiler.Phase.DRAW);
+        renderQueue.flush();
+        renderQueue.end();
+        profiler.end(FrameProfiler.Phase.DRAW);
+        profiler.endFrame(renderQueue.getRenderCalls());
+    }
 
-        //Draw current player sprite
-        player.update(batch, player.getX(), player.getY());
+    /**
+     * Steps the simulation forward by one tick. Everything the simulation does depends only on the tick's input, so
+     * a recorded session plays back the same however its ticks are split into frames.
+     */
+    private void tick() {
+        input.next(tickInput);
+        //A click on the HUD isn't a click on the map behind it
+        if (tickInput.isDown(TickInput.MOVE_TO)
+                && (energyBar.contains(tickInput.getTouchX(), tickInput.getTouchY())
+                || clockHUD.contains(tickInput.getTouchX(), tickInput.getTouchY()))) {
+            tickInput.set(tickInput.getButtons() & ~TickInput.MOVE_TO, tickInput.getTouchX(), tickInput.getTouchY(),
+                    tickInput.getTargetX(), tickInput.getTargetY());
+        }
+        if (game.recorder != null) {
+            game.recorder.record(tickInput);
+        }
 
-        //Draw HUD
-        hudCamera.update();
-        batch.setProjectionMatrix(hudCamera.combined);
-        batch.begin();
-        energyBar.render(batch);
-        clockHUD.render(batch);
-        popUpManager.update();
-        popUpManager.render(batch);
-        batch.end();
-
-        //Allow player to move if no pop-up is visible
-        if (!popUpManager.isAnyPopUpVisible()) {player.move(popUpManager);}
-
-        //Allow player to back out of pop-up with ESCAPE key
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            popUpManager.declineVisiblePopUp();
+        //Step the world's entities, the player can only move if no pop-up is visible
+        FrameProfiler profiler = game.profiler;
+        profiler.begin(FrameProfiler.Phase.MOVE);
+        world.tick(timestep.getTickSeconds(), !popUpManager.isAnyPopUpVisible(), tickInput);
+        profiler.end(FrameProfiler.Phase.MOVE);
+
+        //Handle clicks on the top pop-up, and allow player to back out of pop-up with ESCAPE key
+        profiler.begin(FrameProfiler.Phase.POP_UPS);
+        popUpManager.tick(timestep.getTickSeconds());
+        popUpManager.update(tickInput);
+        profiler.end(FrameProfiler.Phase.POP_UPS);
+
+        //Deliver the events published this tick, in the order they were published
+        profiler.begin(FrameProfiler.Phase.EVENTS);
+        events.drain();
+        profiler.end(FrameProfiler.Phase.EVENTS);
+    }
+
+    /**
+     * Draws the visible tile layers of the map with the batch that has already been begun by the render queue.
+     */
+    private void renderMap() {
+        AnimatedTiledMapTile.updateAnimationBaseTime();
+        MapLayers layers = background.getLayers();
+        for (int i = 0; i < layers.getCount(); i++) {
+            MapLayer layer = layers.get(i);
+            if (layer.isVisible() && layer instanceof TiledMapTileLayer) {
+                renderer.renderTileLayer((TiledMapTileLayer) layer);
+            }
         }
     }
 
     /**
-     * Draw interact prompt next to player
+     * Queue interact prompt next to player
      */
     public static void interact(){
-        batch.begin();
-        font.draw(batch, "E to interact", 450, 270);
-        batch.end();
+        renderQueue.drawText(RenderQueue.HUD, 0, font, "E to interact", 450, 270);
     }
 
     /**
@@ -263,19 +475,27 @@ public class GameScreen implements Screen {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
      */
     @Override
     public void dispose () {
-        batch.dispose();
-        spriteSheet.dispose();
+        renderer.dispose();
+        AssetRegistry.getInstance().release(mapFile);
+        AssetRegistry.getInstance().releaseRegion(spriteChoice);
+        AssetRegistry.getInstance().releaseFont(font);
         energyBar.dispose();
         clockHUD.dispose();
         popUpManager.dispose();
     }
 
+    /**
+     * Starts recording the week's input, if the game is recording.
+     */
     @Override
     public void show() {
+        if (game.recorder != null) {
+            game.recorder.begin(game.tickRate, snapshot());
+        }
     }
 
     @Override
@@ -286,7 +506,14 @@ public class GameScreen implements Screen {
     public void resume() {
     }
 
+    /**
+     * Finishes recording the week's input, if the game is recording. Called when the week is over, or when the game
+     * is closed.
+     */
     @Override
     public void hide() {
+        if (game.recorder != null) {
+            game.recorder.finish(snapshot());
+        }
     }
 }
@@ -0,0 +1,188 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The entities of the game world and the systems that step them, on an Ashley engine.
+ * Every rectangle object on the map's object layer becomes a collider entity, and those with an "activity" property
+ * are interactable too. The player is another entity, see {@link Player}. Components come from the engine's pools,
+ * and each system iterates over the entities that have the components it needs, so a new kind of entity is made by
+ * giving it the right components rather than by changing the player's code. Entities with a {@link RouteComponent}
+ * can be sent anywhere on the map, or to any named object on it, along routes from a {@link Navigator}.
+ * Students wandering around the campus are a {@link NpcCrowd} next to the engine rather than entities in it, so
+ * there can be thousands of them.
+ * Everything is in world units, which are map pixels times the map's unit scale.
+ */
+public class GameWorld {
+    //Layer of the map with the buildings and bounds
+    static final String OBJECT_LAYER = "Object Layer 1";
+    //How far from each side of a moving entity colliders are looked for, in map pixels
+    private static final float COLLISION_GAP = 3;
+    //Order the systems run in each tick
+    private static final int ANIMATION = 0, CONTROL = 1, NAVIGATION = 2, COLLISION = 3, INTERACTION = 4, MOVEMENT = 5,
+            RENDER = 6;
+    //Seed the crowd is placed and wanders with, the same every week
+    private static final long CROWD_SEED = 18;
+
+    private final PooledEngine engine;
+    private final PlayerControlSystem controls;
+    private final InteractionSystem interactions;
+    private final SpriteRenderSystem sprites;
+    private final Player player;
+    private final Navigator navigator;
+    private final NpcCrowd crowd;
+
+    /**
+     * Creates the world's entities from the map and the player, and the systems that step them.
+     *
+     * @param map          The map, whose object layer holds the colliders and interactables.
+     * @param unitScale    The number of world units per map pixel.
+     * @param activities   The catalogue that the "activity" properties of map objects are resolved against.
+     * @param popUpManager The pop-ups the activities' prompts are shown with.
+     * @param playerFrames The frames of the player's sprite sheet, by row then column.
+     * @param crowdSize    The number of students wandering around the campus, 0 for none.
+     * @param tasks        What steps the students each tick.
+     */
+    public GameWorld(TiledMap map, float unitScale, ActivityCatalogue activities, PopUpManager popUpManager,
+                     TextureRegion[][] playerFrames, int crowdSize, TaskRunner tasks) {
+        engine = new PooledEngine();
+        ObjectMap<String, Rectangle> landmarks = new ObjectMap<String, Rectangle>();
+        for (MapObject object : map.getLayers().get(OBJECT_LAYER).getObjects()) {
+            if (object instanceof RectangleMapObject) {
+                addMapObject((RectangleMapObject) object, unitScale, activities, landmarks);
+            }
+        }
+
+        //Bake the colliders and interactables into grids with 8 cells per tile, so checks don't depend on how many
+        //there are
+        int tileWidth = map.getProperties().get("tilewidth", Integer.class);
+        float mapWidth = map.getProperties().get("width", Integer.class) * tileWidth * unitScale;
+        float mapHeight = map.getProperties().get("height", Integer.class)
+                * map.getProperties().get("tileheight", Integer.class) * unitScale;
+        float cellSize = tileWidth / 8f * unitScale;
+        controls = new PlayerControlSystem(CONTROL);
+        interactions = new InteractionSystem(activities, popUpManager, mapWidth, mapHeight, cellSize, INTERACTION);
+        sprites = new SpriteRenderSystem();
+        sprites.priority = RENDER;
+        engine.addSystem(new AnimationSystem(ANIMATION));
+        engine.addSystem(controls);
+        CollisionSystem collisions = new CollisionSystem(mapWidth, mapHeight, cellSize, COLLISION_GAP * unitScale,
+                COLLISION);
+        engine.addSystem(collisions);
+        engine.addSystem(interactions);
+        engine.addSystem(new MovementSystem(MOVEMENT));
+        engine.addSystem(sprites);
+
+        player = new Player(engine, playerFrames, unitScale);
+
+        //Route over a node per tile, for a box the size of the player's plus the gap collision keeps on each side
+        float gap = COLLISION_GAP * unitScale;
+        navigator = new Navigator(collisions, mapWidth, mapHeight, tileWidth * unitScale, player.getWidth() + gap * 2,
+                player.getHeight() + gap * 2, landmarks);
+        engine.addSystem(new NavigationSystem(navigator, NAVIGATION));
+
+        if (crowdSize > 0) {
+            TextureRegion[][] crowdFrames = new TextureRegion[NpcCrowd.SHEETS.length][];
+            for (int i = 0; i < NpcCrowd.SHEETS.length; i++) {
+                crowdFrames[i] = NpcCrowd.sheetFrames(map.getTileSets().getTileSet(NpcCrowd.SHEETS[i]));
+            }
+            crowd = new NpcCrowd(crowdSize, crowdFrames, collisions, mapWidth, mapHeight, Player.START_X,
+                    Player.START_Y, CROWD_SEED, tasks);
+        } else {
+            crowd = null;
+        }
+    }
+
+    //Adds a map object as a collider, and an interactable if it has an activity, and keeps its box if it has a name
+    private void addMapObject(RectangleMapObject object, float unitScale, ActivityCatalogue activities,
+                              ObjectMap<String, Rectangle> landmarks) {
+        Rectangle box = object.getRectangle();
+        if (object.getName() != null) {
+            landmarks.put(object.getName(), new Rectangle(box.x * unitScale, box.y * unitScale,
+                    box.width * unitScale, box.height * unitScale));
+        }
+        Entity entity = engine.createEntity();
+        PositionComponent position = engine.createComponent(PositionComponent.class);
+        position.set(box.x * unitScale, box.y * unitScale);
+        BodyComponent body = engine.createComponent(BodyComponent.class);
+        body.width = box.width * unitScale;
+        body.height = box.height * unitScale;
+        entity.add(position);
+        entity.add(body);
+        entity.add(engine.createComponent(ColliderComponent.class));
+
+        String name = object.getProperties().get("activity", String.class);
+        if (name != null) {
+            Activity activity = activities.get(name);
+            if (activity == null) {
+                throw new IllegalArgumentException("Map object " + object.getName() + " has unknown activity " + name);
+            }
+            InteractableComponent interactable = engine.createComponent(InteractableComponent.class);
+            interactable.activity = activity.getId();
+            entity.add(interactable);
+        }
+        engine.addEntity(entity);
+    }
+
+    /**
+     * Steps every entity, and the crowd, forward by one tick.
+     *
+     * @param delta   The length of a tick in seconds.
+     * @param canMove False if the player can't move or interact, e.g. when a pop-up is visible.
+     * @param input   The input of the tick.
+     */
+    public void tick(float delta, boolean canMove, TickInput input) {
+        controls.setInput(input, canMove);
+        interactions.setEnabled(canMove);
+        engine.update(delta);
+        if (crowd != null) {
+            crowd.update(delta);
+        }
+    }
+
+    /**
+     * Queues the current frame of every animated entity, and of the students the camera can see, between their
+     * positions at the last two ticks.
+     *
+     * @param renderQueue The render queue being used to render GameScreen.
+     * @param alpha       How far the frame is between the last tick and the next, from 0 to 1.
+     * @param camera      The camera the world is drawn with, already moved for this frame.
+     */
+    public void render(RenderQueue renderQueue, float alpha, OrthographicCamera camera) {
+        sprites.render(renderQueue, alpha);
+        if (crowd != null) {
+            float viewWidth = camera.viewportWidth * camera.zoom, viewHeight = camera.viewportHeight * camera.zoom;
+            crowd.render(renderQueue, alpha, camera.position.x - viewWidth / 2, camera.position.y - viewHeight / 2,
+                    viewWidth, viewHeight);
+        }
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public PooledEngine getEngine() {
+        return engine;
+    }
+
+    public Navigator getNavigator() {
+        return navigator;
+    }
+
+    /**
+     * Gets the students wandering around the campus.
+     *
+     * @return The crowd, or null if the world was created without one.
+     */
+    public NpcCrowd getCrowd() {
+        return crowd;
+    }
+}
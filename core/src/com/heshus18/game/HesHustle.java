@@ -9,27 +9,100 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
  * Send player to Main menu screen after opening the game.
  */
 public class HesHustle extends Game {
+	public static final int DEFAULT_TICK_RATE = 60;
+
+	//Drawn with by every screen, so switching screens never creates or disposes a batch
 	public SpriteBatch batch;
 	public BitmapFont font;
+	//Keeps every screen once it has been shown, so going back to it doesn't load anything
+	public ScreenManager screens;
+	//How many times a second the game simulation is stepped, independent of the frame rate
+	public final int tickRate;
+	//Results of every completed week, kept between runs
+	public SessionHistory history;
+	//Saved weeks in progress, so the player can carry on after closing the game
+	public SaveStore saves;
+	//Records the input of each week played, or null if the game isn't being recorded
+	public InputRecorder recorder;
+	//Times the phases of each frame, turned on with F3 or the desktop launcher's "--profile" option
+	public final FrameProfiler profiler = new FrameProfiler();
+	//Number of students wandering around the campus, and what steps them each tick. Disposed with the game
+	public int crowdSize = NpcCrowd.DEFAULT_SIZE;
+	public TaskRunner tasks = TaskRunner.SERIAL;
+
+	/**
+	 * Creates the game with the default tick rate.
+	 */
+	public HesHustle() {
+		this(DEFAULT_TICK_RATE);
+	}
+
+	/**
+	 * Creates the game.
+	 * @param tickRate How many times a second the game simulation is stepped.
+	 */
+	public HesHustle(int tickRate) {
+		this(tickRate, null, null);
+	}
 
 	/**
-	 * Create sprite batch and font for the game
+	 * Creates the game.
+	 * @param tickRate How many times a second the game simulation is stepped.
+	 * @param history Where completed weeks are stored, or null to store them in the game's preferences.
+	 * @param saves Where weeks in progress are saved, or null to save them in the game's preferences.
+	 */
+	public HesHustle(int tickRate, SessionHistory history, SaveStore saves) {
+		this.tickRate = tickRate;
+		this.history = history;
+		this.saves = saves;
+	}
+
+	/**
+	 * Open the session history and saves, create sprite batch and font for the game, then start loading the assets of the other screens in the
+	 * background while the main menu is shown
 	 */
 	@Override
 	public void create() {
-		batch = new SpriteBatch();
-		font = new BitmapFont();
-		this.setScreen(new MainMenuScreen(this));
+		if (history == null) {
+			history = new PreferencesSessionHistory();
+		}
+		if (saves == null) {
+			saves = new PreferencesSaveStore();
+		}
+		batch = new DistanceFieldBatch();
+		font = AssetRegistry.getInstance().font(1f);
+		screens = new ScreenManager(this);
+		screens.showMainMenu();
+
+		//Screens the player can reach soonest are loaded first
+		AssetRegistry assets = AssetRegistry.getInstance();
+		assets.prefetch(CharacterSelectScreen.getAssetDependencies());
+		assets.prefetch(CreditsScreen.getAssetDependencies());
+		assets.prefetch(GameScreen.getAssetDependencies());
 	}
 
+	/**
+	 * Continue loading prefetched assets, then render the current screen
+	 */
 	@Override
 	public void render() {
+		AssetRegistry.getInstance().updatePrefetch();
 		super.render();
 	}
 
+	/**
+	 * Hide the current screen and dispose every screen, then release everything shared between screens and close the
+	 * session history and saves, and stop the task runner
+	 */
 	@Override
 	public void dispose() {
+		super.dispose();
+		screens.dispose();
 		batch.dispose();
+		history.dispose();
+		saves.dispose();
+		tasks.dispose();
+		AssetRegistry.getInstance().dispose();
 	}
 
 	public static void main(String[] arg) {
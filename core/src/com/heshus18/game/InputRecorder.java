@@ -0,0 +1,137 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Records the input of every tick of a week, so the week can be played back exactly with {@link InputReplay}, e.g. to
+ * reproduce a bug or as a repeatable workload for measuring performance.
+ * Input rarely changes from one tick to the next, so it is stored as runs: each input that differs from the tick before
+ * is written once, followed by how many ticks it lasted. A recording starts with the tick rate and a snapshot of the
+ * week it started from, and ends with a snapshot of where the week got to, which the replay is checked against.
+ * Since version 2 each run's buttons are a variable length number, as there are more buttons than fit in a byte
+ * alongside the end marker.
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x48484952;
+    static final int VERSION = 2;
+    //Written instead of a run's buttons after the last run
+    static final int END = TickInput.ALL + 1;
+    //What marked the end in version 1 recordings, whose buttons were a single byte
+    static final int VERSION_1_END = 0xFF;
+
+    private final FileHandle file;
+    private final ByteArrayOutputStream bytes;
+    private final DataOutputStream out;
+    private final TickInput run;
+    private int runTicks;
+    private boolean recording;
+
+    /**
+     * Creates a recorder that writes each recording to a file, replacing the recording before it.
+     *
+     * @param file The file to write to.
+     */
+    public InputRecorder(FileHandle file) {
+        this.file = file;
+        bytes = new ByteArrayOutputStream(4096);
+        out = new DataOutputStream(bytes);
+        run = new TickInput();
+    }
+
+    /**
+     * Starts recording a week.
+     *
+     * @param tickRate How many times a second the game simulation is stepped.
+     * @param start    The state of the week when recording starts.
+     */
+    public void begin(int tickRate, WeekSnapshot start) {
+        bytes.reset();
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeShort(tickRate);
+            writeSnapshot(start);
+        } catch (IOException e) {
+            //Never thrown when writing to memory
+            throw new IllegalStateException(e);
+        }
+        run.set(0, 0, 0);
+        runTicks = 0;
+        recording = true;
+    }
+
+    /**
+     * Records the input of the next tick.
+     *
+     * @param input The input the tick was given.
+     */
+    public void record(TickInput input) {
+        if (!recording) return;
+        if (runTicks > 0 && !input.sameAs(run)) {
+            writeRun();
+        }
+        if (runTicks == 0) {
+            run.set(input);
+        }
+        runTicks++;
+    }
+
+    /**
+     * Finishes the recording and writes it to the file.
+     *
+     * @param end The state of the week when recording stops.
+     */
+    public void finish(WeekSnapshot end) {
+        if (!recording) return;
+        recording = false;
+        try {
+            if (runTicks > 0) {
+                writeRun();
+            }
+            writeVarInt(out, END);
+            writeSnapshot(end);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        file.writeBytes(bytes.toByteArray(), false);
+        Gdx.app.log("InputRecorder", "Recorded " + bytes.size() + " bytes to " + file.path());
+    }
+
+    private void writeRun() {
+        try {
+            writeVarInt(out, run.getButtons());
+            if (run.isDown(TickInput.TOUCH)) {
+                out.writeFloat(run.getTouchX());
+                out.writeFloat(run.getTouchY());
+            }
+            if (run.isDown(TickInput.MOVE_TO)) {
+                out.writeFloat(run.getTargetX());
+                out.writeFloat(run.getTargetY());
+            }
+            writeVarInt(out, runTicks);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        runTicks = 0;
+    }
+
+    private void writeSnapshot(WeekSnapshot snapshot) throws IOException {
+        byte[] data = snapshot.toBytes();
+        writeVarInt(out, data.length);
+        out.write(data);
+    }
+
+    //Writes a positive number in 7-bit groups, lowest first, so short runs take a single byte
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,182 @@
+package com.heshus18.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Plays back a recording made by {@link InputRecorder}, giving each tick the input it was recorded with. The frames of
+ * the replay don't need to match the frames of the recording, only the ticks.
+ */
+public class InputReplay implements InputSource {
+    private final int tickRate;
+    private final WeekSnapshot start, end;
+    private final int[] runButtons;
+    private final float[] runTouchX, runTouchY, runTargetX, runTargetY;
+    private final int[] runTicks;
+    private final int runs;
+    private final long ticks;
+    private int run;
+    private int tickInRun;
+
+    /**
+     * Reads a recording.
+     *
+     * @param data The bytes of the recording.
+     * @throws IOException If the bytes aren't a recording, are cut short, or are from a newer version of the game.
+     */
+    public InputReplay(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != 1 && version != InputRecorder.VERSION) {
+            throw new IOException("Input recording has unknown version " + version);
+        }
+        tickRate = in.readUnsignedShort();
+        start = readSnapshot(in);
+
+        //Runs are read into arrays up front, so playing them back doesn't allocate
+        int capacity = 64;
+        int[] buttons = new int[capacity];
+        float[] touchX = new float[capacity], touchY = new float[capacity];
+        float[] targetX = new float[capacity], targetY = new float[capacity];
+        int[] lengths = new int[capacity];
+        int count = 0;
+        long total = 0;
+        int end = version == 1 ? InputRecorder.VERSION_1_END : InputRecorder.END;
+        int state;
+        while ((state = version == 1 ? in.readUnsignedByte() : readVarInt(in)) != end) {
+            if ((state & ~TickInput.ALL) != 0) {
+                throw new IOException("Input recording is damaged");
+            }
+            if (count == capacity) {
+                capacity *= 2;
+                buttons = copyOf(buttons, capacity);
+                touchX = copyOf(touchX, capacity);
+                touchY = copyOf(touchY, capacity);
+                targetX = copyOf(targetX, capacity);
+                targetY = copyOf(targetY, capacity);
+                lengths = copyOf(lengths, capacity);
+            }
+            buttons[count] = state;
+            if ((state & TickInput.TOUCH) != 0) {
+                touchX[count] = in.readFloat();
+                touchY[count] = in.readFloat();
+            }
+            if ((state & TickInput.MOVE_TO) != 0) {
+                targetX[count] = in.readFloat();
+                targetY[count] = in.readFloat();
+            }
+            lengths[count] = readVarInt(in);
+            total += lengths[count];
+            count++;
+        }
+        this.end = readSnapshot(in);
+        runButtons = buttons;
+        runTouchX = touchX;
+        runTouchY = touchY;
+        runTargetX = targetX;
+        runTargetY = targetY;
+        runTicks = lengths;
+        runs = count;
+        ticks = total;
+    }
+
+    private static WeekSnapshot readSnapshot(DataInputStream in) throws IOException {
+        byte[] data = new byte[readVarInt(in)];
+        in.readFully(data);
+        return WeekSnapshot.fromBytes(data);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Input recording is damaged");
+    }
+
+    private static float[] copyOf(float[] array, int length) {
+        float[] copy = new float[length];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+
+    @Override
+    public void poll() {
+    }
+
+    /**
+     * Gets the recorded input for the next tick, or no input once the recording has finished.
+     *
+     * @param input The input to fill in.
+     */
+    @Override
+    public void next(TickInput input) {
+        if (run == runs) {
+            input.set(0, 0, 0);
+            return;
+        }
+        input.set(runButtons[run], runTouchX[run], runTouchY[run], runTargetX[run], runTargetY[run]);
+        tickInRun++;
+        if (tickInRun == runTicks[run]) {
+            run++;
+            tickInRun = 0;
+        }
+    }
+
+    /**
+     * Checks if every recorded tick has been played back.
+     *
+     * @return True if the replay has finished.
+     */
+    public boolean isFinished() {
+        return run == runs;
+    }
+
+    /**
+     * Gets how many times a second the game simulation was stepped when the recording was made.
+     *
+     * @return The tick rate.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Gets the number of ticks recorded.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the state of the week when the recording started, which the replay should start from.
+     *
+     * @return The starting state.
+     */
+    public WeekSnapshot getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the state of the week when the recording stopped, which the replay should end at.
+     *
+     * @return The recorded end state.
+     */
+    public WeekSnapshot getEnd() {
+        return end;
+    }
+}
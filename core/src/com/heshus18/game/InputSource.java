@@ -0,0 +1,20 @@
+package com.heshus18.game;
+
+/**
+ * Where the game simulation gets its input from each tick, e.g. the keyboard and mouse, or a recording being played
+ * back.
+ */
+public interface InputSource {
+    /**
+     * Reads input that only lasts for a single frame, so it can be used by the next tick. Called once every frame,
+     * before the frame's ticks.
+     */
+    void poll();
+
+    /**
+     * Gets the input for the next tick.
+     *
+     * @param input The input to fill in.
+     */
+    void next(TickInput input);
+}
@@ -0,0 +1,20 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Marks an entity whose box can be interacted with to do an activity, e.g. a building.
+ */
+public class InteractableComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<InteractableComponent> MAPPER = ComponentMapper.getFor(InteractableComponent.class);
+
+    //Id of the activity in the catalogue
+    public int activity;
+
+    @Override
+    public void reset() {
+        activity = 0;
+    }
+}
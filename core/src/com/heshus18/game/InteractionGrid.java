@@ -0,0 +1,61 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Grid baked from the boxes of the world's interactables.
+ * Each cell stores the id of the activity whose interactable covers it, so finding what the player can interact with
+ * is a lookup of the cells under the player instead of checking every interactable on the map.
+ */
+public class InteractionGrid extends MapGrid {
+    //Activity id + 1 per cell, row by row. 0 means nothing to interact with.
+    private final short[] cells;
+    private final IntArray activities;
+
+    /**
+     * Creates an interaction grid from the boxes of interactables and their activities.
+     *
+     * @param boxes      The boxes of the interactables.
+     * @param activities The id of each box's activity, in the same order as the boxes.
+     * @param mapWidth   The width of the map in world units.
+     * @param mapHeight  The height of the map in world units.
+     * @param cellSize   The width and height of a single grid cell in world units.
+     */
+    public InteractionGrid(Array<Rectangle> boxes, IntArray activities, float mapWidth, float mapHeight,
+                           float cellSize) {
+        super(boxes, mapWidth, mapHeight, cellSize);
+        this.activities = activities;
+        cells = new short[columns * rows];
+        fill(boxes);
+    }
+
+    @Override
+    protected void fillCell(int index, int box) {
+        cells[index] = (short) (activities.get(box) + 1);
+    }
+
+    /**
+     * Finds the activity of an interactive object under an area.
+     *
+     * @param x      The x coordinate of the area in world units.
+     * @param y      The y coordinate of the area in world units.
+     * @param width  The width of the area.
+     * @param height The height of the area.
+     * @return The id of the first activity found under the area, or -1 if there is nothing to interact with.
+     */
+    public int activityAt(float x, float y, float width, float height) {
+        int startColumn = Math.max(column(x), 0);
+        int endColumn = Math.min(column(x + width), columns - 1);
+        int startRow = Math.max(row(y), 0);
+        int endRow = Math.min(row(y + height), rows - 1);
+        for (int r = startRow; r <= endRow; r++) {
+            for (int c = startColumn; c <= endColumn; c++) {
+                int activity = cells[r * columns + c];
+                if (activity != 0) return activity - 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,132 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Finds the interactable each interactor is next to, and shows the activity's prompt pop-up when it interacts.
+ * The interactables are baked into an {@link InteractionGrid}, so finding one doesn't depend on how many there are.
+ * The grid is baked when the system is added to the engine, and again before the next tick whenever an
+ * interactable is added or removed.
+ */
+public class InteractionSystem extends IteratingSystem {
+    private static final Family INTERACTABLES = Family.all(PositionComponent.class, BodyComponent.class,
+            InteractableComponent.class).get();
+
+    private final ActivityCatalogue activities;
+    private final PopUpManager popUpManager;
+    private final float mapWidth, mapHeight, cellSize;
+    private ImmutableArray<Entity> interactables;
+    private InteractionGrid grid;
+    private boolean changed, enabled = true;
+    private final EntityListener interactableListener = new EntityListener() {
+        @Override
+        public void entityAdded(Entity entity) {
+            changed = true;
+        }
+
+        @Override
+        public void entityRemoved(Entity entity) {
+            changed = true;
+        }
+    };
+
+    /**
+     * Creates the system.
+     *
+     * @param activities   The catalogue of the interactables' activities.
+     * @param popUpManager The pop-ups the activities' prompts are shown with.
+     * @param mapWidth     The width of the map in world units.
+     * @param mapHeight    The height of the map in world units.
+     * @param cellSize     The width and height of a cell of the interaction grid in world units.
+     * @param priority     The order the system runs in, lowest first.
+     */
+    public InteractionSystem(ActivityCatalogue activities, PopUpManager popUpManager, float mapWidth, float mapHeight,
+                             float cellSize, int priority) {
+        super(Family.all(PositionComponent.class, BodyComponent.class, InteractorComponent.class).get(), priority);
+        this.activities = activities;
+        this.popUpManager = popUpManager;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Sets whether interactors can find and interact with interactables, e.g. not while a pop-up is visible.
+     *
+     * @param enabled False to leave every interactor next to nothing.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        super.addedToEngine(engine);
+        interactables = engine.getEntitiesFor(INTERACTABLES);
+        engine.addEntityListener(INTERACTABLES, interactableListener);
+        bake();
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        super.removedFromEngine(engine);
+        engine.removeEntityListener(interactableListener);
+        interactables = null;
+        grid = null;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (changed) {
+            bake();
+        }
+        super.update(deltaTime);
+    }
+
+    //Bakes the interactables into a new grid
+    private void bake() {
+        Array<Rectangle> boxes = new Array<Rectangle>(interactables.size());
+        IntArray ids = new IntArray(interactables.size());
+        for (Entity interactable : interactables) {
+            PositionComponent position = PositionComponent.MAPPER.get(interactable);
+            BodyComponent body = BodyComponent.MAPPER.get(interactable);
+            boxes.add(new Rectangle(position.x, position.y, body.width, body.height));
+            ids.add(InteractableComponent.MAPPER.get(interactable).activity);
+        }
+        grid = new InteractionGrid(boxes, ids, mapWidth, mapHeight, cellSize);
+        changed = false;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        InteractorComponent interactor = InteractorComponent.MAPPER.get(entity);
+        if (!enabled) {
+            interactor.nearbyActivity = -1;
+            return;
+        }
+
+        //Interact box is reach larger than the entity's box
+        PositionComponent position = PositionComponent.MAPPER.get(entity);
+        BodyComponent body = BodyComponent.MAPPER.get(entity);
+        int activity = grid.activityAt(position.x - interactor.reach / 2, position.y - interactor.reach / 2,
+                body.width + interactor.reach, body.height + interactor.reach);
+        interactor.nearbyActivity = activity;
+
+        //Show the activity's pop-up, and stop walking if the entity is animated
+        if (activity != -1 && interactor.interacting) {
+            AnimationComponent animation = AnimationComponent.MAPPER.get(entity);
+            if (animation != null) {
+                PlayerControlSystem.stopWalking(animation);
+            }
+            popUpManager.showPopUp(activities.get(activity).getPromptPopUpId());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Lets an entity find and interact with the interactables next to its box.
+ */
+public class InteractorComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<InteractorComponent> MAPPER = ComponentMapper.getFor(InteractorComponent.class);
+
+    //How much larger than the entity's box the area it can interact with is, in world units
+    public float reach;
+    //Whether the entity is trying to interact this tick
+    public boolean interacting;
+    //Activity of the interactable the entity was next to at the last tick, or -1
+    public int nearbyActivity = -1;
+
+    @Override
+    public void reset() {
+        reach = 0;
+        interacting = false;
+        nearbyActivity = -1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Shown after choosing a character or continuing a saved week if the game's assets are still being loaded in the
+ * background.
+ * Shows the loading progress, then starts the game once everything has loaded.
+ */
+public class LoadingScreen implements Screen {
+    final HesHustle game;
+    OrthographicCamera camera;
+    SpriteBatch batch;
+    BitmapFont font;
+
+    private String spriteChoice;
+    //The week to carry on, or null to start a new one
+    private WeekSnapshot saved;
+    private final StringBuilder progressLabel;
+    private int shownPercent;
+
+    /**
+     * Constructs the loading screen.
+     *
+     * @param game The game instance this screen is a part of.
+     */
+    public LoadingScreen(HesHustle game) {
+        this.game = game;
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, 800, 480);
+        batch = game.batch;
+        font = AssetRegistry.getInstance().font(2f);
+        progressLabel = new StringBuilder("Loading... 0%");
+    }
+
+    /**
+     * Sets the week to start once loading is done.
+     *
+     * @param spriteChoice The sprite sheet of the chosen character.
+     * @param saved        The saved week to carry on, or null to start a new one.
+     */
+    public void setWeek(String spriteChoice, WeekSnapshot saved) {
+        this.spriteChoice = spriteChoice;
+        this.saved = saved;
+    }
+
+    @Override
+    public void show() {}
+
+    /**
+     * Draws the loading progress, and starts the game once every asset has loaded.
+     * The assets are loaded by {@link HesHustle#render()} before this is called.
+     * @param delta The time in seconds since the last render.
+     */
+    @Override
+    public void render(float delta) {
+        if (AssetRegistry.getInstance().isPrefetchFinished()) {
+            if (saved != null) {
+                game.screens.continueWeek(saved);
+            } else {
+                game.screens.startWeek(spriteChoice);
+            }
+            return;
+        }
+
+        //Only rebuild the label when the percentage changes
+        int percent = (int) (AssetRegistry.getInstance().getProgress() * 100);
+        if (percent != shownPercent) {
+            shownPercent = percent;
+            progressLabel.setLength(0);
+            progressLabel.append("Loading... ").append(percent).append('%');
+        }
+
+        ScreenUtils.clear(0.3765f, 0.4588f, 0.5882f, 1);
+        camera.update();
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        font.draw(batch, progressLabel, 300, 250);
+        batch.end();
+    }
+
+    /**
+     * Allows the game window to be resized by the player.
+     * @param width Width of the game window.
+     * @param height Height of the game Window.
+     */
+    @Override
+    public void resize(int width, int height) {
+        camera.viewportWidth = width;
+        camera.viewportHeight = height;
+        camera.update();
+    }
+
+    /**
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
+     */
+    @Override
+    public void dispose() {
+        AssetRegistry.getInstance().releaseFont(font);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+}
@@ -3,23 +3,33 @@ package com.heshus18.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 /**
- * The main menu screen of the game, allowing the player to start or exit the game.
- * It handles the rendering and interaction with the start and exit buttons.
+ * The main menu screen of the game, allowing the player to start or exit the game, or carry on the week they were
+ * playing when they last closed it.
+ * It handles the rendering and interaction with the continue, start and exit buttons.
  */
 public class MainMenuScreen implements Screen {
     final HesHustle game;
     OrthographicCamera camera;
     SpriteBatch batch;
+    Vector3 touchPos;
 
-    private final Texture startGameButtonTexture, exitButtonTexture, creditButtonTexture;
-    private final Rectangle startGameButtonBounds, exitButtonBounds, creditButtonBounds;
+    private final TextureRegion startGameButtonTexture, exitButtonTexture, creditButtonTexture;
+    private final Rectangle startGameButtonBounds, exitButtonBounds, creditButtonBounds, continueButtonBounds;
+    //The autosaved week, or null if there isn't one, loaded when the menu is shown so continuing doesn't wait for the
+    //disk
+    private WeekSnapshot saved;
+    private final BitmapFont font;
+    private final GlyphLayout continueLayout;
+    private final Time savedTime;
 
     /**
      * Constructs the main menu screen with references to the game instance, and initializes UI components.
@@ -28,15 +38,16 @@ public class MainMenuScreen implements Screen {
      */
     public MainMenuScreen(final HesHustle game) {
         this.game = game;
-        //Create camera and sprite batch
+        //Create camera, and use the game's batch for drawing
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
-        batch = new SpriteBatch();
+        batch = game.batch;
+        touchPos = new Vector3();
 
         //Load textures for menu buttons
-        startGameButtonTexture = new Texture(Gdx.files.internal("startButton.png"));
-        exitButtonTexture = new Texture(Gdx.files.internal("exitButton.png"));
-        creditButtonTexture = new Texture(Gdx.files.internal("creditsButton.png"));
+        startGameButtonTexture = AssetRegistry.getInstance().region("startButton.png");
+        exitButtonTexture = AssetRegistry.getInstance().region("exitButton.png");
+        creditButtonTexture = AssetRegistry.getInstance().region("creditsButton.png");
 
         //Initialise button position variables
         float buttonWidth = 300;
@@ -51,10 +62,26 @@ public class MainMenuScreen implements Screen {
         startGameButtonBounds = new Rectangle(posX, startYPos, buttonWidth, buttonHeight);
         exitButtonBounds = new Rectangle(posX, exitYPos, buttonWidth, buttonHeight);
         creditButtonBounds = new Rectangle(posX, creditYPos, buttonWidth, buttonHeight);
+
+        //Offer to carry on the autosaved week, above the start button
+        font = AssetRegistry.getInstance().font(1.5f);
+        continueLayout = new GlyphLayout();
+        savedTime = new Time();
+        continueButtonBounds = new Rectangle(posX, startYPos + buttonHeight + padding, buttonWidth, buttonHeight);
     }
 
+    /**
+     * Loads the autosaved week each time the menu is shown, as a week may have been played or finished since it was
+     * last shown.
+     */
     @Override
-    public void show() {}
+    public void show() {
+        saved = game.saves.load(SaveStore.AUTOSAVE_SLOT);
+        if (saved != null) {
+            savedTime.setMinuteOfWeek(saved.getMinuteOfWeek());
+            continueLayout.setText(font, "Continue - " + savedTime.getTime());
+        }
+    }
 
     /**
      * Draws the required components to the screen.
@@ -69,24 +96,27 @@ public class MainMenuScreen implements Screen {
 
         //Draw button textures onto button boxes
         batch.begin();
-        batch.draw(startGameButtonTexture, startGameButtonBounds.x, startGameButtonBounds.y, startGameButtonBounds.width, startGameButtonBounds.height);
-        batch.draw(creditButtonTexture, creditButtonBounds.x, creditButtonBounds.y, creditButtonBounds.width, creditButtonBounds.height);
-        batch.draw(exitButtonTexture, exitButtonBounds.x, exitButtonBounds.y, exitButtonBounds.width, exitButtonBounds.height);
+        RenderQueue.drawRegion(batch, startGameButtonTexture, startGameButtonBounds.x, startGameButtonBounds.y, startGameButtonBounds.width, startGameButtonBounds.height);
+        RenderQueue.drawRegion(batch, creditButtonTexture, creditButtonBounds.x, creditButtonBounds.y, creditButtonBounds.width, creditButtonBounds.height);
+        RenderQueue.drawRegion(batch, exitButtonTexture, exitButtonBounds.x, exitButtonBounds.y, exitButtonBounds.width, exitButtonBounds.height);
+        if (saved != null) {
+            font.draw(batch, continueLayout, continueButtonBounds.x + (continueButtonBounds.width - continueLayout.width) / 2,
+                    continueButtonBounds.y + (continueButtonBounds.height + continueLayout.height) / 2);
+        }
         batch.end();
 
         //Detect button presses for each button, and send to corresponding screen
         if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+            touchPos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
             camera.unproject(touchPos);
 
-            if (startGameButtonBounds.contains(touchPos.x, touchPos.y)) {
-                game.setScreen(new CharacterSelectScreen(game));
-                dispose();
+            if (saved != null && continueButtonBounds.contains(touchPos.x, touchPos.y)) {
+                game.screens.continueWeek(saved);
+            } else if (startGameButtonBounds.contains(touchPos.x, touchPos.y)) {
+                game.screens.showCharacterSelect();
             } else if (creditButtonBounds.contains(touchPos.x, touchPos.y)) {
-                game.setScreen(new CreditsScreen(game));
-                dispose();
+                game.screens.showCredits();
             } else if (exitButtonBounds.contains(touchPos.x, touchPos.y)) {
-                dispose();
                 Gdx.app.exit();
             }
         }
@@ -105,14 +135,14 @@ public class MainMenuScreen implements Screen {
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Disposes all loaded assets from memory after closing the game. The batch belongs to the game.
      */
     @Override
     public void dispose() {
-        batch.dispose();
-        startGameButtonTexture.dispose();
-        exitButtonTexture.dispose();
-        creditButtonTexture.dispose();
+        AssetRegistry.getInstance().releaseRegion("startButton.png");
+        AssetRegistry.getInstance().releaseRegion("exitButton.png");
+        AssetRegistry.getInstance().releaseRegion("creditsButton.png");
+        AssetRegistry.getInstance().releaseFont(font);
     }
 
     @Override
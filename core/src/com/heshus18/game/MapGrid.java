@@ -0,0 +1,95 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Base class for grids that are baked from the boxes of the world's colliders or interactables, see {@link GameWorld}.
+ * The map is split into square cells, so looking up what is under an area only looks at the cells under that area
+ * instead of every box on the map.
+ */
+public abstract class MapGrid {
+    protected final float originX, originY, cellSize;
+    protected final int columns, rows;
+
+    /**
+     * Sets up a grid covering the map and every box.
+     *
+     * @param boxes     The boxes the grid is built from.
+     * @param mapWidth  The width of the map in world units.
+     * @param mapHeight The height of the map in world units.
+     * @param cellSize  The width and height of a single grid cell in world units.
+     */
+    protected MapGrid(Array<Rectangle> boxes, float mapWidth, float mapHeight, float cellSize) {
+        this.cellSize = cellSize;
+
+        //Grid covers the map and any boxes that stick out past its edges (e.g. the walls)
+        float minX = 0, minY = 0, maxX = mapWidth, maxY = mapHeight;
+        for (Rectangle box : boxes) {
+            minX = Math.min(minX, box.x);
+            minY = Math.min(minY, box.y);
+            maxX = Math.max(maxX, box.x + box.width);
+            maxY = Math.max(maxY, box.y + box.height);
+        }
+        originX = (float) Math.floor(minX / cellSize) * cellSize;
+        originY = (float) Math.floor(minY / cellSize) * cellSize;
+        columns = (int) Math.ceil((maxX - originX) / cellSize);
+        rows = (int) Math.ceil((maxY - originY) / cellSize);
+    }
+
+    /**
+     * Calls {@link #fillCell(int, int)} for every cell that a box overlaps.
+     *
+     * @param boxes The boxes to rasterise into the grid.
+     */
+    protected void fill(Array<Rectangle> boxes) {
+        for (int i = 0; i < boxes.size; i++) {
+            Rectangle box = boxes.get(i);
+            int startColumn = Math.max(column(box.x), 0);
+            int endColumn = Math.min((int) Math.ceil((box.x + box.width - originX) / cellSize) - 1, columns - 1);
+            int startRow = Math.max(row(box.y), 0);
+            int endRow = Math.min((int) Math.ceil((box.y + box.height - originY) / cellSize) - 1, rows - 1);
+            for (int r = startRow; r <= endRow; r++) {
+                for (int c = startColumn; c <= endColumn; c++) {
+                    fillCell(r * columns + c, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks a single cell as covered by a box.
+     *
+     * @param index The index of the cell, row by row.
+     * @param box   The index of the box covering the cell.
+     */
+    protected abstract void fillCell(int index, int box);
+
+    protected int column(float x) {
+        return (int) Math.floor((x - originX) / cellSize);
+    }
+
+    protected int row(float y) {
+        return (int) Math.floor((y - originY) / cellSize);
+    }
+
+    public float getOriginX() {
+        return originX;
+    }
+
+    public float getOriginY() {
+        return originY;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,48 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Which way an entity is trying to move, and which of those ways are blocked by colliders.
+ */
+public class MovementComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<MovementComponent> MAPPER = ComponentMapper.getFor(MovementComponent.class);
+
+    //World units a second
+    public float speed;
+    //Directions the entity is moving in, set before collision is checked
+    public boolean up, down, left, right;
+    //Directions a collider is right next to the entity's box, set by the collision system
+    public boolean blockedUp, blockedDown, blockedLeft, blockedRight;
+
+    /**
+     * Checks if the entity is trying to move in any direction.
+     *
+     * @return True if any direction is set.
+     */
+    public boolean isMoving() {
+        return up || down || left || right;
+    }
+
+    /**
+     * Stops the entity trying to move.
+     */
+    public void stop() {
+        up = false;
+        down = false;
+        left = false;
+        right = false;
+    }
+
+    @Override
+    public void reset() {
+        speed = 0;
+        stop();
+        blockedUp = false;
+        blockedDown = false;
+        blockedLeft = false;
+        blockedRight = false;
+    }
+}
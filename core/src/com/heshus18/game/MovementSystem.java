@@ -0,0 +1,34 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+
+/**
+ * Moves each moving entity in the directions it is moving in, unless a collider blocks that direction. Runs last
+ * each tick, once the collision system has checked where the entity is.
+ */
+public class MovementSystem extends IteratingSystem {
+    /**
+     * Creates the system.
+     *
+     * @param priority The order the system runs in, lowest first.
+     */
+    public MovementSystem(int priority) {
+        super(Family.all(PositionComponent.class, MovementComponent.class).get(), priority);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        PositionComponent position = PositionComponent.MAPPER.get(entity);
+        MovementComponent movement = MovementComponent.MAPPER.get(entity);
+        position.previousX = position.x;
+        position.previousY = position.y;
+
+        //Allow entity to move if no collision in corresponding directions
+        if (movement.right && !movement.blockedRight) position.x += deltaTime * movement.speed;
+        if (movement.up && !movement.blockedUp) position.y += deltaTime * movement.speed;
+        if (movement.left && !movement.blockedLeft) position.x -= deltaTime * movement.speed;
+        if (movement.down && !movement.blockedDown) position.y -= deltaTime * movement.speed;
+    }
+}
@@ -0,0 +1,258 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Graph of where an entity of a given size can walk, for gdx-ai's pathfinders, baked from a {@link CollisionGrid}.
+ * The map is split into square nodes, usually one per tile. A node can be walked on if the entity's box fits centred
+ * on it without touching a collider, and each node is connected to the nodes around it, diagonals included, if the box
+ * can slide from one to the other without touching one either. Everything is worked out when the graph is built, so
+ * searching it only reads arrays that already exist. Walkable nodes are also split into areas that can't be walked
+ * between, so a route that doesn't exist is found not to straight away, rather than by searching every node.
+ */
+public class NavigationGraph implements IndexedGraph<NavigationGraph.Node> {
+    //How many nodes away from a point the nearest walkable node is looked for
+    private static final int SNAP_DISTANCE = 3;
+    private static final float DIAGONAL = (float) Math.sqrt(2);
+
+    /**
+     * A square of the map.
+     */
+    public static class Node {
+        final int index, column, row;
+        final boolean walkable;
+        //Nodes can reach each other only if they are in the same area, numbered from 0, or -1 if not walkable
+        int area = -1;
+        final Array<Connection<Node>> connections = new Array<Connection<Node>>(false, 8);
+
+        Node(int index, int column, int row, boolean walkable) {
+            this.index = index;
+            this.column = column;
+            this.row = row;
+            this.walkable = walkable;
+        }
+    }
+
+    //A step from one node to the next, costing the distance between their centres in nodes
+    private static class Step implements Connection<Node> {
+        private final Node from, to;
+        private final float cost;
+
+        Step(Node from, Node to, float cost) {
+            this.from = from;
+            this.to = to;
+            this.cost = cost;
+        }
+
+        @Override
+        public float getCost() {
+            return cost;
+        }
+
+        @Override
+        public Node getFromNode() {
+            return from;
+        }
+
+        @Override
+        public Node getToNode() {
+            return to;
+        }
+    }
+
+    //The distance between two nodes if nothing was in the way, walking diagonally then straight
+    private final Heuristic<Node> heuristic = new Heuristic<Node>() {
+        @Override
+        public float estimate(Node node, Node endNode) {
+            int dx = Math.abs(node.column - endNode.column), dy = Math.abs(node.row - endNode.row);
+            return Math.max(dx, dy) + (DIAGONAL - 1) * Math.min(dx, dy);
+        }
+    };
+
+    private final CollisionGrid grid;
+    private final float nodeSize;
+    private final int columns, rows;
+    private final Node[] nodes;
+
+    /**
+     * Builds the graph.
+     *
+     * @param grid        The collision grid the colliders are baked into.
+     * @param mapWidth    The width of the map in world units.
+     * @param mapHeight   The height of the map in world units.
+     * @param nodeSize    The width and height of a node in world units.
+     * @param agentWidth  The width of the box that has to fit, in world units.
+     * @param agentHeight The height of the box that has to fit, in world units.
+     */
+    public NavigationGraph(CollisionGrid grid, float mapWidth, float mapHeight, float nodeSize, float agentWidth,
+                           float agentHeight) {
+        this.grid = grid;
+        this.nodeSize = nodeSize;
+        columns = Math.max(1, (int) (mapWidth / nodeSize));
+        rows = Math.max(1, (int) (mapHeight / nodeSize));
+        nodes = new Node[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                float x = centreX(column) - agentWidth / 2, y = centreY(row) - agentHeight / 2;
+                boolean walkable = x >= 0 && y >= 0 && x + agentWidth <= mapWidth && y + agentHeight <= mapHeight
+                        && !grid.isBlocked(x, y, agentWidth, agentHeight);
+                nodes[row * columns + column] = new Node(row * columns + column, column, row, walkable);
+            }
+        }
+
+        //Connect each walkable node to the walkable nodes around it that the box can slide to, checking the whole
+        //area the box passes over
+        for (Node node : nodes) {
+            if (!node.walkable) continue;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int column = node.column + dx, row = node.row + dy;
+                    if ((dx == 0 && dy == 0) || column < 0 || row < 0 || column >= columns || row >= rows) continue;
+                    Node next = nodes[row * columns + column];
+                    if (!next.walkable) continue;
+                    float x = centreX(Math.min(node.column, column)) - agentWidth / 2;
+                    float y = centreY(Math.min(node.row, row)) - agentHeight / 2;
+                    if (grid.isBlocked(x, y, agentWidth + Math.abs(dx) * nodeSize,
+                            agentHeight + Math.abs(dy) * nodeSize)) continue;
+                    node.connections.add(new Step(node, next, dx != 0 && dy != 0 ? DIAGONAL : 1));
+                }
+            }
+        }
+
+        //Flood fill each area from the first of its nodes. Steps are the same both ways, so an area reached from any
+        //of its nodes is the same
+        int areas = 0;
+        int[] queue = new int[nodes.length];
+        for (Node node : nodes) {
+            if (!node.walkable || node.area != -1) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = node.index;
+            node.area = areas;
+            while (head < tail) {
+                Array<Connection<Node>> connections = nodes[queue[head++]].connections;
+                for (int i = 0; i < connections.size; i++) {
+                    Node next = connections.get(i).getToNode();
+                    if (next.area == -1) {
+                        next.area = areas;
+                        queue[tail++] = next.index;
+                    }
+                }
+            }
+            areas++;
+        }
+    }
+
+    @Override
+    public int getIndex(Node node) {
+        return node.index;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public Array<Connection<Node>> getConnections(Node fromNode) {
+        return fromNode.connections;
+    }
+
+    /**
+     * Gets the walkable node closest to a point, looking a few nodes around the node the point is in.
+     *
+     * @param x The x coordinate of the point in world units.
+     * @param y The y coordinate of the point in world units.
+     * @return The node, or null if there isn't a walkable node nearby.
+     */
+    public Node nearestWalkable(float x, float y) {
+        int column = Math.min(Math.max((int) Math.floor(x / nodeSize), 0), columns - 1);
+        int row = Math.min(Math.max((int) Math.floor(y / nodeSize), 0), rows - 1);
+        Node nearest = null;
+        float nearestDistance = Float.MAX_VALUE;
+        int startColumn = Math.max(0, column - SNAP_DISTANCE);
+        int endColumn = Math.min(columns - 1, column + SNAP_DISTANCE);
+        int startRow = Math.max(0, row - SNAP_DISTANCE);
+        int endRow = Math.min(rows - 1, row + SNAP_DISTANCE);
+        for (int r = startRow; r <= endRow; r++) {
+            for (int c = startColumn; c <= endColumn; c++) {
+                Node node = nodes[r * columns + c];
+                if (!node.walkable) continue;
+                float dx = centreX(c) - x, dy = centreY(r) - y;
+                float distance = dx * dx + dy * dy;
+                if (distance < nearestDistance) {
+                    nearest = node;
+                    nearestDistance = distance;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Checks if there is a route between two walkable nodes.
+     *
+     * @param from The node to start from.
+     * @param to   The node to walk to.
+     * @return True if they are in the same area.
+     */
+    public boolean connected(Node from, Node to) {
+        return from.area == to.area;
+    }
+
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Gets the x coordinate of the centre of a column of nodes.
+     *
+     * @param column The column.
+     * @return The x coordinate in world units.
+     */
+    public float centreX(int column) {
+        return (column + 0.5f) * nodeSize;
+    }
+
+    /**
+     * Gets the y coordinate of the centre of a row of nodes.
+     *
+     * @param row The row.
+     * @return The y coordinate in world units.
+     */
+    public float centreY(int row) {
+        return (row + 0.5f) * nodeSize;
+    }
+
+    /**
+     * Gets the heuristic to search the graph with, which never overestimates the cost between two nodes.
+     *
+     * @return The heuristic.
+     */
+    public Heuristic<Node> getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Gets the collision grid the graph was built from, so it can be built again when the colliders change.
+     *
+     * @return The collision grid.
+     */
+    public CollisionGrid getGrid() {
+        return grid;
+    }
+
+    public float getNodeSize() {
+        return nodeSize;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,99 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+
+/**
+ * Walks entities along routes: finds the route when an entity is asked to walk somewhere, then each tick sets which
+ * way the entity moves to head for the next waypoint, and plays the walking animation to match if it has one.
+ * Runs after the input has been read and before collision, so a route moves an entity just like the movement keys do
+ * and colliders still stop it. Entities that aren't walking a route are left as they are.
+ */
+public class NavigationSystem extends IteratingSystem {
+    //How many ticks in a row an entity can be stopped by something the route didn't expect before it gives up
+    private static final int STUCK_TICKS = 30;
+
+    private final Navigator navigator;
+
+    /**
+     * Creates the system.
+     *
+     * @param navigator What finds the routes.
+     * @param priority  The order the system runs in, lowest first.
+     */
+    public NavigationSystem(Navigator navigator, int priority) {
+        super(Family.all(PositionComponent.class, BodyComponent.class, MovementComponent.class,
+                RouteComponent.class).get(), priority);
+        this.navigator = navigator;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        RouteComponent route = RouteComponent.MAPPER.get(entity);
+        if (!route.isActive()) return;
+        PositionComponent position = PositionComponent.MAPPER.get(entity);
+        BodyComponent body = BodyComponent.MAPPER.get(entity);
+        MovementComponent movement = MovementComponent.MAPPER.get(entity);
+        AnimationComponent animation = AnimationComponent.MAPPER.get(entity);
+        float centreX = position.x + body.width / 2, centreY = position.y + body.height / 2;
+
+        if (route.requested) {
+            //Walk up to a landmark if the point is on one, as the point itself can't be reached
+            String landmark = route.landmark != null ? route.landmark : navigator.landmarkAt(route.targetX,
+                    route.targetY);
+            boolean found = landmark != null
+                    ? navigator.findRoute(centreX, centreY, landmark, route.waypoints)
+                    : navigator.findRoute(centreX, centreY, route.targetX, route.targetY, route.waypoints);
+            route.requested = false;
+            route.next = 0;
+            if (!found) {
+                finish(route, movement, animation);
+                return;
+            }
+        }
+
+        //Skip the waypoints the entity is already at. Entities move a fixed step each tick, so they are at a waypoint
+        //once they are within half a step of it
+        float tolerance = movement.speed * deltaTime / 2;
+        float dx = 0, dy = 0;
+        while (route.next < route.waypoints.size) {
+            dx = route.waypoints.get(route.next) - centreX;
+            dy = route.waypoints.get(route.next + 1) - centreY;
+            if (Math.abs(dx) > tolerance || Math.abs(dy) > tolerance) break;
+            route.next += 2;
+        }
+        if (route.next >= route.waypoints.size) {
+            finish(route, movement, animation);
+            return;
+        }
+
+        movement.right = dx > tolerance;
+        movement.left = dx < -tolerance;
+        movement.up = dy > tolerance;
+        movement.down = dy < -tolerance;
+
+        //Colliders stop the entity at the end of a route to a landmark, as its last waypoint is on the landmark, and
+        //anywhere else only if something is in the way that wasn't when the route was found
+        boolean free = (movement.right && !movement.blockedRight) || (movement.left && !movement.blockedLeft)
+                || (movement.up && !movement.blockedUp) || (movement.down && !movement.blockedDown);
+        if (free) {
+            route.stuckTicks = 0;
+        } else if (route.next == route.waypoints.size - 2 || ++route.stuckTicks > STUCK_TICKS) {
+            finish(route, movement, animation);
+            return;
+        }
+        if (animation != null) {
+            PlayerControlSystem.playWalking(animation, movement);
+        }
+    }
+
+    //Stops the entity where it is
+    private static void finish(RouteComponent route, MovementComponent movement, AnimationComponent animation) {
+        route.clear();
+        movement.stop();
+        if (animation != null) {
+            PlayerControlSystem.stopWalking(animation);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Finds routes around the map for entities of one size, to a point or to one of the map's named objects (landmarks).
+ * Routes to a point are searched with gdx-ai's A* over a {@link NavigationGraph}. Routes to a landmark come from a
+ * {@link RouteField} built the first time anything walks to it and kept, so the places everyone walks to, like the CS
+ * Building or the Piazza, cost almost nothing to route to after that. The graph is rebuilt, and the kept fields
+ * dropped, only when the colliders change and the collision system bakes a new grid.
+ * A route is the centres of the nodes to walk through, which are where the entity's box should be centred.
+ */
+public class Navigator {
+    private final CollisionSystem collisions;
+    private final float mapWidth, mapHeight, nodeSize, agentWidth, agentHeight;
+    private final ObjectMap<String, Rectangle> landmarks;
+    private final ObjectMap<String, RouteField> fields = new ObjectMap<String, RouteField>();
+    private final DefaultGraphPath<NavigationGraph.Node> path = new DefaultGraphPath<NavigationGraph.Node>();
+    private final IntArray goals = new IntArray();
+    private NavigationGraph graph;
+    private IndexedAStarPathFinder<NavigationGraph.Node> finder;
+
+    /**
+     * Creates a navigator. The graph is built when the first route is found.
+     *
+     * @param collisions  The collision system whose grid the routes avoid.
+     * @param mapWidth    The width of the map in world units.
+     * @param mapHeight   The height of the map in world units.
+     * @param nodeSize    The width and height of a node of the graph in world units, usually a tile.
+     * @param agentWidth  The width of the box of the entities that follow the routes, plus any gap they keep from
+     *                    colliders, in world units.
+     * @param agentHeight The height of the box, plus the gap.
+     * @param landmarks   The map's named objects by name, in world units.
+     */
+    public Navigator(CollisionSystem collisions, float mapWidth, float mapHeight, float nodeSize, float agentWidth,
+                     float agentHeight, ObjectMap<String, Rectangle> landmarks) {
+        this.collisions = collisions;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.nodeSize = nodeSize;
+        this.agentWidth = agentWidth;
+        this.agentHeight = agentHeight;
+        this.landmarks = landmarks;
+    }
+
+    //Builds the graph again if the colliders have been baked into a new grid since it was built
+    private NavigationGraph graph() {
+        CollisionGrid grid = collisions.getGrid();
+        if (graph == null || graph.getGrid() != grid) {
+            graph = new NavigationGraph(grid, mapWidth, mapHeight, nodeSize, agentWidth, agentHeight);
+            finder = new IndexedAStarPathFinder<NavigationGraph.Node>(graph);
+            fields.clear();
+        }
+        return graph;
+    }
+
+    /**
+     * Finds the shortest route between two points, each moved to the nearest node that can be walked on.
+     *
+     * @param fromX     The x coordinate of the point to start from, in world units.
+     * @param fromY     The y coordinate of the point to start from.
+     * @param toX       The x coordinate of the point to walk to.
+     * @param toY       The y coordinate of the point to walk to.
+     * @param waypoints Filled with the x and y coordinate of each waypoint in turn.
+     * @return False if there is no route, in which case the waypoints are left empty.
+     */
+    public boolean findRoute(float fromX, float fromY, float toX, float toY, FloatArray waypoints) {
+        NavigationGraph graph = graph();
+        waypoints.clear();
+        NavigationGraph.Node start = graph.nearestWalkable(fromX, fromY);
+        NavigationGraph.Node end = graph.nearestWalkable(toX, toY);
+        if (start == null || end == null || !graph.connected(start, end)) return false;
+        path.clear();
+        if (!finder.searchNodePath(start, end, graph.getHeuristic(), path)) return false;
+        for (int i = 0; i < path.getCount(); i++) {
+            NavigationGraph.Node node = path.get(i);
+            waypoints.add(graph.centreX(node.column), graph.centreY(node.row));
+        }
+        return true;
+    }
+
+    /**
+     * Finds the shortest route from a point to next to a landmark, from the landmark's kept field. The last waypoint
+     * is the closest point on the landmark, which the entity walks at until its collider stops the entity.
+     *
+     * @param fromX     The x coordinate of the point to start from, in world units.
+     * @param fromY     The y coordinate of the point to start from.
+     * @param landmark  The name of the landmark.
+     * @param waypoints Filled with the x and y coordinate of each waypoint in turn.
+     * @return False if there is no route or no such landmark, in which case the waypoints are left empty.
+     */
+    public boolean findRoute(float fromX, float fromY, String landmark, FloatArray waypoints) {
+        NavigationGraph graph = graph();
+        waypoints.clear();
+        RouteField field = fields.get(landmark);
+        if (field == null) {
+            Rectangle box = landmarks.get(landmark);
+            if (box == null) return false;
+            field = new RouteField(graph, goalsNear(graph, box));
+            fields.put(landmark, field);
+        }
+        NavigationGraph.Node start = graph.nearestWalkable(fromX, fromY);
+        if (start == null || !field.route(start, waypoints)) return false;
+        Rectangle box = landmarks.get(landmark);
+        float lastX = waypoints.get(waypoints.size - 2), lastY = waypoints.get(waypoints.size - 1);
+        waypoints.add(MathUtils.clamp(lastX, box.x, box.x + box.width),
+                MathUtils.clamp(lastY, box.y, box.y + box.height));
+        return true;
+    }
+
+    //Gets the walkable nodes where an entity would be within a node of a box
+    private IntArray goalsNear(NavigationGraph graph, Rectangle box) {
+        goals.clear();
+        float reachX = agentWidth / 2 + nodeSize, reachY = agentHeight / 2 + nodeSize;
+        for (int row = 0; row < graph.getRows(); row++) {
+            float y = graph.centreY(row);
+            if (y < box.y - reachY || y > box.y + box.height + reachY) continue;
+            for (int column = 0; column < graph.getColumns(); column++) {
+                float x = graph.centreX(column);
+                if (x < box.x - reachX || x > box.x + box.width + reachX) continue;
+                NavigationGraph.Node node = graph.getNode(row * graph.getColumns() + column);
+                if (node.walkable) {
+                    goals.add(node.index);
+                }
+            }
+        }
+        return goals;
+    }
+
+    /**
+     * Gets the landmark a point is on, e.g. to walk to a building that was clicked on.
+     *
+     * @param x The x coordinate of the point in world units.
+     * @param y The y coordinate of the point in world units.
+     * @return The name of the smallest landmark the point is on, or null if it isn't on one.
+     */
+    public String landmarkAt(float x, float y) {
+        String found = null;
+        float foundArea = Float.MAX_VALUE;
+        for (ObjectMap.Entry<String, Rectangle> landmark : landmarks) {
+            if (landmark.value.contains(x, y) && landmark.value.area() < foundArea) {
+                found = landmark.key;
+                foundArea = landmark.value.area();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets how many landmarks have kept fields, which is reset when the graph is rebuilt.
+     *
+     * @return The number of kept fields.
+     */
+    public int getCachedRoutes() {
+        return fields.size;
+    }
+}
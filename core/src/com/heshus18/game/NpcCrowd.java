@@ -0,0 +1,342 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Students wandering around the campus. Each one walks in a random direction for a while, or stands still, keeps
+ * its distance from the students around it, and can't walk through anything the player can't.
+ * The crowd is kept out of the entity engine so it can scale to thousands of students: each student's state is a
+ * slot in a set of arrays, the students are sorted into a {@link SpatialHash} every tick so finding a student's
+ * neighbours, or the students on screen, only looks at the cells around them, and collision uses the same
+ * {@link CollisionGrid} as the player.
+ * A tick reads the positions of the last tick and writes the new ones to a second set of arrays, and each student has
+ * its own random number generator, so the students can be stepped in any order, across several threads with a
+ * {@link TaskRunner}, and still end up in the same places. The students never block the player, so they don't change
+ * how a recorded week plays back.
+ */
+public class NpcCrowd {
+    //Number of students on the campus unless the game says otherwise
+    static final int DEFAULT_SIZE = 200;
+    //The map's tilesets the students are drawn from
+    static final String[] SHEETS = {"PurpleIdleSheet", "RedIdleSheet"};
+    //Drawn under the player so the player is never hidden in a crowd, and sorted by sheet within that
+    static final int DEPTH = -1;
+
+    //Size of a student's feet, which collide, and where and how big its sprite is drawn, in world units
+    private static final float WIDTH = 31, HEIGHT = 30, DRAW_OFFSET_X = -47, DRAW_SIZE = 128;
+    //Each frame on the sheets is a square of this many map pixels, along the top of the sheet
+    private static final int FRAME_SIZE = 64, FRAMES = 4;
+    private static final float FRAME_SECONDS = 0.15f;
+    //Walking speed in world units a second, and how many seconds a student walks or stands before changing its mind
+    private static final float MIN_SPEED = 60, MAX_SPEED = 140, MIN_WANDER = 1, MAX_WANDER = 5;
+    private static final float STAND_CHANCE = 0.35f;
+    //Students closer than this push apart, at up to SEPARATION world units a second. Only the first few neighbours
+    //found are counted, so a dense crowd doesn't slow the step down
+    private static final float NEIGHBOUR_RADIUS = 40, SEPARATION = 80;
+    private static final int MAX_NEIGHBOURS = 8;
+    //How many times a spawn point is picked before giving up and using the start
+    private static final int SPAWN_ATTEMPTS = 32;
+
+    private final int size;
+    //Positions at the last tick, and at the tick before, which the next tick's positions are written over
+    private float[] x, y, previousX, previousY;
+    private final float[] headingX, headingY, speed, timer, stateTime;
+    private final int[] seed;
+    private final byte[] sheet;
+    private final TextureRegion[][] frames;
+    private final SpatialHash hash;
+    private final CollisionSystem collisions;
+    private final TaskRunner tasks;
+    private final TaskRunner.Task step;
+    private final float mapWidth, mapHeight;
+    //What the tasks of a tick read, set before they run
+    private float tickSeconds;
+    private CollisionGrid grid;
+    private int visible;
+
+    /**
+     * Creates a crowd, spread at random over the part of the map that can be walked to from a point.
+     *
+     * @param size       The number of students.
+     * @param frames     The animation frames of each sheet, see {@link #sheetFrames(TiledMapTileSet)}. Students use
+     *                   each sheet in turn.
+     * @param collisions The collision system whose grid the students collide with.
+     * @param mapWidth   The width of the map in world units.
+     * @param mapHeight  The height of the map in world units.
+     * @param startX     The x coordinate of a point students can walk to, e.g. where the player starts.
+     * @param startY     The y coordinate of the point.
+     * @param seed       The seed students are placed and wander with.
+     * @param tasks      What steps the students each tick.
+     */
+    public NpcCrowd(int size, TextureRegion[][] frames, CollisionSystem collisions, float mapWidth, float mapHeight,
+                    float startX, float startY, long seed, TaskRunner tasks) {
+        this.size = size;
+        this.frames = frames;
+        this.collisions = collisions;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.tasks = tasks;
+        x = new float[size];
+        y = new float[size];
+        previousX = new float[size];
+        previousY = new float[size];
+        headingX = new float[size];
+        headingY = new float[size];
+        speed = new float[size];
+        timer = new float[size];
+        stateTime = new float[size];
+        this.seed = new int[size];
+        sheet = new byte[size];
+        hash = new SpatialHash(0, 0, mapWidth, mapHeight, NEIGHBOUR_RADIUS);
+        step = new TaskRunner.Task() {
+            @Override
+            public void run(int start, int end) {
+                for (int i = start; i < end; i++) {
+                    step(i);
+                }
+            }
+        };
+        spawn(startX, startY, new RandomXS128(seed));
+    }
+
+    /**
+     * Cuts the frames of a student's idle animation out of the sheet of one of the map's tilesets.
+     *
+     * @param tileset The tileset, one of {@link #SHEETS}.
+     * @return The frames.
+     */
+    static TextureRegion[] sheetFrames(TiledMapTileSet tileset) {
+        Texture texture = tileset.iterator().next().getTextureRegion().getTexture();
+        TextureRegion[] sheetFrames = new TextureRegion[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            sheetFrames[i] = new TextureRegion(texture, i * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE);
+        }
+        return sheetFrames;
+    }
+
+    //Places every student on a free spot that can be walked to from the start, so none are stuck inside a building or
+    //outside the campus
+    private void spawn(float startX, float startY, RandomXS128 random) {
+        CollisionGrid grid = collisions.getGrid();
+        IntArray cells = reachableCells(grid, startX, startY);
+        int columns = grid.getColumns();
+        float cellSize = grid.getCellSize();
+        for (int i = 0; i < size; i++) {
+            float spawnX = startX, spawnY = startY;
+            for (int attempt = 0; attempt < SPAWN_ATTEMPTS; attempt++) {
+                int cell = cells.get(random.nextInt(cells.size));
+                float candidateX = grid.getOriginX() + (cell % columns + 0.5f) * cellSize - WIDTH / 2;
+                float candidateY = grid.getOriginY() + (cell / columns + 0.5f) * cellSize - HEIGHT / 2;
+                if (candidateX >= 0 && candidateY >= 0 && candidateX + WIDTH <= mapWidth
+                        && candidateY + HEIGHT <= mapHeight
+                        && !grid.isBlocked(candidateX, candidateY, WIDTH, HEIGHT)) {
+                    spawnX = candidateX;
+                    spawnY = candidateY;
+                    break;
+                }
+            }
+            x[i] = spawnX;
+            y[i] = spawnY;
+            previousX[i] = spawnX;
+            previousY[i] = spawnY;
+            //The generator must never be 0, as it would stay 0
+            this.seed[i] = random.nextInt() | 1;
+            sheet[i] = (byte) (i % frames.length);
+            stateTime[i] = random.nextFloat() * FRAMES * FRAME_SECONDS;
+            wander(i);
+        }
+        hash.build(x, y, size);
+    }
+
+    //Flood fills the free cells of the collision grid from the start
+    private static IntArray reachableCells(CollisionGrid grid, float startX, float startY) {
+        int columns = grid.getColumns(), rows = grid.getRows();
+        float cellSize = grid.getCellSize();
+        boolean[] seen = new boolean[columns * rows];
+        int startColumn = MathUtils.clamp((int) ((startX - grid.getOriginX()) / cellSize), 0, columns - 1);
+        int startRow = MathUtils.clamp((int) ((startY - grid.getOriginY()) / cellSize), 0, rows - 1);
+        IntArray cells = new IntArray();
+        cells.add(startRow * columns + startColumn);
+        seen[startRow * columns + startColumn] = true;
+        //The cells found so far are also the queue of cells to search from
+        for (int i = 0; i < cells.size; i++) {
+            int cell = cells.get(i);
+            int column = cell % columns, row = cell / columns;
+            for (int direction = 0; direction < 4; direction++) {
+                int c = column + (direction == 0 ? 1 : direction == 1 ? -1 : 0);
+                int r = row + (direction == 2 ? 1 : direction == 3 ? -1 : 0);
+                if (c < 0 || r < 0 || c >= columns || r >= rows || seen[r * columns + c]) continue;
+                seen[r * columns + c] = true;
+                if (!grid.isBlocked(grid.getOriginX() + (c + 0.5f) * cellSize,
+                        grid.getOriginY() + (r + 0.5f) * cellSize)) {
+                    cells.add(r * columns + c);
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Steps every student forward by one tick.
+     *
+     * @param delta The length of a tick in seconds.
+     */
+    public void update(float delta) {
+        tickSeconds = delta;
+        grid = collisions.getGrid();
+        tasks.run(size, step);
+
+        //The new positions become the current ones, and the current ones the previous
+        float[] swap = x;
+        x = previousX;
+        previousX = swap;
+        swap = y;
+        y = previousY;
+        previousY = swap;
+        hash.build(x, y, size);
+    }
+
+    //Steps a student, only writing to its own slot of the arrays
+    private void step(int i) {
+        float delta = tickSeconds;
+        float px = x[i], py = y[i];
+        timer[i] -= delta;
+        if (timer[i] <= 0) {
+            wander(i);
+        }
+        float velocityX = headingX[i] * speed[i];
+        float velocityY = headingY[i] * speed[i];
+
+        //Push away from the neighbours that are too close, harder the closer they are
+        int neighbours = 0;
+        int startColumn = hash.column(px - NEIGHBOUR_RADIUS), endColumn = hash.column(px + NEIGHBOUR_RADIUS);
+        int startRow = hash.row(py - NEIGHBOUR_RADIUS), endRow = hash.row(py + NEIGHBOUR_RADIUS);
+        search:
+        for (int r = startRow; r <= endRow; r++) {
+            for (int c = startColumn; c <= endColumn; c++) {
+                int cell = hash.cell(c, r);
+                for (int p = hash.start(cell); p < hash.end(cell); p++) {
+                    int j = hash.get(p);
+                    if (j == i) continue;
+                    float dx = px - x[j], dy = py - y[j];
+                    float distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared >= NEIGHBOUR_RADIUS * NEIGHBOUR_RADIUS) continue;
+                    if (distanceSquared < 0.0001f) {
+                        //On top of each other, so split them by which comes first
+                        dx = i < j ? 1 : -1;
+                        dy = 0;
+                        distanceSquared = 1;
+                    }
+                    float distance = (float) Math.sqrt(distanceSquared);
+                    float push = (NEIGHBOUR_RADIUS - distance) / NEIGHBOUR_RADIUS * SEPARATION / distance;
+                    velocityX += dx * push;
+                    velocityY += dy * push;
+                    if (++neighbours == MAX_NEIGHBOURS) break search;
+                }
+            }
+        }
+
+        //Move along each axis unless it would walk into something, in which case pick a new direction next tick
+        float nextX = MathUtils.clamp(px + velocityX * delta, 0, mapWidth - WIDTH);
+        float nextY = MathUtils.clamp(py + velocityY * delta, 0, mapHeight - HEIGHT);
+        if (grid.isBlocked(nextX, py, WIDTH, HEIGHT)) {
+            nextX = px;
+            timer[i] = 0;
+        }
+        if (grid.isBlocked(nextX, nextY, WIDTH, HEIGHT)) {
+            nextY = py;
+            timer[i] = 0;
+        }
+        previousX[i] = nextX;
+        previousY[i] = nextY;
+        stateTime[i] += delta;
+    }
+
+    //Picks a new direction for a student to walk in, or has it stand still for a while
+    private void wander(int i) {
+        int random = next(seed[i]);
+        boolean stand = unit(random) < STAND_CHANCE;
+        random = next(random);
+        float angle = unit(random) * MathUtils.PI2;
+        random = next(random);
+        speed[i] = stand ? 0 : MIN_SPEED + unit(random) * (MAX_SPEED - MIN_SPEED);
+        random = next(random);
+        timer[i] = MIN_WANDER + unit(random) * (MAX_WANDER - MIN_WANDER);
+        headingX[i] = MathUtils.cos(angle);
+        headingY[i] = MathUtils.sin(angle);
+        seed[i] = random;
+    }
+
+    //Xorshift, so each student has its own sequence of random numbers whichever thread steps it
+    private static int next(int random) {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return random;
+    }
+
+    //Turns a random number into a float from 0 to 1
+    private static float unit(int random) {
+        return (random >>> 8) / (float) (1 << 24);
+    }
+
+    /**
+     * Queues the students that can be seen, between their positions at the last two ticks.
+     *
+     * @param renderQueue The render queue being used to render GameScreen.
+     * @param alpha       How far the frame is between the last tick and the next, from 0 to 1.
+     * @param viewX       The x coordinate of the left of the camera's view.
+     * @param viewY       The y coordinate of the bottom of the camera's view.
+     * @param viewWidth   The width of the camera's view.
+     * @param viewHeight  The height of the camera's view.
+     */
+    public void render(RenderQueue renderQueue, float alpha, float viewX, float viewY, float viewWidth,
+                       float viewHeight) {
+        visible = 0;
+        //Students are sorted into cells by the corner of their feet, so look a sprite's size past the view
+        int startColumn = hash.column(viewX - DRAW_SIZE), endColumn = hash.column(viewX + viewWidth + DRAW_SIZE);
+        int startRow = hash.row(viewY - DRAW_SIZE), endRow = hash.row(viewY + viewHeight + DRAW_SIZE);
+        for (int r = startRow; r <= endRow; r++) {
+            for (int c = startColumn; c <= endColumn; c++) {
+                int cell = hash.cell(c, r);
+                for (int p = hash.start(cell); p < hash.end(cell); p++) {
+                    int i = hash.get(p);
+                    float drawX = previousX[i] + (x[i] - previousX[i]) * alpha + DRAW_OFFSET_X;
+                    float drawY = previousY[i] + (y[i] - previousY[i]) * alpha;
+                    if (drawX + DRAW_SIZE < viewX || drawX > viewX + viewWidth
+                            || drawY + DRAW_SIZE < viewY || drawY > viewY + viewHeight) continue;
+                    int frame = (int) (stateTime[i] / FRAME_SECONDS) % FRAMES;
+                    renderQueue.draw(RenderQueue.WORLD, DEPTH, frames[sheet[i]][frame], drawX, drawY, DRAW_SIZE,
+                            DRAW_SIZE);
+                    visible++;
+                }
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets how many students were queued by the last {@link #render}.
+     *
+     * @return The number of students on screen.
+     */
+    public int getVisibleCount() {
+        return visible;
+    }
+
+    public float getX(int student) {
+        return x[student];
+    }
+
+    public float getY(int student) {
+        return y[student];
+    }
+}
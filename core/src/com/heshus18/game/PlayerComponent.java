@@ -0,0 +1,13 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Marks the entity controlled by the player's input.
+ */
+public class PlayerComponent implements Component, Pool.Poolable {
+    @Override
+    public void reset() {
+    }
+}
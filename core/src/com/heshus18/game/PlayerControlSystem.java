@@ -0,0 +1,123 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+
+/**
+ * Turns each tick's input into which way the player is moving and whether they are interacting, and picks the
+ * player's walking or idle animation to match. Clicking on the map asks the player to walk there instead, see
+ * {@link NavigationSystem}.
+ * While the player can't move, e.g. when a pop-up is visible, the player stands still and the animation is left as
+ * it is.
+ */
+public class PlayerControlSystem extends IteratingSystem {
+    private TickInput input;
+    private boolean enabled;
+
+    /**
+     * Creates the system.
+     *
+     * @param priority The order the system runs in, lowest first.
+     */
+    public PlayerControlSystem(int priority) {
+        super(Family.all(PlayerComponent.class, MovementComponent.class, AnimationComponent.class).get(), priority);
+    }
+
+    /**
+     * Sets the input of the next tick.
+     *
+     * @param input   The input of the tick.
+     * @param enabled False if the player can't move or interact.
+     */
+    public void setInput(TickInput input, boolean enabled) {
+        this.input = input;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        MovementComponent movement = MovementComponent.MAPPER.get(entity);
+        AnimationComponent animation = AnimationComponent.MAPPER.get(entity);
+        InteractorComponent interactor = InteractorComponent.MAPPER.get(entity);
+        if (!enabled || input == null) {
+            movement.stop();
+            if (interactor != null) interactor.interacting = false;
+            RouteComponent route = RouteComponent.MAPPER.get(entity);
+            if (route != null) route.clear();
+            return;
+        }
+
+        //Get which direction the player is moving
+        movement.up = input.isDown(TickInput.UP);
+        movement.left = input.isDown(TickInput.LEFT);
+        movement.right = input.isDown(TickInput.RIGHT);
+        movement.down = input.isDown(TickInput.DOWN);
+
+        //The movement keys take over from a route, and a click on the map starts a new one, which the navigation
+        //system animates
+        RouteComponent route = RouteComponent.MAPPER.get(entity);
+        if (route != null) {
+            if (movement.isMoving()) {
+                route.clear();
+            } else if (input.isDown(TickInput.MOVE_TO)) {
+                route.request(input.getTargetX(), input.getTargetY());
+            }
+        }
+        if (route == null || !route.isActive()) {
+            playWalking(animation, movement);
+        }
+
+        if (interactor != null) {
+            interactor.interacting = input.isDown(TickInput.INTERACT);
+        }
+    }
+
+    /**
+     * Plays the player's walking animation for the way they are moving, or the idle animation facing the same way if
+     * they aren't moving.
+     *
+     * @param animation The player's animation.
+     * @param movement  Which way the player is moving.
+     */
+    static void playWalking(AnimationComponent animation, MovementComponent movement) {
+        //Up move
+        if (movement.up && animation.current != Player.BACKWALK) {
+            animation.play(Player.BACKWALK);
+        }
+        //Left move
+        //If also moving up, don't overwrite up animation
+        if (movement.left && animation.current != Player.LEFTWALK && !movement.up) {
+            animation.play(Player.LEFTWALK);
+        }
+        //Right move
+        //If also moving up, don't overwrite up animation
+        if (movement.right && animation.current != Player.RIGHTWALK && !movement.up) {
+            animation.play(Player.RIGHTWALK);
+        }
+        //Down move
+        //If current animation is leftWalk or rightWalk, use that animation, else switch to leftWalk
+        if (movement.down && animation.current != Player.LEFTWALK && animation.current != Player.RIGHTWALK) {
+            animation.play(Player.LEFTWALK);
+        }
+
+        //Set idle animations based off previous direction
+        if (!movement.isMoving()) {
+            stopWalking(animation);
+        }
+    }
+
+    /**
+     * Switches a walking animation of the player to the idle animation facing the same way.
+     *
+     * @param animation The player's animation.
+     */
+    static void stopWalking(AnimationComponent animation) {
+        if (animation.current == Player.LEFTWALK)
+            animation.play(Player.LEFTIDLE);
+        else if (animation.current == Player.RIGHTWALK)
+            animation.play(Player.RIGHTIDLE);
+        else if (animation.current == Player.BACKWALK)
+            animation.play(Player.BACKIDLE);
+    }
+}
@@ -1,14 +1,9 @@
 package com.heshus18.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.TimeUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,17 +13,50 @@ import java.util.List;
  * The pop-up can be customized to show different types of messages and actions based on the type specified.
  */
 public class PopUp {
+    /**
+     * The kind of pop-up, which decides its buttons and how it closes.
+     */
+    public enum Type {
+        //Confirm and Deny buttons
+        PROMPT,
+        //Close button only
+        WARNING,
+        //No buttons, closes itself after a short time
+        INFO;
+
+        /**
+         * Gets a type from its name as used by the pop-up constructor, e.g. "prompt".
+         *
+         * @param name The name of the type, "prompt", "warning" or "info".
+         * @return The type.
+         */
+        public static Type fromName(String name) {
+            for (Type type : values()) {
+                if (type.name().equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown pop-up type " + name);
+        }
+    }
+
     private String id;
     private boolean isVisible;
     private String message;
-    private final Texture backgroundTexture, confirmButtonTexture, declineButtonTexture, doneButtonTexture;
+    private final TextureRegion backgroundTexture, confirmButtonTexture, declineButtonTexture, doneButtonTexture;
     private final Rectangle bounds, confirmButtonBounds, declineButtonBounds, doneButtonBounds;
     private final BitmapFont font;
+    private final GlyphLayout layout;
     private final List<Runnable> confirmActions;
-    private final OrthographicCamera camera;
-    private final String type;
-    private long showTime;
-    private static final long popUpDuration = 2000;
+    private final Type type;
+    //Time left before an info pop-up closes itself, counted down by ticks so it doesn't depend on frame rate
+    private float timeLeft;
+    private static final float popUpDuration = 2f;
+    //Textures used by every pop-up
+    static final String[] TEXTURES = {"popUp.png", "confirmButton.png", "declineButton.png", "doneButton.png"};
+    //Pop-ups are drawn above the rest of the HUD, with their text and buttons above their background, and each pop-up
+    //above the ones shown before it
+    private static final int backgroundDepth = 10, contentDepth = 11, depthPerLevel = 2;
 
     /**
      * Constructs a new PopUp with specified parameters.
@@ -39,24 +67,39 @@ public class PopUp {
      * @param y         The y coordinate for the pop-up position.
      * @param width     The width of the pop-up.
      * @param height    The height of the pop-up.
-     * @param camera    The game's camera, should be "hudCamera" for most of the time
      * @param type      The type of the pop-up, either "prompt" for Confirm or Deny button pop-up, "warning" for a Close button only pop-up or "info" for a Pop-up that will auto close
      */
-    public PopUp(String id, String message, float x, float y, float width, float height, OrthographicCamera camera, String type) {
+    public PopUp(String id, String message, float x, float y, float width, float height, String type) {
+        this(id, message, x, y, width, height, Type.fromName(type));
+    }
+
+    /**
+     * Constructs a new PopUp with specified parameters.
+     *
+     * @param id        Unique identifier for the pop-up.
+     * @param message   The message to be displayed on the pop-up.
+     * @param x         The x coordinate for the pop-up position.
+     * @param y         The y coordinate for the pop-up position.
+     * @param width     The width of the pop-up.
+     * @param height    The height of the pop-up.
+     * @param type      The type of the pop-up.
+     */
+    public PopUp(String id, String message, float x, float y, float width, float height, Type type) {
         this.id = id;
         this.isVisible = false;
         this.message = message;
-        this.backgroundTexture = new Texture(Gdx.files.internal("popUp.png"));
+        AssetRegistry assets = AssetRegistry.getInstance();
+        this.backgroundTexture = assets.region("popUp.png");
         this.bounds = new Rectangle(x, y, width, height);
-        this.confirmButtonTexture = new Texture(Gdx.files.internal("confirmButton.png"));
+        this.confirmButtonTexture = assets.region("confirmButton.png");
         this.confirmButtonBounds = new Rectangle(x + 20, y + 20, 150, 40);
-        this.declineButtonTexture = new Texture(Gdx.files.internal("declineButton.png"));
+        this.declineButtonTexture = assets.region("declineButton.png");
         this.declineButtonBounds = new Rectangle(x + width - 170, y + 20, 150, 40);
-        this.doneButtonTexture = new Texture(Gdx.files.internal("doneButton.png"));
+        this.doneButtonTexture = assets.region("doneButton.png");
         this.doneButtonBounds = new Rectangle(x + width - 170, y + 20, 150, 40);
-        this.font = new BitmapFont();
+        this.font = assets.font(1f);
+        this.layout = new GlyphLayout(font, message);
         this.confirmActions = new ArrayList<>();
-        this.camera = camera;
         this.type = type;
     }
 
@@ -72,24 +115,25 @@ public class PopUp {
     /**
      * Renders the pop-up on the screen if it is visible.
      *
-     * @param batch The sprite batch used for drawing.
+     * @param renderQueue The render queue used for drawing.
+     * @param level       How many visible pop-ups are below this one, so it is drawn above them.
      */
-    public void render(SpriteBatch batch) {
+    public void render(RenderQueue renderQueue, int level) {
         if (!isVisible) return;
 
-        batch.draw(backgroundTexture, bounds.x, bounds.y, bounds.width, bounds.height);
-        if (type.equals("warning")) {
-            font.draw(batch, message, bounds.x + 20, bounds.y + bounds.height - 20);
-            batch.draw(doneButtonTexture, doneButtonBounds.x, doneButtonBounds.y, doneButtonBounds.width, doneButtonBounds.height);
+        int levelDepth = level * depthPerLevel;
+        renderQueue.draw(RenderQueue.HUD, backgroundDepth + levelDepth, backgroundTexture, bounds.x, bounds.y, bounds.width, bounds.height);
+        if (type == Type.WARNING) {
+            renderQueue.drawText(RenderQueue.HUD, contentDepth + levelDepth, font, message, bounds.x + 20, bounds.y + bounds.height - 20);
+            renderQueue.draw(RenderQueue.HUD, contentDepth + levelDepth, doneButtonTexture, doneButtonBounds.x, doneButtonBounds.y, doneButtonBounds.width, doneButtonBounds.height);
         }
-        else if (type.equals("info")) {
-            GlyphLayout layout = new GlyphLayout(font, message);
-            font.draw(batch, layout, bounds.x + (bounds.width - layout.width) / 2, bounds.y + (bounds.height + layout.height) / 2);
+        else if (type == Type.INFO) {
+            renderQueue.drawText(RenderQueue.HUD, contentDepth + levelDepth, font, layout, bounds.x + (bounds.width - layout.width) / 2, bounds.y + (bounds.height + layout.height) / 2);
         }
         else{
-            font.draw(batch, message, bounds.x + 20, bounds.y + bounds.height - 20);
-            batch.draw(confirmButtonTexture, confirmButtonBounds.x, confirmButtonBounds.y, confirmButtonBounds.width, confirmButtonBounds.height);
-            batch.draw(declineButtonTexture, declineButtonBounds.x, declineButtonBounds.y, declineButtonBounds.width, declineButtonBounds.height);
+            renderQueue.drawText(RenderQueue.HUD, contentDepth + levelDepth, font, message, bounds.x + 20, bounds.y + bounds.height - 20);
+            renderQueue.draw(RenderQueue.HUD, contentDepth + levelDepth, confirmButtonTexture, confirmButtonBounds.x, confirmButtonBounds.y, confirmButtonBounds.width, confirmButtonBounds.height);
+            renderQueue.draw(RenderQueue.HUD, contentDepth + levelDepth, declineButtonTexture, declineButtonBounds.x, declineButtonBounds.y, declineButtonBounds.width, declineButtonBounds.height);
         }
     }
 
@@ -103,44 +147,72 @@ public class PopUp {
     }
 
     /**
-     * Updates all pop-ups
+     * Gets the kind of pop-up.
+     *
+     * @return The type.
      */
-    public void update() {
-        if (!isVisible) return;
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Counts down the time left before an info pop-up closes itself.
+     *
+     * @param delta The length of a tick in seconds.
+     * @return True if the pop-up closed itself this tick.
+     */
+    public boolean tick(float delta) {
+        if (!isVisible || type != Type.INFO) return false;
 
-        if (type.equals("info") && TimeUtils.millis() > showTime + popUpDuration) {
+        timeLeft -= delta;
+        if (timeLeft <= 0) {
             isVisible = false;
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Handles clicks on the pop-up's buttons. Call this every tick while the pop-up is on top.
+     *
+     * @param input The input of the tick, with touches in HUD coordinates.
+     * @return True if a button closed the pop-up.
+     */
+    public boolean update(TickInput input) {
+        if (!isVisible) return false;
 
-        if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(touchPos);
+        if (input.isDown(TickInput.TOUCH)) {
+            float touchX = input.getTouchX();
+            float touchY = input.getTouchY();
 
-            if (type.equals("prompt")) {
-                if (confirmButtonBounds.contains(touchPos.x, touchPos.y)) {
+            if (type == Type.PROMPT) {
+                if (confirmButtonBounds.contains(touchX, touchY)) {
                     for (Runnable action : confirmActions) {
                         action.run();
                     }
                     isVisible = false;
-                    return;
+                    return true;
                 }
             }
 
-            if (declineButtonBounds.contains(touchPos.x, touchPos.y)) {
+            if (declineButtonBounds.contains(touchX, touchY)) {
                 isVisible = false;
+                return true;
             }
         }
+        return false;
     }
 
     /**
-     * Sets the visibility of the pop-up.
+     * Sets the visibility of the pop-up. Pop-ups added to a {@link PopUpManager} should be shown with
+     * {@link PopUpManager#showPopUp(String)} instead, so the manager knows they are visible.
      *
      * @param visible The desired visibility state, true or false.
      */
     public void setVisible(boolean visible) {
         this.isVisible = visible;
         if (visible) {
-            showTime = TimeUtils.millis();
+            timeLeft = popUpDuration;
         }
     }
 
@@ -160,18 +232,25 @@ public class PopUp {
         this.isVisible = false;
     }
 
+    /**
+     * Changes the message displayed on the pop-up.
+     *
+     * @param message The new message.
+     */
     public void updateMessage(String message) {
         this.message = message;
+        layout.setText(font, message);
     }
 
     /**
-     * Disposes all loaded assets from memory after closing the game.
+     * Releases the shared assets used by the pop-up after closing the game.
      */
     public void dispose() {
-        backgroundTexture.dispose();
-        confirmButtonTexture.dispose();
-        declineButtonTexture.dispose();
-        doneButtonTexture.dispose();
-        font.dispose();
+        AssetRegistry assets = AssetRegistry.getInstance();
+        assets.releaseRegion("popUp.png");
+        assets.releaseRegion("confirmButton.png");
+        assets.releaseRegion("declineButton.png");
+        assets.releaseRegion("doneButton.png");
+        assets.releaseFont(font);
     }
 }
\ No newline at end of file
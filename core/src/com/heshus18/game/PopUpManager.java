@@ -1,20 +1,26 @@
 package com.heshus18.game;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Manages the pop-up messages within the game, including adding, showing, updating, and rendering pop-ups.
+ * Visible pop-ups are kept in a stack in the order they were shown, e.g. a prompt with the "no energy" warning it
+ * opened on top. Only the top pop-up takes input, and the per-frame work only looks at visible pop-ups, however many
+ * are registered.
  */
 public class PopUpManager {
     private final Map<String, PopUp> popUps;
+    //Visible pop-ups, the most recently shown last
+    private final Array<PopUp> visible;
 
     /**
      * Initializes a new PopUpManager instance.
      */
     public PopUpManager() {
         popUps = new HashMap<String, PopUp>();
+        visible = new Array<PopUp>();
     }
 
     /**
@@ -23,38 +29,67 @@ public class PopUpManager {
      * @param popUp The pop-up to add, identified by its unique ID.
      */
     public void addPopUp(PopUp popUp) {
-        popUps.put(popUp.getId(), popUp);
+        PopUp replaced = popUps.put(popUp.getId(), popUp);
+        if (replaced != null) {
+            visible.removeValue(replaced, true);
+        }
     }
 
     /**
-     * Shows a pop-up by setting its visibility to true.
+     * Shows a pop-up on top of any pop-ups that are already visible. Showing a visible pop-up again moves it to the
+     * top and restarts its timer.
      *
      * @param id The unique identifier of the pop-up to show.
      */
     public void showPopUp(String id) {
         PopUp popUp = popUps.get(id);
         if (popUp != null) {
+            visible.removeValue(popUp, true);
             popUp.setVisible(true);
+            visible.add(popUp);
         }
     }
 
     /**
-     * Updates all pop-ups
+     * Steps the timers of the visible pop-ups forward by one tick, closing any that have run out.
+     *
+     * @param delta The length of a tick in seconds.
      */
-    public void update() {
-        for (PopUp popUp : popUps.values()) {
-            popUp.update();
+    public void tick(float delta) {
+        for (int i = visible.size - 1; i >= 0; i--) {
+            if (visible.get(i).tick(delta)) {
+                visible.removeIndex(i);
+            }
         }
     }
 
     /**
-     * Renders pop-ups onto the screen. With checks to ensure only visible pop-ups are rendered
+     * Updates the top pop-up, handling clicks on its buttons, and declines it if the player backed out of it.
      *
-     * @param batch The SpriteBatch used for drawing the pop-ups.
+     * @param input The input of the tick.
      */
-    public void render(SpriteBatch batch) {
-        for (PopUp popUp : popUps.values()) {
-            popUp.render(batch);
+    public void update(TickInput input) {
+        if (visible.size == 0) return;
+
+        if (input.isDown(TickInput.BACK)) {
+            declineVisiblePopUp();
+            return;
+        }
+        //The pop-up's confirm actions may show other pop-ups, so remove it by identity rather than popping the stack
+        PopUp top = visible.peek();
+        if (top.update(input)) {
+            visible.removeValue(top, true);
+        }
+    }
+
+    /**
+     * Renders the visible pop-ups onto the screen, each above the ones shown before it.
+     *
+     * @param renderQueue The render queue used for drawing the pop-ups.
+     */
+    public void render(RenderQueue renderQueue) {
+        for (int i = 0; i < visible.size; i++) {
+            visible.get(i).render(renderQueue, i);
         }
     }
 
@@ -64,23 +99,35 @@ public class PopUpManager {
      * @return True if a pop-up is visible, false otherwise.
      */
     public boolean isAnyPopUpVisible() {
-        for (PopUp popUp : popUps.values()) {
-            if (popUp.isVisible()) {
-                return true;
-            }
-        }
-        return false;
+        return visible.size > 0;
+    }
+
+    /**
+     * Gets the pop-up on top of the stack, which is the one taking input.
+     *
+     * @return The top pop-up, or null if no pop-up is visible.
+     */
+    public PopUp getTopPopUp() {
+        return visible.size > 0 ? visible.peek() : null;
     }
 
     /**
-     * Declines visible pop-ups.
+     * Declines the top pop-up, showing the one below it, if any.
      */
     public void declineVisiblePopUp() {
-        for (PopUp popUp : popUps.values()) {
-            if (popUp.isVisible()) {
-                popUp.decline();
-            }
+        if (visible.size > 0) {
+            visible.pop().decline();
+        }
+    }
+
+    /**
+     * Hides every visible pop-up without executing any actions, e.g. for a new week.
+     */
+    public void hideAll() {
+        for (int i = 0; i < visible.size; i++) {
+            visible.get(i).decline();
         }
+        visible.clear();
     }
 
     /**
@@ -104,5 +151,6 @@ public class PopUpManager {
             popUp.dispose();
         }
         popUps.clear();
+        visible.clear();
     }
-}
\ No newline at end of file
+}
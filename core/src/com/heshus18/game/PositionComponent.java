@@ -0,0 +1,35 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Where an entity is in the world, in world units. Entities that move also keep where they were at the start of the
+ * last tick, so they can be drawn between their last two positions.
+ */
+public class PositionComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<PositionComponent> MAPPER = ComponentMapper.getFor(PositionComponent.class);
+
+    public float x, y;
+    //Position at the start of the last tick, for interpolating
+    public float previousX, previousY;
+
+    /**
+     * Moves the entity straight to a position, without interpolating from the old one.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     */
+    public void set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        previousX = x;
+        previousY = y;
+    }
+
+    @Override
+    public void reset() {
+        set(0, 0);
+    }
+}
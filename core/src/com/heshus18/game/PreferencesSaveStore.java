@@ -0,0 +1,63 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.Base64Coder;
+
+import java.io.IOException;
+
+/**
+ * Saved weeks stored in libGDX {@link Preferences}, for platforms where the game can't write its own files, e.g. the
+ * browser, where preferences are kept in local storage.
+ * Each slot is a snapshot's binary format encoded as Base64. There are no background threads in the browser, so saves
+ * are written on the render thread, but a save is well under a hundred bytes.
+ */
+public class PreferencesSaveStore implements SaveStore {
+    private static final String NAME = "heshus18.saves";
+
+    private final Preferences preferences;
+
+    /**
+     * Opens the saves.
+     */
+    public PreferencesSaveStore() {
+        preferences = Gdx.app.getPreferences(NAME);
+    }
+
+    private static String key(int slot) {
+        return "slot." + slot;
+    }
+
+    @Override
+    public void save(int slot, WeekSnapshot snapshot) {
+        preferences.putString(key(slot), new String(Base64Coder.encode(snapshot.toBytes())));
+        preferences.flush();
+    }
+
+    @Override
+    public WeekSnapshot load(int slot) {
+        String text = preferences.getString(key(slot), null);
+        if (text == null) return null;
+        try {
+            return WeekSnapshot.fromBytes(Base64Coder.decode(text));
+        } catch (IOException | IllegalArgumentException e) {
+            Gdx.app.error("SaveStore", "Couldn't read slot " + slot, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean has(int slot) {
+        return preferences.contains(key(slot));
+    }
+
+    @Override
+    public void delete(int slot) {
+        preferences.remove(key(slot));
+        preferences.flush();
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,127 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Session history stored in libGDX {@link Preferences}, for platforms where the game can't write its own files, e.g.
+ * the browser, where preferences are kept in local storage.
+ * Records are stored as text in chunks of {@link #RECORDS_PER_CHUNK}, each chunk in its own preferences, so recording a
+ * week only rewrites the last chunk. Every record is read into memory when the history is opened.
+ * There are no background threads in the browser, so records are written on the render thread, but only one small
+ * chunk is written per week.
+ */
+public class PreferencesSessionHistory implements SessionHistory {
+    static final int RECORDS_PER_CHUNK = 256;
+    private static final String NAME = "heshus18.history";
+
+    private final Preferences summary;
+    private final Array<WeekRecord> records;
+    private final SessionIndex index;
+
+    /**
+     * Opens the history, reading every stored week.
+     */
+    public PreferencesSessionHistory() {
+        summary = Gdx.app.getPreferences(NAME);
+        records = new Array<WeekRecord>();
+        index = new SessionIndex();
+
+        int size = summary.getInteger("size", 0);
+        try {
+            for (int chunk = 0; chunk * RECORDS_PER_CHUNK < size; chunk++) {
+                String text = chunkPreferences(chunk).getString("records", "");
+                int start = 0;
+                while (start < text.length() && records.size < size) {
+                    int end = text.indexOf(';', start);
+                    if (end == -1) end = text.length();
+                    WeekRecord record = decode(text.substring(start, end));
+                    records.add(record);
+                    index.add(record);
+                    start = end + 1;
+                }
+                //A chunk with records missing would put every later record in the wrong chunk
+                if (records.size < Math.min(size, (chunk + 1) * RECORDS_PER_CHUNK)) {
+                    throw new IllegalArgumentException("Chunk " + chunk + " is missing records");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            //Keep the weeks before the damage, and record new weeks after them
+            Gdx.app.error("SessionHistory", "Dropping damaged history after " + records.size + " weeks", e);
+            summary.putInteger("size", records.size);
+            summary.flush();
+        }
+    }
+
+    private static Preferences chunkPreferences(int chunk) {
+        return Gdx.app.getPreferences(NAME + "." + chunk);
+    }
+
+    private static String encode(WeekRecord record) {
+        return record.getTimeAte() + "," + record.getTimeSlept() + "," + record.getTimeStudy() + ","
+                + record.getTimeActivity() + "," + record.getCharacter() + "," + record.getStartedMillis() + ","
+                + record.getFinishedMillis();
+    }
+
+    //Throws IllegalArgumentException, which NumberFormatException is, if the text isn't a record
+    private static WeekRecord decode(String text) {
+        String[] fields = text.split(",");
+        if (fields.length != 7) {
+            throw new IllegalArgumentException("Not a week: " + text);
+        }
+        return new WeekRecord(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                Integer.parseInt(fields[3]), fields[4], Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+    }
+
+    @Override
+    public void record(WeekRecord record) {
+        records.add(record);
+        index.add(record);
+
+        //Rewrite the chunk the record is in, then the number of records, so a chunk is never counted before it is saved
+        int chunk = (records.size - 1) / RECORDS_PER_CHUNK;
+        StringBuilder text = new StringBuilder();
+        for (int i = chunk * RECORDS_PER_CHUNK; i < records.size; i++) {
+            if (text.length() > 0) text.append(';');
+            text.append(encode(records.get(i)));
+        }
+        Preferences chunkPreferences = chunkPreferences(chunk);
+        chunkPreferences.putString("records", text.toString());
+        chunkPreferences.flush();
+        summary.putInteger("size", records.size);
+        summary.flush();
+    }
+
+    @Override
+    public Array<WeekRecord> getBest(int count) {
+        Array<WeekRecord> best = new Array<WeekRecord>();
+        for (int i = 0; i < Math.min(count, index.getBestPositions().size); i++) {
+            best.add(records.get(index.getBestPositions().get(i)));
+        }
+        return best;
+    }
+
+    @Override
+    public Array<WeekRecord> getRecent(int count) {
+        Array<WeekRecord> recent = new Array<WeekRecord>();
+        for (int i = records.size - 1; i >= 0 && recent.size < count; i--) {
+            recent.add(records.get(i));
+        }
+        return recent;
+    }
+
+    @Override
+    public Averages getAverages(String character) {
+        return index.getAverages(character);
+    }
+
+    @Override
+    public int size() {
+        return records.size;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,255 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Collects the draw commands for a frame so they can all be drawn in a single pass of the sprite batch.
+ * World sprites, prompts and HUD elements submit commands to a layer (each layer has its own camera) at a depth.
+ * When the queue is flushed the commands are sorted by layer, then depth, then texture, so the batch only flushes
+ * when the camera or texture actually has to change.
+ * Commands with the same layer and depth can be drawn in any order, so use a higher depth for anything that must be
+ * drawn on top.
+ */
+public class RenderQueue {
+    public static final int WORLD = 0;
+    public static final int HUD = 1;
+
+    private final SpriteBatch batch;
+    private final Matrix4[] projections;
+    private final Array<DrawCommand> queued;
+    private final Array<DrawCommand> pool;
+    private final Comparator<DrawCommand> order;
+    private int renderCalls, textureSwitches;
+
+    /**
+     * A single queued draw of a texture, texture region or text.
+     */
+    private static class DrawCommand {
+        int layer, depth, textureHandle;
+        Texture texture;
+        TextureRegion region;
+        BitmapFont font;
+        CharSequence text;
+        GlyphLayout layout;
+        float x, y, width, height;
+    }
+
+    /**
+     * Creates a render queue that draws with a sprite batch.
+     *
+     * @param batch The sprite batch to draw with.
+     */
+    public RenderQueue(SpriteBatch batch) {
+        this.batch = batch;
+        projections = new Matrix4[]{new Matrix4(), new Matrix4()};
+        queued = new Array<DrawCommand>(false, 64);
+        pool = new Array<DrawCommand>(false, 64);
+        order = new Comparator<DrawCommand>() {
+            @Override
+            public int compare(DrawCommand a, DrawCommand b) {
+                if (a.layer != b.layer) return a.layer - b.layer;
+                if (a.depth != b.depth) return a.depth - b.depth;
+                return Integer.compare(a.textureHandle, b.textureHandle);
+            }
+        };
+    }
+
+    /**
+     * Sets the camera projection used for a layer. Call this every frame after updating the camera.
+     *
+     * @param layer      The layer, {@link #WORLD} or {@link #HUD}.
+     * @param projection The combined projection and view matrix of the layer's camera.
+     */
+    public void setProjection(int layer, Matrix4 projection) {
+        projections[layer].set(projection);
+    }
+
+    /**
+     * Queues a texture to be drawn.
+     *
+     * @param layer   The layer to draw on.
+     * @param depth   The depth within the layer, higher depths are drawn on top.
+     * @param texture The texture to draw.
+     * @param x       The x coordinate.
+     * @param y       The y coordinate.
+     * @param width   The width to draw the texture at.
+     * @param height  The height to draw the texture at.
+     */
+    public void draw(int layer, int depth, Texture texture, float x, float y, float width, float height) {
+        DrawCommand command = obtain(layer, depth, texture, x, y);
+        command.texture = texture;
+        command.width = width;
+        command.height = height;
+    }
+
+    /**
+     * Queues a texture region to be drawn.
+     *
+     * @param layer  The layer to draw on.
+     * @param depth  The depth within the layer, higher depths are drawn on top.
+     * @param region The texture region to draw.
+     * @param x      The x coordinate.
+     * @param y      The y coordinate.
+     * @param width  The width to draw the region at.
+     * @param height The height to draw the region at.
+     */
+    public void draw(int layer, int depth, TextureRegion region, float x, float y, float width, float height) {
+        DrawCommand command = obtain(layer, depth, region.getTexture(), x, y);
+        command.region = region;
+        command.width = width;
+        command.height = height;
+    }
+
+    /**
+     * Queues text to be drawn. The text must not change until the queue has been flushed.
+     *
+     * @param layer The layer to draw on.
+     * @param depth The depth within the layer, higher depths are drawn on top.
+     * @param font  The font to draw with.
+     * @param text  The text to draw.
+     * @param x     The x coordinate of the left of the text.
+     * @param y     The y coordinate of the top of the text.
+     */
+    public void drawText(int layer, int depth, BitmapFont font, CharSequence text, float x, float y) {
+        DrawCommand command = obtain(layer, depth, font.getRegion().getTexture(), x, y);
+        command.font = font;
+        command.text = text;
+    }
+
+    /**
+     * Queues text that has already been laid out to be drawn.
+     *
+     * @param layer  The layer to draw on.
+     * @param depth  The depth within the layer, higher depths are drawn on top.
+     * @param font   The font the text was laid out with.
+     * @param layout The laid out text.
+     * @param x      The x coordinate of the left of the text.
+     * @param y      The y coordinate of the top of the text.
+     */
+    public void drawText(int layer, int depth, BitmapFont font, GlyphLayout layout, float x, float y) {
+        DrawCommand command = obtain(layer, depth, font.getRegion().getTexture(), x, y);
+        command.font = font;
+        command.layout = layout;
+    }
+
+    private DrawCommand obtain(int layer, int depth, Texture texture, float x, float y) {
+        DrawCommand command = pool.size > 0 ? pool.pop() : new DrawCommand();
+        command.layer = layer;
+        command.depth = depth;
+        command.textureHandle = texture.getTextureObjectHandle();
+        command.texture = null;
+        command.region = null;
+        command.font = null;
+        command.text = null;
+        command.layout = null;
+        command.x = x;
+        command.y = y;
+        queued.add(command);
+        return command;
+    }
+
+    /**
+     * Begins the frame's pass of the sprite batch, using the world camera.
+     * Anything drawn straight to the batch before {@link #flush()} (e.g. the tile map) is drawn under the queue.
+     */
+    public void begin() {
+        batch.setProjectionMatrix(projections[WORLD]);
+        batch.begin();
+        textureSwitches = 0;
+    }
+
+    /**
+     * Sorts and draws every queued command, then empties the queue. Must be called between {@link #begin()} and
+     * {@link #end()}.
+     */
+    public void flush() {
+        queued.sort(order);
+        int lastTexture = -1;
+        for (int i = 0; i < queued.size; i++) {
+            DrawCommand command = queued.get(i);
+
+            //Only switch camera when the projection actually changes, as every switch flushes the batch
+            Matrix4 projection = projections[command.layer];
+            if (!Arrays.equals(batch.getProjectionMatrix().val, projection.val)) {
+                batch.setProjectionMatrix(projection);
+            }
+            if (command.textureHandle != lastTexture) {
+                textureSwitches++;
+                lastTexture = command.textureHandle;
+            }
+
+            if (command.texture != null) {
+                batch.draw(command.texture, command.x, command.y, command.width, command.height);
+            } else if (command.region != null) {
+                drawRegion(batch, command.region, command.x, command.y, command.width, command.height);
+            } else if (command.layout != null) {
+                command.font.draw(batch, command.layout, command.x, command.y);
+            } else {
+                command.font.draw(batch, command.text, command.x, command.y);
+            }
+        }
+        pool.addAll(queued);
+        queued.clear();
+    }
+
+    /**
+     * Draws a texture region straight to a batch, filling the given size. Regions from the texture atlas may have had
+     * their transparent edges trimmed when they were packed, so they are drawn offset and smaller to cover the same
+     * pixels the untrimmed image would.
+     *
+     * @param batch  The batch to draw with, which must have been begun.
+     * @param region The texture region to draw.
+     * @param x      The x coordinate of the untrimmed image.
+     * @param y      The y coordinate of the untrimmed image.
+     * @param width  The width to draw the untrimmed image at.
+     * @param height The height to draw the untrimmed image at.
+     */
+    public static void drawRegion(Batch batch, TextureRegion region, float x, float y, float width, float height) {
+        if (region instanceof TextureAtlas.AtlasRegion) {
+            TextureAtlas.AtlasRegion atlasRegion = (TextureAtlas.AtlasRegion) region;
+            float scaleX = width / atlasRegion.originalWidth;
+            float scaleY = height / atlasRegion.originalHeight;
+            batch.draw(region, x + atlasRegion.offsetX * scaleX, y + atlasRegion.offsetY * scaleY,
+                    atlasRegion.packedWidth * scaleX, atlasRegion.packedHeight * scaleY);
+        } else {
+            batch.draw(region, x, y, width, height);
+        }
+    }
+
+    /**
+     * Ends the frame's pass of the sprite batch and records how many draw calls it took.
+     */
+    public void end() {
+        batch.end();
+        renderCalls = batch.renderCalls;
+    }
+
+    /**
+     * Gets the number of draw calls the sprite batch made in the last frame, from {@link SpriteBatch#renderCalls}.
+     *
+     * @return The number of draw calls.
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Gets the number of times the texture changed while drawing the queue in the last frame.
+     *
+     * @return The number of texture switches.
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+}
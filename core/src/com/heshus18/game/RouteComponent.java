@@ -0,0 +1,75 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Where an entity has been asked to walk to, and the route it is following there, see {@link NavigationSystem}.
+ */
+public class RouteComponent implements Component, Pool.Poolable {
+    static final ComponentMapper<RouteComponent> MAPPER = ComponentMapper.getFor(RouteComponent.class);
+
+    //Set when the entity is asked to walk somewhere, until the navigation system finds the route there
+    public boolean requested;
+    //The point to walk to in world units, or the name of the landmark to walk to instead if not null
+    public float targetX, targetY;
+    public String landmark;
+    //Points to walk the centre of the entity's box through, as x and y pairs, and the index of the next one's x
+    public final FloatArray waypoints = new FloatArray();
+    public int next;
+    //Ticks in a row the entity couldn't move towards the next waypoint
+    public int stuckTicks;
+
+    /**
+     * Asks the entity to walk to a point. If the point is on a landmark, the entity walks up to the landmark.
+     *
+     * @param x The x coordinate of the point in world units.
+     * @param y The y coordinate of the point in world units.
+     */
+    public void request(float x, float y) {
+        clear();
+        requested = true;
+        targetX = x;
+        targetY = y;
+    }
+
+    /**
+     * Asks the entity to walk up to a landmark.
+     *
+     * @param name The name of the landmark, a named object on the map's object layer.
+     */
+    public void request(String name) {
+        clear();
+        requested = true;
+        landmark = name;
+    }
+
+    /**
+     * Checks if the entity is walking a route, or about to.
+     *
+     * @return True if a route has been requested or isn't finished.
+     */
+    public boolean isActive() {
+        return requested || next < waypoints.size;
+    }
+
+    /**
+     * Stops following the route, e.g. when the entity is moved some other way.
+     */
+    public void clear() {
+        requested = false;
+        targetX = 0;
+        targetY = 0;
+        landmark = null;
+        waypoints.clear();
+        next = 0;
+        stuckTicks = 0;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+}
@@ -0,0 +1,99 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The shortest route to a place from every node of a {@link NavigationGraph}, e.g. to a building many entities walk
+ * to.
+ * Every node is searched once when the field is built, outwards from the nodes at the place, and remembers which node
+ * is the next step towards it. Finding a route afterwards just follows those steps, so it takes as long as the route
+ * is long however far away the place is and however many entities ask.
+ * Steps can be walked both ways in the graph, so searching out from the place gives the same routes as searching from
+ * each node to it.
+ */
+public class RouteField {
+    private static class Entry extends BinaryHeap.Node {
+        final int index;
+
+        Entry(int index) {
+            super(0);
+            this.index = index;
+        }
+    }
+
+    private final NavigationGraph graph;
+    //Index of the next node on the way to the place, the node itself at the place, or -1 if it can't be reached
+    private final int[] next;
+
+    /**
+     * Searches the graph out from a place.
+     *
+     * @param graph The graph.
+     * @param goals The indices of the nodes at the place, any of which can be walked to.
+     */
+    public RouteField(NavigationGraph graph, IntArray goals) {
+        this.graph = graph;
+        int count = graph.getNodeCount();
+        next = new int[count];
+        float[] cost = new float[count];
+        boolean[] done = new boolean[count];
+        Entry[] entries = new Entry[count];
+        for (int i = 0; i < count; i++) {
+            next[i] = -1;
+            cost[i] = Float.MAX_VALUE;
+        }
+
+        //Dijkstra's algorithm, starting from every goal at once
+        BinaryHeap<Entry> open = new BinaryHeap<Entry>();
+        for (int i = 0; i < goals.size; i++) {
+            int goal = goals.get(i);
+            if (entries[goal] != null) continue;
+            next[goal] = goal;
+            cost[goal] = 0;
+            entries[goal] = new Entry(goal);
+            open.add(entries[goal], 0);
+        }
+        while (open.size > 0) {
+            int index = open.pop().index;
+            done[index] = true;
+            Array<Connection<NavigationGraph.Node>> connections = graph.getConnections(graph.getNode(index));
+            for (int i = 0; i < connections.size; i++) {
+                Connection<NavigationGraph.Node> connection = connections.get(i);
+                int neighbour = connection.getToNode().index;
+                float neighbourCost = cost[index] + connection.getCost();
+                if (done[neighbour] || neighbourCost >= cost[neighbour]) continue;
+                cost[neighbour] = neighbourCost;
+                next[neighbour] = index;
+                if (entries[neighbour] == null) {
+                    entries[neighbour] = new Entry(neighbour);
+                    open.add(entries[neighbour], neighbourCost);
+                } else {
+                    open.setValue(entries[neighbour], neighbourCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the route to the place from a node, as the centres of the nodes to walk through.
+     *
+     * @param start     The node to start from.
+     * @param waypoints Filled with the x and y coordinate of each node's centre in turn, starting with the start node.
+     * @return False if the place can't be reached from the node, in which case the waypoints are left empty.
+     */
+    public boolean route(NavigationGraph.Node start, FloatArray waypoints) {
+        waypoints.clear();
+        int index = start.index;
+        if (next[index] == -1) return false;
+        while (true) {
+            NavigationGraph.Node node = graph.getNode(index);
+            waypoints.add(graph.centreX(node.column), graph.centreY(node.row));
+            if (next[index] == index) return true;
+            index = next[index];
+        }
+    }
+}
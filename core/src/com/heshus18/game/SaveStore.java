@@ -0,0 +1,48 @@
+package com.heshus18.game;
+
+/**
+ * Stores saved weeks in numbered slots between runs of the game.
+ * Saving must not block the render thread: the snapshot is handed over as it is, and written out later. Loading a slot
+ * that has just been saved returns the new snapshot, even if it hasn't been written yet.
+ */
+public interface SaveStore {
+    //The slot the game saves to after every confirmed activity, and resumes from
+    int AUTOSAVE_SLOT = 0;
+
+    /**
+     * Saves a week to a slot, replacing what was in it. Saving to the same slot again before the last save was written
+     * only writes the newest snapshot.
+     *
+     * @param slot     The slot.
+     * @param snapshot The week, which must not be changed afterwards.
+     */
+    void save(int slot, WeekSnapshot snapshot);
+
+    /**
+     * Loads the week saved in a slot.
+     *
+     * @param slot The slot.
+     * @return The week, or null if the slot is empty or its save can't be read.
+     */
+    WeekSnapshot load(int slot);
+
+    /**
+     * Checks if a week is saved in a slot.
+     *
+     * @param slot The slot.
+     * @return True if the slot has a save.
+     */
+    boolean has(int slot);
+
+    /**
+     * Empties a slot, e.g. when its week is over.
+     *
+     * @param slot The slot.
+     */
+    void delete(int slot);
+
+    /**
+     * Finishes writing any saves and closes the store.
+     */
+    void dispose();
+}
@@ -12,7 +12,11 @@ public class Score {
 
     private static final Score instance = new Score();
 
-    private Score() {}
+    /**
+     * Creates a set of counters starting at zero. The game uses the shared instance from {@link #getInstance()},
+     * simulations create their own.
+     */
+    public Score() {}
 
     public static Score getInstance() {
         return instance;
@@ -66,6 +70,21 @@ public class Score {
      */
     public int getTimeActivity() { return timeActivity; }
 
+    /**
+     * Sets all the counters, e.g. when resuming a saved week.
+     *
+     * @param timeAte      The number of times the player ate.
+     * @param timeSlept    The number of times the player slept.
+     * @param timeStudy    The number of times the player studied.
+     * @param timeActivity The number of times the player did other activities.
+     */
+    public void setCounters(int timeAte, int timeSlept, int timeStudy, int timeActivity) {
+        this.timeAte = timeAte;
+        this.timeSlept = timeSlept;
+        this.timeStudy = timeStudy;
+        this.timeActivity = timeActivity;
+    }
+
     /**
      * Resets all the counters (eat, sleep, study, activity) to zero.
      */
@@ -0,0 +1,127 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Screen;
+
+/**
+ * Owns the game's screens and switches between them.
+ * Each screen is created the first time it is shown and then kept until the game is closed, so going back and forth
+ * between screens (e.g. game over, main menu, then a new game) doesn't create or load anything again. Every screen
+ * draws with the game's shared sprite batch.
+ * Screens are told they are shown and hidden through {@link Screen#show()} and {@link Screen#hide()}, and only
+ * disposed along with the manager.
+ * The game screen is kept between weeks too, and reset for each new week rather than built again, as building it
+ * bakes the map's collision grids and draw chunks.
+ */
+public class ScreenManager {
+    private final HesHustle game;
+    private MainMenuScreen mainMenu;
+    private CharacterSelectScreen characterSelect;
+    private CreditsScreen credits;
+    private LoadingScreen loading;
+    private GameScreen gameScreen;
+    private GameOverScreen gameOver;
+
+    /**
+     * Creates a screen manager with no screens yet.
+     *
+     * @param game The game whose screens are managed.
+     */
+    public ScreenManager(HesHustle game) {
+        this.game = game;
+    }
+
+    /**
+     * Shows the main menu.
+     */
+    public void showMainMenu() {
+        if (mainMenu == null) {
+            mainMenu = new MainMenuScreen(game);
+        }
+        game.setScreen(mainMenu);
+    }
+
+    /**
+     * Shows the character select screen.
+     */
+    public void showCharacterSelect() {
+        if (characterSelect == null) {
+            characterSelect = new CharacterSelectScreen(game);
+        }
+        game.setScreen(characterSelect);
+    }
+
+    /**
+     * Shows the credits.
+     */
+    public void showCredits() {
+        if (credits == null) {
+            credits = new CreditsScreen(game);
+        }
+        game.setScreen(credits);
+    }
+
+    /**
+     * Shows the game over screen with the score of the week that just ended.
+     */
+    public void showGameOver() {
+        if (gameOver == null) {
+            gameOver = new GameOverScreen(game);
+        }
+        game.setScreen(gameOver);
+    }
+
+    /**
+     * Starts a new week with the chosen character, going through the loading screen first if the game's assets
+     * haven't finished loading in the background yet.
+     *
+     * @param spriteChoice The sprite sheet of the chosen character.
+     */
+    public void startWeek(String spriteChoice) {
+        showWeek(spriteChoice, null);
+    }
+
+    /**
+     * Carries on a saved week, going through the loading screen first if the game's assets haven't finished loading
+     * in the background yet.
+     *
+     * @param saved The saved week.
+     */
+    public void continueWeek(WeekSnapshot saved) {
+        showWeek(saved.getCharacter(), saved);
+    }
+
+    //Shows the game screen for a new or saved week, or the loading screen which comes back here once loading is done
+    private void showWeek(String spriteChoice, WeekSnapshot saved) {
+        if (!AssetRegistry.getInstance().isPrefetchFinished()) {
+            if (loading == null) {
+                loading = new LoadingScreen(game);
+            }
+            loading.setWeek(spriteChoice, saved);
+            game.setScreen(loading);
+        } else if (gameScreen == null) {
+            gameScreen = saved != null ? new GameScreen(game, saved) : new GameScreen(game, spriteChoice);
+            game.setScreen(gameScreen);
+        } else {
+            gameScreen.startWeek(spriteChoice, saved);
+            game.setScreen(gameScreen);
+        }
+    }
+
+    /**
+     * Disposes every screen that has been created. The current screen should already have been hidden.
+     */
+    public void dispose() {
+        Screen[] screens = {mainMenu, characterSelect, credits, loading, gameScreen, gameOver};
+        for (Screen screen : screens) {
+            if (screen != null) {
+                screen.dispose();
+            }
+        }
+        mainMenu = null;
+        characterSelect = null;
+        credits = null;
+        loading = null;
+        gameScreen = null;
+        gameOver = null;
+    }
+}
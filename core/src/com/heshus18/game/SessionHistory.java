@@ -0,0 +1,70 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Stores the results of every completed week between runs of the game, and answers queries about them.
+ * Recording a week must not block the render thread. Queries are answered from an index, so they stay fast however
+ * many weeks have been played.
+ */
+public interface SessionHistory {
+    /**
+     * The average score counters of the weeks played as a character.
+     */
+    class Averages {
+        public final int weeks;
+        public final float timeAte, timeSlept, timeStudy, timeActivity;
+
+        public Averages(int weeks, float timeAte, float timeSlept, float timeStudy, float timeActivity) {
+            this.weeks = weeks;
+            this.timeAte = timeAte;
+            this.timeSlept = timeSlept;
+            this.timeStudy = timeStudy;
+            this.timeActivity = timeActivity;
+        }
+    }
+
+    /**
+     * Adds a completed week to the history. The week may be written after this returns, but is included in queries
+     * made once it has been written.
+     *
+     * @param record The week.
+     */
+    void record(WeekRecord record);
+
+    /**
+     * Gets the best weeks played, ranked by {@link WeekRecord#getRank()}, with earlier weeks first when tied.
+     *
+     * @param count The most weeks to return, up to {@link SessionIndex#BEST_KEPT}.
+     * @return The best weeks, best first.
+     */
+    Array<WeekRecord> getBest(int count);
+
+    /**
+     * Gets the most recently played weeks.
+     *
+     * @param count The most weeks to return.
+     * @return The recent weeks, most recent first.
+     */
+    Array<WeekRecord> getRecent(int count);
+
+    /**
+     * Gets the average score counters of the weeks played as a character.
+     *
+     * @param character The sprite sheet of the character.
+     * @return The averages, with 0 weeks if the character hasn't been played.
+     */
+    Averages getAverages(String character);
+
+    /**
+     * Gets the number of weeks in the history.
+     *
+     * @return The number of weeks.
+     */
+    int size();
+
+    /**
+     * Finishes writing any recorded weeks and closes the history.
+     */
+    void dispose();
+}
@@ -0,0 +1,97 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Index over a session history's records, kept up to date as weeks are added, so the best weeks and per-character
+ * averages can be found without reading every record.
+ * Records are identified by their position in the history, counting from 0.
+ */
+public class SessionIndex {
+    //How many of the best weeks are kept in the index
+    public static final int BEST_KEPT = 100;
+
+    //Per character: the number of weeks, then the totals of the ate, slept, studied and activity counters
+    final ObjectMap<String, long[]> totals;
+    //Positions and ranks of the best weeks, best first
+    final IntArray bestPositions;
+    final LongArray bestRanks;
+    //Number of records the index covers
+    int size;
+
+    public SessionIndex() {
+        totals = new ObjectMap<String, long[]>();
+        bestPositions = new IntArray();
+        bestRanks = new LongArray();
+    }
+
+    /**
+     * Adds the next record of the history to the index.
+     *
+     * @param record The record, which must be at position {@link #getSize()}.
+     */
+    public void add(WeekRecord record) {
+        long[] characterTotals = totals.get(record.getCharacter());
+        if (characterTotals == null) {
+            characterTotals = new long[5];
+            totals.put(record.getCharacter(), characterTotals);
+        }
+        characterTotals[0]++;
+        characterTotals[1] += record.getTimeAte();
+        characterTotals[2] += record.getTimeSlept();
+        characterTotals[3] += record.getTimeStudy();
+        characterTotals[4] += record.getTimeActivity();
+
+        //Insert after every week ranked the same or better, so earlier weeks stay first when tied
+        long rank = record.getRank();
+        int insertAt = bestRanks.size;
+        while (insertAt > 0 && bestRanks.get(insertAt - 1) < rank) {
+            insertAt--;
+        }
+        if (insertAt < BEST_KEPT) {
+            bestPositions.insert(insertAt, size);
+            bestRanks.insert(insertAt, rank);
+            if (bestPositions.size > BEST_KEPT) {
+                bestPositions.pop();
+                bestRanks.pop();
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Gets the positions of the best weeks.
+     *
+     * @return The positions, best first. Must not be changed.
+     */
+    public IntArray getBestPositions() {
+        return bestPositions;
+    }
+
+    /**
+     * Gets the average score counters of the weeks played as a character.
+     *
+     * @param character The sprite sheet of the character.
+     * @return The averages.
+     */
+    public SessionHistory.Averages getAverages(String character) {
+        long[] characterTotals = totals.get(character);
+        if (characterTotals == null) {
+            return new SessionHistory.Averages(0, 0, 0, 0, 0);
+        }
+        float weeks = characterTotals[0];
+        return new SessionHistory.Averages((int) characterTotals[0], characterTotals[1] / weeks,
+                characterTotals[2] / weeks, characterTotals[3] / weeks, characterTotals[4] / weeks);
+    }
+
+    /**
+     * Gets the number of records the index covers.
+     *
+     * @return The number of records.
+     */
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,138 @@
+package com.heshus18.game;
+
+/**
+ * Uniform grid of points, rebuilt from scratch whenever the points move, for finding the points near an area.
+ * The points are sorted into their cells with a counting sort, so a rebuild takes time proportional to the number of
+ * points and cells, and doesn't allocate once the grid has been sized for the number of points. Points outside the
+ * grid are put in the nearest cell on its edge.
+ * To find the points in a cell, loop from {@link #start(int)} to {@link #end(int)} and get each with
+ * {@link #get(int)}.
+ */
+public class SpatialHash {
+    private final float originX, originY, cellSize;
+    private final int columns, rows;
+    //Index into entries of the first point of each cell, plus one past the last point at the end
+    private final int[] cellStart;
+    //Points, sorted by cell
+    private int[] entries;
+    //Cell of each point
+    private int[] pointCell;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param originX  The x coordinate of the bottom left of the grid.
+     * @param originY  The y coordinate of the bottom left of the grid.
+     * @param width    The width of the grid.
+     * @param height   The height of the grid.
+     * @param cellSize The width and height of a cell, usually the largest distance that is searched.
+     */
+    public SpatialHash(float originX, float originY, float width, float height, float cellSize) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        cellStart = new int[columns * rows + 1];
+        entries = new int[0];
+        pointCell = new int[0];
+    }
+
+    /**
+     * Sorts points into the grid, replacing the points it had.
+     *
+     * @param x     The x coordinate of each point.
+     * @param y     The y coordinate of each point.
+     * @param count The number of points.
+     */
+    public void build(float[] x, float[] y, int count) {
+        if (entries.length < count) {
+            entries = new int[count];
+            pointCell = new int[count];
+        }
+        //Count the points in each cell, then add up the counts into where each cell ends
+        int cells = columns * rows;
+        for (int i = 0; i <= cells; i++) {
+            cellStart[i] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = cell(column(x[i]), row(y[i]));
+            pointCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int i = 0; i < cells; i++) {
+            cellStart[i + 1] += cellStart[i];
+        }
+        //Each cell now ends where the next one starts, so fill the cells from their ends, going backwards through the
+        //points so each cell keeps its points in order
+        for (int i = count - 1; i >= 0; i--) {
+            entries[--cellStart[pointCell[i] + 1]] = i;
+        }
+        //Which leaves each cell's start one place along, so move them back
+        for (int i = 0; i < cells; i++) {
+            cellStart[i] = cellStart[i + 1];
+        }
+        cellStart[cells] = count;
+    }
+
+    public int column(float x) {
+        return Math.min(Math.max((int) Math.floor((x - originX) / cellSize), 0), columns - 1);
+    }
+
+    public int row(float y) {
+        return Math.min(Math.max((int) Math.floor((y - originY) / cellSize), 0), rows - 1);
+    }
+
+    /**
+     * Gets the index of a cell.
+     *
+     * @param column The column of the cell.
+     * @param row    The row of the cell.
+     * @return The index of the cell.
+     */
+    public int cell(int column, int row) {
+        return row * columns + column;
+    }
+
+    /**
+     * Gets where the points of a cell start.
+     *
+     * @param cell The index of the cell.
+     * @return The position of the cell's first point, for {@link #get(int)}.
+     */
+    public int start(int cell) {
+        return cellStart[cell];
+    }
+
+    /**
+     * Gets where the points of a cell end.
+     *
+     * @param cell The index of the cell.
+     * @return One past the position of the cell's last point.
+     */
+    public int end(int cell) {
+        return cellStart[cell + 1];
+    }
+
+    /**
+     * Gets a point sorted into the grid.
+     *
+     * @param position The position of the point in the grid, between the start and end of its cell.
+     * @return The index of the point.
+     */
+    public int get(int position) {
+        return entries[position];
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
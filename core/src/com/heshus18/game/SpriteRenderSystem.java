@@ -0,0 +1,51 @@
+package com.heshus18.game;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+/**
+ * Queues the current animation frame of every animated entity, between its positions at the last two ticks.
+ * Drawing happens once a frame rather than once a tick, so the engine doesn't update this system, call
+ * {@link #render(RenderQueue, float)} instead.
+ */
+public class SpriteRenderSystem extends EntitySystem {
+    private static final Family SPRITES = Family.all(PositionComponent.class, AnimationComponent.class).get();
+
+    private ImmutableArray<Entity> entities;
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(SPRITES);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        entities = null;
+    }
+
+    @Override
+    public boolean checkProcessing() {
+        return false;
+    }
+
+    /**
+     * Queues every animated entity.
+     *
+     * @param renderQueue The render queue being used to render GameScreen.
+     * @param alpha       How far the frame is between the last tick and the next, from 0 to 1.
+     */
+    public void render(RenderQueue renderQueue, float alpha) {
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            PositionComponent position = PositionComponent.MAPPER.get(entity);
+            AnimationComponent animation = AnimationComponent.MAPPER.get(entity);
+            float x = position.previousX + (position.x - position.previousX) * alpha;
+            float y = position.previousY + (position.y - position.previousY) * alpha;
+            renderQueue.draw(RenderQueue.WORLD, 0, animation.getFrame(), x + animation.offsetX, y + animation.offsetY,
+                    animation.width, animation.height);
+        }
+    }
+}
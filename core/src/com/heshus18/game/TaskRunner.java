@@ -0,0 +1,47 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Runs a task over a range of items, e.g. the agents of a crowd, possibly split across several threads.
+ * The core game runs everything on the render thread with {@link #SERIAL}, as threads aren't available on every
+ * platform. The desktop launcher gives the game a runner with worker threads instead.
+ * A task must only write to the items in the range it is given, and only read anything else, so the result doesn't
+ * depend on how the range is split.
+ */
+public interface TaskRunner extends Disposable {
+    /**
+     * Work done for a range of items.
+     */
+    interface Task {
+        /**
+         * Does the work for part of the items.
+         *
+         * @param start The first item.
+         * @param end   One past the last item.
+         */
+        void run(int start, int end);
+    }
+
+    /**
+     * Runs tasks on the calling thread in one go.
+     */
+    TaskRunner SERIAL = new TaskRunner() {
+        @Override
+        public void run(int count, Task task) {
+            task.run(0, count);
+        }
+
+        @Override
+        public void dispose() {
+        }
+    };
+
+    /**
+     * Runs a task for every item, returning once it has finished for all of them.
+     *
+     * @param count The number of items.
+     * @param task  The task.
+     */
+    void run(int count, Task task);
+}
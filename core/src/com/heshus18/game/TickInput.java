@@ -0,0 +1,102 @@
+package com.heshus18.game;
+
+/**
+ * The input the game simulation reads during one tick: which buttons are down, where the HUD was touched, if it was,
+ * and where on the map was clicked to walk to, if anywhere was.
+ * Everything the simulation does in response to input goes through a tick's input rather than asking
+ * {@link com.badlogic.gdx.Gdx#input} directly, so a session can be recorded and played back tick for tick.
+ */
+public class TickInput {
+    //Held movement keys
+    public static final int UP = 1, DOWN = 1 << 1, LEFT = 1 << 2, RIGHT = 1 << 3;
+    //Presses that only last one tick: interacting with a building, backing out of a pop-up, and touching the HUD
+    public static final int INTERACT = 1 << 4, BACK = 1 << 5, TOUCH = 1 << 6;
+    //Press that only lasts one tick: clicking on the map for the player to walk there
+    public static final int MOVE_TO = 1 << 7;
+    //Every button, so recordings can tell a state from anything else
+    public static final int ALL = (1 << 8) - 1;
+
+    private int buttons;
+    private float touchX, touchY;
+    private float targetX, targetY;
+
+    /**
+     * Sets the input.
+     *
+     * @param buttons The buttons that are down, a combination of the button constants.
+     * @param touchX  The x coordinate of the touch in HUD coordinates, if {@link #TOUCH} is down.
+     * @param touchY  The y coordinate of the touch in HUD coordinates, if {@link #TOUCH} is down.
+     */
+    public void set(int buttons, float touchX, float touchY) {
+        set(buttons, touchX, touchY, 0, 0);
+    }
+
+    /**
+     * Sets the input, including where to walk to.
+     *
+     * @param buttons The buttons that are down, a combination of the button constants.
+     * @param touchX  The x coordinate of the touch in HUD coordinates, if {@link #TOUCH} is down.
+     * @param touchY  The y coordinate of the touch in HUD coordinates, if {@link #TOUCH} is down.
+     * @param targetX The x coordinate of the point to walk to in world units, if {@link #MOVE_TO} is down.
+     * @param targetY The y coordinate of the point to walk to in world units, if {@link #MOVE_TO} is down.
+     */
+    public void set(int buttons, float touchX, float touchY, float targetX, float targetY) {
+        this.buttons = buttons;
+        boolean touched = (buttons & TOUCH) != 0;
+        this.touchX = touched ? touchX : 0;
+        this.touchY = touched ? touchY : 0;
+        boolean moving = (buttons & MOVE_TO) != 0;
+        this.targetX = moving ? targetX : 0;
+        this.targetY = moving ? targetY : 0;
+    }
+
+    /**
+     * Copies another tick's input.
+     *
+     * @param other The input to copy.
+     */
+    public void set(TickInput other) {
+        set(other.buttons, other.touchX, other.touchY, other.targetX, other.targetY);
+    }
+
+    /**
+     * Checks if another tick's input is the same as this one.
+     *
+     * @param other The input to compare with.
+     * @return True if the same buttons are down, with the same touch position and point to walk to.
+     */
+    public boolean sameAs(TickInput other) {
+        return buttons == other.buttons && touchX == other.touchX && touchY == other.touchY
+                && targetX == other.targetX && targetY == other.targetY;
+    }
+
+    /**
+     * Checks if a button is down.
+     *
+     * @param button One of the button constants.
+     * @return True if the button is down.
+     */
+    public boolean isDown(int button) {
+        return (buttons & button) != 0;
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public float getTouchX() {
+        return touchX;
+    }
+
+    public float getTouchY() {
+        return touchY;
+    }
+
+    public float getTargetX() {
+        return targetX;
+    }
+
+    public float getTargetY() {
+        return targetY;
+    }
+}
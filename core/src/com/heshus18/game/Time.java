@@ -1,21 +1,67 @@
 package com.heshus18.game;
 
+import com.badlogic.gdx.utils.Array;
+
 /**
  * Represents a time within a week, using a 24-hour clock format.
  * The class allows you to change the time by adding minutes, moving to the next day, and retrieving the current time.
+ * The time is stored as the number of minutes since Monday 00:00, so adding any amount of time takes the same work.
+ * Listeners are told whenever the time changes, so the HUD only has to update when it does.
  */
 public class Time {
-    private int day;
-    private int hour;
-    private int minute;
+    /**
+     * Told whenever the time changes.
+     */
+    public interface Listener {
+        /**
+         * Called after the time has changed.
+         *
+         * @param time The time that changed.
+         */
+        void timeChanged(Time time);
+    }
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final int DAYS_PER_WEEK = 7;
+    static final int MINUTES_PER_WEEK = DAYS_PER_WEEK * MINUTES_PER_DAY;
+    //Each day starts at 08:00 AM
+    private static final int DAY_START = 8 * MINUTES_PER_HOUR;
+
+    private static final String[] DAY_NAMES = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday",
+            "Sunday"};
+    //"HH:MM" label for every minute of the day, built the first time each is needed
+    private static final String[] CLOCK_LABELS = new String[MINUTES_PER_DAY];
+
+    //Minutes since Monday 00:00, always less than a week
+    private int minutes;
+    private final Array<Listener> listeners;
 
     /**
      * Initializes a new Time instance to Monday at 08:00 AM.
      */
     public Time() {
-        this.day = 1;  // 1 = Monday, 7 = Sunday
-        this.hour = 8; // 08:00 AM in 24-hour clock format
-        this.minute = 0;
+        listeners = new Array<Listener>();
+        reset();
+    }
+
+    /**
+     * Sets the time back to Monday at 08:00 AM.
+     */
+    public void reset() {
+        setMinutes(DAY_START);
+    }
+
+    /**
+     * Sets the time, e.g. when resuming a saved week.
+     *
+     * @param minuteOfWeek The number of minutes since Monday 00:00, as returned by {@link #getMinuteOfWeek()}.
+     */
+    public void setMinuteOfWeek(int minuteOfWeek) {
+        if (minuteOfWeek < 0 || minuteOfWeek >= MINUTES_PER_WEEK) {
+            throw new IllegalArgumentException("Not a minute of the week: " + minuteOfWeek);
+        }
+        setMinutes(minuteOfWeek);
     }
 
     /**
@@ -26,18 +72,7 @@ public class Time {
      * @param minutesToAdd the number of minutes to add. Must be greater than 0.
      */
     public void addTime(int minutesToAdd) {
-        minute += minutesToAdd;
-        while (minute >= 60) {
-            hour++;
-            minute -= 60;
-        }
-        while (hour >= 24) {
-            day++;
-            hour -= 24;
-        }
-        if (day > 7) {
-            day = 1;
-        }
+        setMinutes((int) ((minutes + (long) minutesToAdd) % MINUTES_PER_WEEK));
     }
 
     /**
@@ -45,23 +80,71 @@ public class Time {
      * Days of the week cycle back to Monday after Sunday.
      */
     public void nextDay() {
-        day++;
-        hour = 8;
-        minute = 0;
+        int nextDay = (minutes / MINUTES_PER_DAY + 1) % DAYS_PER_WEEK;
+        setMinutes(nextDay * MINUTES_PER_DAY + DAY_START);
+    }
 
-        if (day > 7) {
-            day = 1;
+    private void setMinutes(int minutes) {
+        if (this.minutes == minutes) return;
+        this.minutes = minutes;
+        for (int i = 0; i < listeners.size; i++) {
+            listeners.get(i).timeChanged(this);
         }
     }
 
+    /**
+     * Adds a listener to be told whenever the time changes.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener(Listener)}.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(Listener listener) {
+        listeners.removeValue(listener, true);
+    }
+
     /**
      * Returns a string of the current time, including the day name and time in HH:MM format.
      *
      * @return A string for the current day and time.
      */
     public String getTime() {
-        String dayName = getDayName(day);
-        return String.format("%s %02d:%02d", dayName, hour, minute);
+        return getDayName() + " " + getClockLabel();
+    }
+
+    /**
+     * Gets the current time of day in HH:MM format. The same string is returned every time for the same minute.
+     *
+     * @return The time of day.
+     */
+    public String getClockLabel() {
+        int minuteOfDay = minutes % MINUTES_PER_DAY;
+        String label = CLOCK_LABELS[minuteOfDay];
+        if (label == null) {
+            label = twoDigits(minuteOfDay / MINUTES_PER_HOUR) + ":" + twoDigits(minuteOfDay % MINUTES_PER_HOUR);
+            CLOCK_LABELS[minuteOfDay] = label;
+        }
+        return label;
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+
+    /**
+     * Get the name of the current day.
+     *
+     * @return The name of the day.
+     */
+    public String getDayName() {
+        return DAY_NAMES[minutes / MINUTES_PER_DAY];
     }
 
     /**
@@ -71,16 +154,8 @@ public class Time {
      * @return The name of the day that matches the given number, or "Unknown" if the number is invalid.
      */
     public String getDayName(int day) {
-        switch (day) {
-            case 1: return "Monday";
-            case 2: return "Tuesday";
-            case 3: return "Wednesday";
-            case 4: return "Thursday";
-            case 5: return "Friday";
-            case 6: return "Saturday";
-            case 7: return "Sunday";
-            default: return "Unknown";
-        }
+        if (day < 1 || day > DAYS_PER_WEEK) return "Unknown";
+        return DAY_NAMES[day - 1];
     }
 
     /**
@@ -89,7 +164,7 @@ public class Time {
      * @return The current day of the week, numbered from 1 (Monday) to 7 (Sunday).
      */
     public int getDay() {
-        return day;
+        return minutes / MINUTES_PER_DAY + 1;
     }
 
     /**
@@ -98,7 +173,7 @@ public class Time {
      * @return The current hour, in 24-hour format.
      */
     public int getHour() {
-        return hour;
+        return minutes % MINUTES_PER_DAY / MINUTES_PER_HOUR;
     }
 
     /**
@@ -107,6 +182,15 @@ public class Time {
      * @return The current minute.
      */
     public int getMinute() {
-        return minute;
+        return minutes % MINUTES_PER_HOUR;
+    }
+
+    /**
+     * Gets the current time as a single number, for comparing or storing times.
+     *
+     * @return The number of minutes since Monday 00:00.
+     */
+    public int getMinuteOfWeek() {
+        return minutes;
     }
 }
@@ -0,0 +1,85 @@
+package com.heshus18.game;
+
+/**
+ * The result of a completed week, as stored in the {@link SessionHistory}: the score counters, the character that was
+ * played, and when the week was started and finished.
+ */
+public class WeekRecord {
+    private final int timeAte, timeSlept, timeStudy, timeActivity;
+    private final String character;
+    private final long startedMillis, finishedMillis;
+
+    /**
+     * Creates a record of a week.
+     *
+     * @param timeAte        The number of times the player ate.
+     * @param timeSlept      The number of times the player slept.
+     * @param timeStudy      The number of times the player studied.
+     * @param timeActivity   The number of times the player did other activities.
+     * @param character      The sprite sheet of the character that was played.
+     * @param startedMillis  When the week was started, in milliseconds since the epoch.
+     * @param finishedMillis When the week was finished, in milliseconds since the epoch.
+     */
+    public WeekRecord(int timeAte, int timeSlept, int timeStudy, int timeActivity, String character,
+                      long startedMillis, long finishedMillis) {
+        this.timeAte = timeAte;
+        this.timeSlept = timeSlept;
+        this.timeStudy = timeStudy;
+        this.timeActivity = timeActivity;
+        this.character = character;
+        this.startedMillis = startedMillis;
+        this.finishedMillis = finishedMillis;
+    }
+
+    /**
+     * Creates a record of a week from its score counters.
+     *
+     * @param score          The score at the end of the week.
+     * @param character      The sprite sheet of the character that was played.
+     * @param startedMillis  When the week was started, in milliseconds since the epoch.
+     * @param finishedMillis When the week was finished, in milliseconds since the epoch.
+     * @return The record.
+     */
+    public static WeekRecord fromScore(Score score, String character, long startedMillis, long finishedMillis) {
+        return new WeekRecord(score.getTimeAte(), score.getTimeSlept(), score.getTimeStudy(), score.getTimeActivity(),
+                character, startedMillis, finishedMillis);
+    }
+
+    /**
+     * Gets how good the week was, for ranking the best weeks: the most times studied first, then the most times eating
+     * and doing other activities.
+     *
+     * @return The rank, higher is better.
+     */
+    public long getRank() {
+        return ((long) timeStudy << 32) + timeAte + timeActivity;
+    }
+
+    public int getTimeAte() {
+        return timeAte;
+    }
+
+    public int getTimeSlept() {
+        return timeSlept;
+    }
+
+    public int getTimeStudy() {
+        return timeStudy;
+    }
+
+    public int getTimeActivity() {
+        return timeActivity;
+    }
+
+    public String getCharacter() {
+        return character;
+    }
+
+    public long getStartedMillis() {
+        return startedMillis;
+    }
+
+    public long getFinishedMillis() {
+        return finishedMillis;
+    }
+}
@@ -0,0 +1,181 @@
+package com.heshus18.game;
+
+/**
+ * The rules of a week in the game, without anything that needs graphics, so they can be run by the game screen or by
+ * a simulation.
+ * Tracks the player's energy, the time of the week and the score, and decides what happens when an activity is done:
+ * activities drain energy and take time, and sleeping moves to the next day once it is late enough, ending the week
+ * after Sunday.
+ */
+public class WeekRules {
+    /**
+     * What happened when an activity was done.
+     */
+    public enum Outcome {
+        //The activity was done, draining energy and taking time
+        DONE,
+        //The player did not have enough energy for the activity, so nothing changed
+        NO_ENERGY,
+        //It was too early to go to bed, so nothing changed
+        TOO_EARLY,
+        //The player went to bed and it is now the next day
+        NEXT_DAY,
+        //The player went to bed on the last day, so the week is over
+        WEEK_OVER
+    }
+
+    public static final float MAX_ENERGY = 100f;
+    //The earliest hour the player can go to bed
+    public static final int BEDTIME_HOUR = 18;
+    //Going to bed up to this hour restores all energy, going to bed later only restores some
+    public static final int LATE_BEDTIME_HOUR = 22;
+    public static final float FULL_SLEEP_ENERGY = 100f;
+    public static final float LATE_SLEEP_ENERGY = 50f;
+    public static final int LAST_DAY = 7;
+
+    private final Score score;
+    private final Time time;
+    private float energy;
+    private boolean weekOver;
+
+    /**
+     * Creates the rules for a new week, starting at Monday 08:00 with full energy.
+     *
+     * @param score The score counters to increment as activities are done.
+     */
+    public WeekRules(Score score) {
+        this.score = score;
+        this.time = new Time();
+        reset();
+    }
+
+    /**
+     * Starts a new week, so the same rules can be used again. The score counters are not reset.
+     */
+    public void reset() {
+        time.reset();
+        energy = MAX_ENERGY;
+        weekOver = false;
+    }
+
+    /**
+     * Carries on a week from a saved time and energy. The score counters are restored separately.
+     *
+     * @param minuteOfWeek The time, in minutes since Monday 00:00.
+     * @param energy       The player's energy.
+     */
+    public void restore(int minuteOfWeek, float energy) {
+        time.setMinuteOfWeek(minuteOfWeek);
+        setEnergy(energy);
+        weekOver = false;
+    }
+
+    /**
+     * Checks if doing an activity now would change anything, i.e. it would not be refused for lack of energy or for
+     * being too early to go to bed.
+     *
+     * @param activity The activity to check.
+     * @return True if the activity can be done.
+     */
+    public boolean canPerform(Activity activity) {
+        if (weekOver) return false;
+        if (activity.getType() == Activity.Type.SLEEP) {
+            return time.getHour() >= BEDTIME_HOUR;
+        }
+        return energy >= activity.getEnergyCost();
+    }
+
+    /**
+     * Does an activity, applying its energy cost, time and score, or sends the player to bed if it is sleeping.
+     *
+     * @param activity The activity to do.
+     * @return What happened.
+     */
+    public Outcome perform(Activity activity) {
+        if (activity.getType() == Activity.Type.SLEEP) {
+            return sleep();
+        }
+        if (energy < activity.getEnergyCost()) {
+            return Outcome.NO_ENERGY;
+        }
+        setEnergy(energy - activity.getEnergyCost());
+        time.addTime(activity.getDuration());
+        switch (activity.getType()) {
+            case STUDY:
+                score.incrementTimeStudy();
+                break;
+            case EAT:
+                score.incrementTimeAte();
+                break;
+            default:
+                score.incrementTimeActivity();
+                break;
+        }
+        return Outcome.DONE;
+    }
+
+    /**
+     * Sends the player to bed, moving to the next day if it is late enough, or ending the week on the last day.
+     * Energy is restored in full if the player goes to bed by {@link #LATE_BEDTIME_HOUR}, and partly otherwise.
+     *
+     * @return What happened.
+     */
+    private Outcome sleep() {
+        int currentHour = time.getHour();
+        if (currentHour < BEDTIME_HOUR) {
+            return Outcome.TOO_EARLY;
+        }
+        score.incrementTimeSlept();
+        if (time.getDay() == LAST_DAY) {
+            weekOver = true;
+            return Outcome.WEEK_OVER;
+        }
+        time.nextDay();
+        if (currentHour <= LATE_BEDTIME_HOUR) {
+            setEnergy(energy + FULL_SLEEP_ENERGY);
+        } else {
+            setEnergy(energy + LATE_SLEEP_ENERGY);
+        }
+        return Outcome.NEXT_DAY;
+    }
+
+    private void setEnergy(float energy) {
+        this.energy = Math.max(0, Math.min(energy, MAX_ENERGY));
+    }
+
+    /**
+     * Gets the player's current energy.
+     *
+     * @return The energy, from 0 to {@link #MAX_ENERGY}.
+     */
+    public float getEnergy() {
+        return energy;
+    }
+
+    /**
+     * Gets the current time of the week.
+     *
+     * @return The time.
+     */
+    public Time getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the score counters incremented by these rules.
+     *
+     * @return The score.
+     */
+    public Score getScore() {
+        return score;
+    }
+
+    /**
+     * Checks if the player has gone to bed on the last day.
+     *
+     * @return True if the week is over.
+     */
+    public boolean isWeekOver() {
+        return weekOver;
+    }
+}
@@ -0,0 +1,187 @@
+package com.heshus18.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A copy of everything needed to carry on a week that is in progress: the time, the player's energy, the score
+ * counters, where the player is, which character they chose, and when the week was started.
+ * A snapshot is taken on the render thread and never changes afterwards, so it can be written out on another thread
+ * while the game carries on.
+ * Snapshots are stored in a small binary format that starts with its version, so older saves can still be read if the
+ * format changes.
+ */
+public class WeekSnapshot {
+    private static final int MAGIC = 0x48485356;
+    static final int VERSION = 1;
+
+    private final int minuteOfWeek;
+    private final float energy;
+    private final int timeAte, timeSlept, timeStudy, timeActivity;
+    private final float playerX, playerY;
+    private final String character;
+    private final long startedMillis, savedMillis;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param minuteOfWeek  The time, in minutes since Monday 00:00.
+     * @param energy        The player's energy.
+     * @param timeAte       The number of times the player ate.
+     * @param timeSlept     The number of times the player slept.
+     * @param timeStudy     The number of times the player studied.
+     * @param timeActivity  The number of times the player did other activities.
+     * @param playerX       The x coordinate of the player's hit box.
+     * @param playerY       The y coordinate of the player's hit box.
+     * @param character     The sprite sheet of the chosen character.
+     * @param startedMillis When the week was started, in milliseconds since the epoch.
+     * @param savedMillis   When the snapshot was taken, in milliseconds since the epoch.
+     */
+    public WeekSnapshot(int minuteOfWeek, float energy, int timeAte, int timeSlept, int timeStudy, int timeActivity,
+                        float playerX, float playerY, String character, long startedMillis, long savedMillis) {
+        this.minuteOfWeek = minuteOfWeek;
+        this.energy = energy;
+        this.timeAte = timeAte;
+        this.timeSlept = timeSlept;
+        this.timeStudy = timeStudy;
+        this.timeActivity = timeActivity;
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.character = character;
+        this.startedMillis = startedMillis;
+        this.savedMillis = savedMillis;
+    }
+
+    /**
+     * Takes a snapshot of a week in progress.
+     *
+     * @param week          The rules of the week, holding the time, energy and score.
+     * @param player        The player.
+     * @param character     The sprite sheet of the chosen character.
+     * @param startedMillis When the week was started, in milliseconds since the epoch.
+     * @param savedMillis   The time now, in milliseconds since the epoch.
+     * @return The snapshot.
+     */
+    public static WeekSnapshot capture(WeekRules week, Player player, String character, long startedMillis,
+                                       long savedMillis) {
+        Score score = week.getScore();
+        return new WeekSnapshot(week.getTime().getMinuteOfWeek(), week.getEnergy(), score.getTimeAte(),
+                score.getTimeSlept(), score.getTimeStudy(), score.getTimeActivity(), player.getX(), player.getY(),
+                character, startedMillis, savedMillis);
+    }
+
+    /**
+     * Writes the snapshot in its binary format.
+     *
+     * @return The bytes of the snapshot, about 60 bytes.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeShort(minuteOfWeek);
+            out.writeFloat(energy);
+            out.writeShort(timeAte);
+            out.writeShort(timeSlept);
+            out.writeShort(timeStudy);
+            out.writeShort(timeActivity);
+            out.writeFloat(playerX);
+            out.writeFloat(playerY);
+            out.writeUTF(character);
+            out.writeLong(startedMillis);
+            out.writeLong(savedMillis);
+        } catch (IOException e) {
+            //Never thrown when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #toBytes()}.
+     *
+     * @param data The bytes of the snapshot.
+     * @return The snapshot.
+     * @throws IOException If the bytes aren't a snapshot, are cut short, are from a newer version of the game, or have
+     *                     a time or character the game doesn't have.
+     */
+    public static WeekSnapshot fromBytes(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a saved week");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Saved week has unknown version " + version);
+        }
+        int minuteOfWeek = in.readUnsignedShort();
+        float energy = in.readFloat();
+        int timeAte = in.readUnsignedShort();
+        int timeSlept = in.readUnsignedShort();
+        int timeStudy = in.readUnsignedShort();
+        int timeActivity = in.readUnsignedShort();
+        float playerX = in.readFloat();
+        float playerY = in.readFloat();
+        String character = in.readUTF();
+        long startedMillis = in.readLong();
+        long savedMillis = in.readLong();
+        //A damaged save could otherwise stop the main menu or the game screen from opening
+        if (minuteOfWeek >= Time.MINUTES_PER_WEEK) {
+            throw new IOException("Saved week has minute " + minuteOfWeek + " past the end of the week");
+        }
+        if (!CharacterSelectScreen.isCharacter(character)) {
+            throw new IOException("Saved week has unknown character " + character);
+        }
+        return new WeekSnapshot(minuteOfWeek, energy, timeAte, timeSlept, timeStudy, timeActivity, playerX, playerY,
+                character, startedMillis, savedMillis);
+    }
+
+    public int getMinuteOfWeek() {
+        return minuteOfWeek;
+    }
+
+    public float getEnergy() {
+        return energy;
+    }
+
+    public int getTimeAte() {
+        return timeAte;
+    }
+
+    public int getTimeSlept() {
+        return timeSlept;
+    }
+
+    public int getTimeStudy() {
+        return timeStudy;
+    }
+
+    public int getTimeActivity() {
+        return timeActivity;
+    }
+
+    public float getPlayerX() {
+        return playerX;
+    }
+
+    public float getPlayerY() {
+        return playerY;
+    }
+
+    public String getCharacter() {
+        return character;
+    }
+
+    public long getStartedMillis() {
+        return startedMillis;
+    }
+
+    public long getSavedMillis() {
+        return savedMillis;
+    }
+}
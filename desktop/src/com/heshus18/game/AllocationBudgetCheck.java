@@ -0,0 +1,72 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Input;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that the in-game frame loop does not create garbage once it has warmed up.
+ * Drives GameScreen headlessly with scripted movement, interactions and pop-ups, measures the bytes allocated by the
+ * game thread per frame, and exits with an error if it is over budget.
+ */
+public class AllocationBudgetCheck {
+    static final int WARMUP_FRAMES = 3000;
+    static final int MEASURED_FRAMES = 6000;
+    //Allowed average allocation per frame, to leave some room for measurement noise
+    static final long BUDGET_BYTES_PER_FRAME = 16;
+
+    public static void main(String[] args) throws Exception {
+        final long[] allocated = new long[1];
+        HeadlessRunner.run(1 / 60f, new HeadlessRunner.Script() {
+            @Override
+            public void run(ScriptedInput input) {
+                HesHustle game = new HesHustle();
+                game.create();
+                GameScreen screen = new GameScreen(game, "KenzieSpriteSheet.png");
+                game.setScreen(screen);
+
+                for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                    step(game, screen, input, frame);
+                }
+
+                com.sun.management.ThreadMXBean threads =
+                        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long thread = Thread.currentThread().getId();
+                long before = threads.getThreadAllocatedBytes(thread);
+                for (int frame = WARMUP_FRAMES; frame < WARMUP_FRAMES + MEASURED_FRAMES; frame++) {
+                    step(game, screen, input, frame);
+                }
+                allocated[0] = threads.getThreadAllocatedBytes(thread) - before;
+            }
+        });
+
+        long perFrame = allocated[0] / MEASURED_FRAMES;
+        System.out.println("Allocated " + allocated[0] + " bytes over " + MEASURED_FRAMES + " frames ("
+                + perFrame + " bytes/frame, budget " + BUDGET_BYTES_PER_FRAME + ")");
+        if (perFrame > BUDGET_BYTES_PER_FRAME) {
+            System.err.println("Frame loop is over its allocation budget");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Renders one frame of the script: walks the player around in a loop, tries to interact, and opens and closes
+     * prompt and info pop-ups.
+     */
+    static void step(HesHustle game, GameScreen screen, ScriptedInput input, int frame) {
+        input.releaseAll();
+        int phase = (frame / 60) % 4;
+        if (phase == 0) input.press(Input.Keys.D);
+        else if (phase == 1) input.press(Input.Keys.W);
+        else if (phase == 2) input.press(Input.Keys.A);
+        else input.press(Input.Keys.S);
+
+        if (frame % 300 == 120) input.tap(Input.Keys.E);
+        if (frame % 600 == 200) screen.popUpManager.showPopUp("studyPopUp");
+        if (frame % 600 == 260) input.tap(Input.Keys.ESCAPE);
+        if (frame % 600 == 400) screen.popUpManager.showPopUp("studySuccess");
+
+        game.render();
+        input.endFrame();
+    }
+}
@@ -2,16 +2,76 @@ package com.heshus18.game;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
 import com.heshus18.game.HesHustle;
 
+import java.io.File;
+import java.io.IOException;
+
 // Please note that on macOS your application needs to be started with the -XstartOnFirstThread JVM argument
 public class DesktopLauncher {
+	/**
+	 * Starts the game in a window.
+	 * @param arg Optional settings: "--fps=N" to cap the frame rate at N (0 for no cap, which also turns off vsync),
+	 *            "--tick-rate=N" to step the game simulation N times a second, and "--record=FILE" to record the input of
+	 *            each week played to FILE, to be played back with {@link ReplayCheck}, "--profile" to show the frame
+	 *            profiler from the start (F3 shows or hides it in game), "--npcs=N" to have N students wandering
+	 *            around the campus, and "--threads=N" to step them on N worker threads as well as the render thread
+	 *            (one fewer than the number of processors by default).
+	 */
 	public static void main (String[] arg) {
+		int fps = 60;
+		int tickRate = HesHustle.DEFAULT_TICK_RATE;
+		String recording = null;
+		boolean profile = false;
+		int crowdSize = NpcCrowd.DEFAULT_SIZE;
+		int threads = Runtime.getRuntime().availableProcessors() - 1;
+		for (String option : arg) {
+			if (option.startsWith("--fps=")) {
+				fps = Integer.parseInt(option.substring("--fps=".length()));
+			} else if (option.startsWith("--tick-rate=")) {
+				tickRate = Integer.parseInt(option.substring("--tick-rate=".length()));
+			} else if (option.startsWith("--record=")) {
+				recording = option.substring("--record=".length());
+			} else if (option.equals("--profile")) {
+				profile = true;
+			} else if (option.startsWith("--npcs=")) {
+				crowdSize = Integer.parseInt(option.substring("--npcs=".length()));
+			} else if (option.startsWith("--threads=")) {
+				threads = Integer.parseInt(option.substring("--threads=".length()));
+			}
+		}
+
+		//Keep the session history and saves in files, or in the game's preferences if the files can't be opened
+		File directory = new File(System.getProperty("user.home"), ".heshus18");
+		SessionHistory history = null;
+		try {
+			history = new MappedSessionHistory(directory);
+		} catch (IOException e) {
+			System.err.println("Session history will be kept in preferences: " + e.getMessage());
+		}
+		SaveStore saves = null;
+		try {
+			saves = new FileSaveStore(new File(directory, "saves"));
+		} catch (IOException e) {
+			System.err.println("Saves will be kept in preferences: " + e.getMessage());
+		}
+
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
 		config.setTitle("Heslington Hustle");
 		config.setWindowedMode(800, 480);
-		config.useVsync(true);
-		config.setForegroundFPS(60);
-		new Lwjgl3Application(new HesHustle(), config);
+		config.useVsync(fps != 0);
+		config.setForegroundFPS(fps);
+		HesHustle game = new HesHustle(tickRate, history, saves);
+		if (recording != null) {
+			game.recorder = new InputRecorder(new FileHandle(new File(recording)));
+		}
+		game.profiler.setRuntimeStats(new JvmRuntimeStats());
+		game.profiler.setEnabled(profile);
+		game.crowdSize = crowdSize;
+		if (threads > 0) {
+			game.tasks = new ThreadPoolTaskRunner(threads);
+		}
+		new Lwjgl3Application(game, config);
 	}
 }
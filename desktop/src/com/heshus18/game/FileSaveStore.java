@@ -0,0 +1,154 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saved weeks for the desktop, one file per slot.
+ * Saving only hands the snapshot to a background thread, which writes it to a temporary file, syncs it to the disk
+ * and moves it over the slot's file, so a crash leaves either the old save or the new one, never half of one.
+ * Snapshots waiting to be written are kept in memory, so loading a slot always returns the newest save, and saving the
+ * same slot several times before the writer catches up only writes the last snapshot.
+ */
+public class FileSaveStore implements SaveStore {
+    //Stands for a slot that has been deleted but whose file hasn't been removed yet
+    private static final WeekSnapshot DELETED = new WeekSnapshot(0, 0, 0, 0, 0, 0, 0, 0, "", 0, 0);
+
+    private final File directory;
+    private final ExecutorService writer;
+    //The newest snapshot of each slot that hasn't been written yet. Updated without locking, so saving never waits for
+    //the writer
+    private final ConcurrentHashMap<Integer, WeekSnapshot> unwritten;
+
+    /**
+     * Opens the saves in a directory, creating it if it doesn't exist.
+     *
+     * @param directory The directory to keep the saves in.
+     * @throws IOException If the directory can't be created.
+     */
+    public FileSaveStore(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+        this.directory = directory;
+        unwritten = new ConcurrentHashMap<Integer, WeekSnapshot>();
+        writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "SaveStore writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private File slotFile(int slot) {
+        return new File(directory, "slot" + slot + ".sav");
+    }
+
+    @Override
+    public void save(int slot, WeekSnapshot snapshot) {
+        change(slot, snapshot);
+    }
+
+    @Override
+    public void delete(int slot) {
+        change(slot, DELETED);
+    }
+
+    //Replaces the slot's unwritten snapshot, starting a write unless one is already waiting to pick it up
+    private void change(final int slot, WeekSnapshot snapshot) {
+        if (unwritten.put(slot, snapshot) == null) {
+            writer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    writeSlot(slot);
+                }
+            });
+        }
+    }
+
+    //Writes the slot's newest snapshot, again if it was saved while writing, until there is nothing left to write
+    private void writeSlot(int slot) {
+        while (true) {
+            WeekSnapshot snapshot = unwritten.get(slot);
+            try {
+                if (snapshot == DELETED) {
+                    Files.deleteIfExists(slotFile(slot).toPath());
+                } else {
+                    write(slotFile(slot), snapshot.toBytes());
+                }
+            } catch (IOException e) {
+                Gdx.app.error("SaveStore", "Couldn't write slot " + slot, e);
+            }
+            //Only done once nothing newer was saved while writing, checked and removed in one step
+            if (unwritten.remove(slot, snapshot)) {
+                return;
+            }
+        }
+    }
+
+    private static void write(File file, byte[] data) throws IOException {
+        File temporary = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public WeekSnapshot load(int slot) {
+        WeekSnapshot snapshot = unwritten.get(slot);
+        if (snapshot != null) {
+            return snapshot == DELETED ? null : snapshot;
+        }
+        File file = slotFile(slot);
+        if (!file.isFile()) return null;
+        try {
+            return WeekSnapshot.fromBytes(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            Gdx.app.error("SaveStore", "Couldn't read " + file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean has(int slot) {
+        WeekSnapshot snapshot = unwritten.get(slot);
+        if (snapshot != null) {
+            return snapshot != DELETED;
+        }
+        return slotFile(slot).isFile();
+    }
+
+    /**
+     * Waits for the saves made so far to be written.
+     */
+    @Override
+    public void dispose() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
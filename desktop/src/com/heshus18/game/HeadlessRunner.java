@@ -0,0 +1,124 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs a script against the game with libGDX's headless backend and a GL layer that does nothing, so the game can
+ * be driven frame by frame on a machine with no display or GPU.
+ * Every frame reports the same delta time, so a script always produces the same game state.
+ */
+public class HeadlessRunner {
+    /**
+     * Work to run on the headless application's thread once libGDX is set up.
+     */
+    public interface Script {
+        /**
+         * Runs the script.
+         *
+         * @param input The input the game reads, controlled by the script.
+         * @throws Exception If the script fails.
+         */
+        void run(ScriptedInput input) throws Exception;
+    }
+
+    /**
+     * Graphics that reports a fixed delta time for every frame.
+     */
+    static class FixedStepGraphics extends MockGraphics {
+        private final float delta;
+
+        FixedStepGraphics(float delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        public float getDeltaTime() {
+            return delta;
+        }
+
+        @Override
+        public int getWidth() {
+            return 800;
+        }
+
+        @Override
+        public int getHeight() {
+            return 480;
+        }
+    }
+
+    /**
+     * Creates the game with its session history and saves in a directory, so headless runs don't touch the player's
+     * own.
+     *
+     * @param tickRate  How many times a second the game simulation is stepped.
+     * @param directory The directory to keep the history and saves in.
+     * @return The game, which still needs to be created.
+     * @throws IOException If the history or saves can't be opened.
+     */
+    public static HesHustle createGame(int tickRate, File directory) throws IOException {
+        return new HesHustle(tickRate, new MappedSessionHistory(directory),
+                new FileSaveStore(new File(directory, "saves")));
+    }
+
+    /**
+     * Deletes a directory made for a headless run, and everything in it.
+     *
+     * @param file The directory.
+     */
+    public static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Boots a headless application, runs the script on its thread and shuts the application down again.
+     *
+     * @param frameDelta The delta time in seconds reported for every frame.
+     * @param script     The script to run.
+     * @throws Exception The exception thrown by the script, if it failed.
+     */
+    public static void run(final float frameDelta, final Script script) throws Exception {
+        final Exception[] failure = new Exception[1];
+        final CountDownLatch finished = new CountDownLatch(1);
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        //The script drives the frames itself, so the application loop never needs to render
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                HeadlessGL20 gl = new HeadlessGL20();
+                FixedStepGraphics graphics = new FixedStepGraphics(frameDelta);
+                graphics.setGL20(gl);
+                Gdx.graphics = graphics;
+                Gdx.gl = gl;
+                Gdx.gl20 = gl;
+                ScriptedInput input = new ScriptedInput();
+                Gdx.input = input;
+                try {
+                    script.run(input);
+                } catch (Exception e) {
+                    failure[0] = e;
+                } finally {
+                    Gdx.app.exit();
+                    finished.countDown();
+                }
+            }
+        }, config);
+        finished.await();
+        if (failure[0] != null) throw failure[0];
+    }
+}
@@ -0,0 +1,34 @@
+package com.heshus18.game;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Runtime statistics for the frame profiler from the JVM: garbage collections counted by every collector, and the
+ * used heap. Neither allocates, so reading them every frame doesn't cause the collections being counted.
+ */
+public class JvmRuntimeStats implements FrameProfiler.RuntimeStats {
+    private final GarbageCollectorMXBean[] collectors;
+    private final Runtime runtime;
+
+    public JvmRuntimeStats() {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        runtime = Runtime.getRuntime();
+    }
+
+    @Override
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    @Override
+    public long getHeapUsed() {
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,292 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session history for the desktop, stored in an append-only binary log of fixed-size records, with a small index file
+ * holding the best weeks and per-character totals.
+ * Records are read through a memory-mapped view of the log, so getting the recent or best weeks only reads those
+ * records. Weeks are written on a background thread, so finishing a week never waits for the disk.
+ * The index is rewritten after every week. If the game stops between writing a record and its index, the missing
+ * records are added to the index the next time the history is opened, and a record that was only partly written is
+ * dropped.
+ */
+public class MappedSessionHistory implements SessionHistory {
+    private static final int MAGIC = 0x48485348;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    //Counters as shorts, then start and finish times, then the character's sprite sheet as zero-padded UTF-8
+    private static final int CHARACTER_BYTES = 24;
+    static final int RECORD_BYTES = 4 * 2 + 2 * 8 + CHARACTER_BYTES;
+
+    private final File logFile, indexFile;
+    private final FileChannel log;
+    private final SessionIndex index;
+    private final ExecutorService writer;
+    private final ByteBuffer writeBuffer;
+    private MappedByteBuffer mapped;
+    //Number of records in the log, only changed while holding the lock on this
+    private int size;
+
+    /**
+     * Opens the history in a directory, creating it if it doesn't exist.
+     *
+     * @param directory The directory to keep the log and index in.
+     * @throws IOException If the log can't be opened, or isn't a session history.
+     */
+    public MappedSessionHistory(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+        logFile = new File(directory, "history.log");
+        indexFile = new File(directory, "history.idx");
+        log = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        writeBuffer = ByteBuffer.allocate(RECORD_BYTES);
+
+        if (log.size() < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            log.truncate(0);
+            log.write(header, 0);
+            log.force(true);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            log.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                log.close();
+                throw new IOException(logFile + " is not a session history");
+            }
+        }
+        //Drop a record that was only partly written
+        size = (int) ((log.size() - HEADER_BYTES) / RECORD_BYTES);
+        log.truncate(HEADER_BYTES + (long) size * RECORD_BYTES);
+
+        index = readIndex();
+        for (int position = index.getSize(); position < size; position++) {
+            index.add(read(position));
+        }
+
+        writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "SessionHistory writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public void record(final WeekRecord record) {
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    append(record);
+                } catch (IOException e) {
+                    Gdx.app.error("SessionHistory", "Couldn't record week", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds many completed weeks to the history at once, on the calling thread, writing the index only once they are
+     * all in the log. Used to fill large histories, e.g. for benchmarks, which would take minutes one week at a time.
+     *
+     * @param records The weeks, in the order they were played.
+     * @throws IOException If the weeks can't be written.
+     */
+    synchronized void recordAll(Array<WeekRecord> records) throws IOException {
+        for (WeekRecord record : records) {
+            write(record);
+            size++;
+            index.add(record);
+        }
+        log.force(false);
+        writeIndex();
+    }
+
+    private synchronized void append(WeekRecord record) throws IOException {
+        write(record);
+        log.force(false);
+        size++;
+        index.add(record);
+        writeIndex();
+    }
+
+    //Writes a record to the end of the log, without flushing it or adding it to the index
+    private void write(WeekRecord record) throws IOException {
+        writeBuffer.clear();
+        writeBuffer.putShort((short) record.getTimeAte());
+        writeBuffer.putShort((short) record.getTimeSlept());
+        writeBuffer.putShort((short) record.getTimeStudy());
+        writeBuffer.putShort((short) record.getTimeActivity());
+        writeBuffer.putLong(record.getStartedMillis());
+        writeBuffer.putLong(record.getFinishedMillis());
+        byte[] character = record.getCharacter().getBytes(StandardCharsets.UTF_8);
+        writeBuffer.put(character, 0, Math.min(character.length, CHARACTER_BYTES));
+        while (writeBuffer.hasRemaining()) {
+            writeBuffer.put((byte) 0);
+        }
+        writeBuffer.flip();
+        log.write(writeBuffer, HEADER_BYTES + (long) size * RECORD_BYTES);
+    }
+
+    //Reads a record through the mapped log, mapping the log again if it has grown since it was last mapped
+    private WeekRecord read(int position) throws IOException {
+        long end = HEADER_BYTES + (long) (position + 1) * RECORD_BYTES;
+        if (mapped == null || mapped.capacity() < end) {
+            mapped = log.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES + (long) size * RECORD_BYTES);
+        }
+        int offset = HEADER_BYTES + position * RECORD_BYTES;
+        int characterLength = 0;
+        while (characterLength < CHARACTER_BYTES && mapped.get(offset + 24 + characterLength) != 0) {
+            characterLength++;
+        }
+        byte[] character = new byte[characterLength];
+        for (int i = 0; i < characterLength; i++) {
+            character[i] = mapped.get(offset + 24 + i);
+        }
+        return new WeekRecord(mapped.getShort(offset), mapped.getShort(offset + 2), mapped.getShort(offset + 4),
+                mapped.getShort(offset + 6), new String(character, StandardCharsets.UTF_8),
+                mapped.getLong(offset + 8), mapped.getLong(offset + 16));
+    }
+
+    //Reads the index file, or returns an empty index if it is missing or damaged, so it is rebuilt from the log
+    private SessionIndex readIndex() {
+        SessionIndex read = new SessionIndex();
+        if (!indexFile.isFile()) return read;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return new SessionIndex();
+            int indexSize = buffer.getInt();
+            //An index covering records that aren't in the log is from a different log
+            if (indexSize > size) return new SessionIndex();
+            read.size = indexSize;
+            int characters = buffer.getInt();
+            for (int i = 0; i < characters; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                long[] totals = new long[5];
+                for (int j = 0; j < totals.length; j++) {
+                    totals[j] = buffer.getLong();
+                }
+                read.totals.put(new String(name, StandardCharsets.UTF_8), totals);
+            }
+            int best = buffer.getInt();
+            for (int i = 0; i < best; i++) {
+                read.bestPositions.add(buffer.getInt());
+                read.bestRanks.add(buffer.getLong());
+            }
+            return read;
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("SessionHistory", "Rebuilding damaged index " + indexFile, e);
+            return new SessionIndex();
+        }
+    }
+
+    //Writes the index to a temporary file and moves it over the old one, so a crash never leaves half an index
+    private void writeIndex() throws IOException {
+        int bytes = 16;
+        for (ObjectMap.Entry<String, long[]> entry : index.totals) {
+            bytes += 2 + entry.key.getBytes(StandardCharsets.UTF_8).length + 5 * 8;
+        }
+        bytes += 4 + index.bestPositions.size * 12;
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(index.getSize()).putInt(index.totals.size);
+        for (ObjectMap.Entry<String, long[]> entry : index.totals) {
+            byte[] name = entry.key.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) name.length).put(name);
+            for (long total : entry.value) {
+                buffer.putLong(total);
+            }
+        }
+        buffer.putInt(index.bestPositions.size);
+        for (int i = 0; i < index.bestPositions.size; i++) {
+            buffer.putInt(index.bestPositions.get(i)).putLong(index.bestRanks.get(i));
+        }
+
+        File temporary = new File(indexFile.getPath() + ".tmp");
+        Files.write(temporary.toPath(), buffer.array());
+        Files.move(temporary.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public synchronized Array<WeekRecord> getBest(int count) {
+        Array<WeekRecord> best = new Array<WeekRecord>();
+        IntArray positions = index.getBestPositions();
+        try {
+            for (int i = 0; i < Math.min(count, positions.size); i++) {
+                best.add(read(positions.get(i)));
+            }
+        } catch (IOException e) {
+            Gdx.app.error("SessionHistory", "Couldn't read history", e);
+        }
+        return best;
+    }
+
+    @Override
+    public synchronized Array<WeekRecord> getRecent(int count) {
+        Array<WeekRecord> recent = new Array<WeekRecord>();
+        try {
+            for (int position = size - 1; position >= 0 && recent.size < count; position--) {
+                recent.add(read(position));
+            }
+        } catch (IOException e) {
+            Gdx.app.error("SessionHistory", "Couldn't read history", e);
+        }
+        return recent;
+    }
+
+    @Override
+    public synchronized Averages getAverages(String character) {
+        return index.getAverages(character);
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Waits for the weeks recorded so far to be written, then closes the log.
+     */
+    @Override
+    public void dispose() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                Gdx.app.error("SessionHistory", "Couldn't close " + logFile, e);
+            }
+        }
+    }
+}
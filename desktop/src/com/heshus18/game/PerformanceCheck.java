@@ -0,0 +1,215 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Checks that a whole scripted week of the game stays within its CPU and allocation budgets.
+ * Boots HesHustle headlessly, clicks through the main menu and character select like a player would, then plays the
+ * week: walking around and confirming activities through their pop-ups, sleeping once it is late enough. Reports the
+ * CPU time and allocations of the frames spent in GameScreen and the state the week ended in. Once the week is over it
+ * goes back to the main menu and starts another week, which should reuse the screens from the first and be quick.
+ * Exits with an error if the average CPU time or allocations per frame are over budget, or if the new week built a new
+ * GameScreen.
+ * Options are "--frames=N", the most frames to play in GameScreen (the week usually ends first), and
+ * "--cpu-budget=N" and "--allocation-budget=N" to override the budgets, in microseconds and bytes per frame.
+ */
+public class PerformanceCheck {
+    static final int DEFAULT_FRAMES = 20000;
+    //Average CPU time allowed per frame, generous enough for a slow build machine
+    static final long CPU_BUDGET_MICROS = 500;
+    //Average allocation allowed per frame. Confirming an activity allocates a little (e.g. the autosave snapshot), but
+    //walking around should not
+    static final long ALLOCATION_BUDGET_BYTES = 64;
+    //Frames between activities, and when in each cycle the prompt is shown, confirmed and any warning closed
+    static final int CYCLE = 240, SHOW = 60, CONFIRM = 90, CLOSE = 150;
+    //Where the menu buttons and the prompt's confirm button are on screen, in screen pixels from the top left
+    static final int START_X = 400, START_Y = 155, CHARACTER_X = 192, CHARACTER_Y = 280, CONFIRM_X = 295,
+            CONFIRM_Y = 270, MAIN_MENU_X = 400, MAIN_MENU_Y = 325;
+    //Keys the player walks in a square with, a second each, so the player moves and collides with the map
+    static final int[] DIRECTIONS = {Input.Keys.D, Input.Keys.W, Input.Keys.A, Input.Keys.S};
+
+    public static void main(String[] args) throws Exception {
+        int maxFrames = DEFAULT_FRAMES;
+        long cpuBudget = CPU_BUDGET_MICROS, allocationBudget = ALLOCATION_BUDGET_BYTES;
+        for (String option : args) {
+            if (option.startsWith("--frames=")) {
+                maxFrames = Integer.parseInt(option.substring("--frames=".length()));
+            } else if (option.startsWith("--cpu-budget=")) {
+                cpuBudget = Long.parseLong(option.substring("--cpu-budget=".length()));
+            } else if (option.startsWith("--allocation-budget=")) {
+                allocationBudget = Long.parseLong(option.substring("--allocation-budget=".length()));
+            } else {
+                System.err.println("Unknown option " + option);
+                System.exit(2);
+            }
+        }
+
+        final int frames = maxFrames;
+        final Result result = new Result(frames);
+        final File scratch = Files.createTempDirectory("performance").toFile();
+        HeadlessRunner.run(1 / 60f, new HeadlessRunner.Script() {
+            @Override
+            public void run(ScriptedInput input) throws Exception {
+                HesHustle game = HeadlessRunner.createGame(HesHustle.DEFAULT_TICK_RATE, scratch);
+                game.create();
+                GameScreen screen = startGame(game, input);
+                play(game, screen, input, result);
+                if (result.weekOver) {
+                    restart(game, screen, input, result);
+                }
+                game.history.dispose();
+                game.saves.dispose();
+            }
+        });
+        HeadlessRunner.delete(scratch);
+
+        long cpuPerFrame = result.cpuNanos / Math.max(1, result.frames) / 1000;
+        long allocatedPerFrame = result.allocatedBytes / Math.max(1, result.frames);
+        long[] sorted = Arrays.copyOf(result.frameNanos, result.frames);
+        Arrays.sort(sorted);
+        System.out.println("Played " + result.frames + " frames in GameScreen"
+                + (result.weekOver ? ", until the week was over" : ""));
+        System.out.println("CPU " + cpuPerFrame + " us/frame (budget " + cpuBudget + "), wall p50 "
+                + sorted[sorted.length / 2] / 1000 + " us, p99 " + sorted[sorted.length * 99 / 100] / 1000
+                + " us, max " + sorted[sorted.length - 1] / 1000 + " us");
+        System.out.println("Allocated " + result.allocatedBytes + " bytes (" + allocatedPerFrame
+                + " bytes/frame, budget " + allocationBudget + ")");
+        WeekSnapshot end = result.end;
+        System.out.println("Ended on day " + (end.getMinuteOfWeek() / (24 * 60) + 1) + " at minute "
+                + end.getMinuteOfWeek() % (24 * 60) + " with " + end.getEnergy() + " energy, ate "
+                + end.getTimeAte() + ", slept " + end.getTimeSlept() + ", studied " + end.getTimeStudy()
+                + ", activities " + end.getTimeActivity() + ", at " + end.getPlayerX() + "," + end.getPlayerY());
+
+        if (result.weekOver) {
+            System.out.println("Game over to a new week in " + result.restartNanos / 1000 + " us, "
+                    + (result.screenReused ? "reusing" : "rebuilding") + " GameScreen");
+        }
+
+        boolean failed = false;
+        if (cpuPerFrame > cpuBudget) {
+            System.err.println("GameScreen is over its CPU budget");
+            failed = true;
+        }
+        if (allocatedPerFrame > allocationBudget) {
+            System.err.println("GameScreen is over its allocation budget");
+            failed = true;
+        }
+        if (result.weekOver && !result.screenReused) {
+            System.err.println("Starting another week built a new GameScreen");
+            failed = true;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * What was measured while playing.
+     */
+    static class Result {
+        final long[] frameNanos;
+        int frames;
+        long cpuNanos, allocatedBytes;
+        boolean weekOver, screenReused;
+        WeekSnapshot end;
+        long restartNanos;
+
+        Result(int maxFrames) {
+            frameNanos = new long[maxFrames];
+        }
+    }
+
+    /**
+     * Clicks start on the main menu and picks a character, waiting through the loading screen if it is shown.
+     */
+    static GameScreen startGame(HesHustle game, ScriptedInput input) {
+        click(game, input, START_X, START_Y);
+        if (!(game.getScreen() instanceof CharacterSelectScreen)) {
+            throw new IllegalStateException("Start button didn't open character select");
+        }
+        click(game, input, CHARACTER_X, CHARACTER_Y);
+        for (int frame = 0; !(game.getScreen() instanceof GameScreen); frame++) {
+            if (!(game.getScreen() instanceof LoadingScreen) || frame > 100000) {
+                throw new IllegalStateException("Character select didn't start the game");
+            }
+            game.render();
+        }
+        return (GameScreen) game.getScreen();
+    }
+
+    /**
+     * Goes from the game over screen back to the main menu and starts another week, timing how long it takes.
+     */
+    static void restart(HesHustle game, GameScreen screen, ScriptedInput input, Result result) {
+        long started = System.nanoTime();
+        click(game, input, MAIN_MENU_X, MAIN_MENU_Y);
+        if (!(game.getScreen() instanceof MainMenuScreen)) {
+            throw new IllegalStateException("Main menu button didn't open the main menu");
+        }
+        GameScreen next = startGame(game, input);
+        result.restartNanos = System.nanoTime() - started;
+        result.screenReused = next == screen;
+    }
+
+    private static void click(HesHustle game, ScriptedInput input, int x, int y) {
+        input.touch(x, y);
+        game.render();
+        input.endFrame();
+    }
+
+    /**
+     * Plays the week, measuring every frame until the week is over or the most frames have been played.
+     */
+    static void play(HesHustle game, GameScreen screen, ScriptedInput input, Result result) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Activity sleep = null;
+        Array<Activity> others = new Array<Activity>();
+        for (int i = 0; i < screen.activities.size(); i++) {
+            Activity activity = screen.activities.get(i);
+            if (activity.getType() == Activity.Type.SLEEP) {
+                sleep = activity;
+            } else {
+                others.add(activity);
+            }
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+
+        int frame = 0;
+        for (; frame < result.frameNanos.length && game.getScreen() == screen; frame++) {
+            input.releaseAll();
+            input.press(DIRECTIONS[(frame / 60) % DIRECTIONS.length]);
+
+            int phase = frame % CYCLE;
+            if (phase == SHOW) {
+                //Go to bed once it is late enough, otherwise cycle through the other activities
+                Activity activity = screen.getTime().getHour() >= WeekRules.BEDTIME_HOUR && sleep != null
+                        ? sleep : others.get((frame / CYCLE) % others.size);
+                screen.popUpManager.showPopUp(activity.getPromptPopUpId());
+            } else if (phase == CONFIRM) {
+                input.touch(CONFIRM_X, CONFIRM_Y);
+            } else if (phase == CLOSE) {
+                input.tap(Input.Keys.ESCAPE);
+            }
+
+            long started = System.nanoTime();
+            game.render();
+            result.frameNanos[frame] = System.nanoTime() - started;
+            input.endFrame();
+        }
+
+        result.cpuNanos = threads.getCurrentThreadCpuTime() - cpuBefore;
+        result.allocatedBytes = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        result.frames = frame;
+        result.weekOver = game.getScreen() != screen;
+        result.end = screen.snapshot();
+    }
+}
@@ -0,0 +1,84 @@
+package com.heshus18.game;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Plays back input recordings made with the desktop launcher's "--record=FILE" option against GameScreen headlessly,
+ * and checks that each week ends where it did when it was recorded: the same time, energy, score and player position.
+ * Reports how long the replay took, so recorded sessions can be used as repeatable workloads when measuring
+ * performance. Exits with an error if any replay doesn't match its recording.
+ */
+public class ReplayCheck {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayCheck <recording>...");
+            System.exit(2);
+        }
+        boolean matched = true;
+        for (String path : args) {
+            matched &= replay(new File(path));
+        }
+        if (!matched) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays back a recording, one tick per frame.
+     *
+     * @param file The recording.
+     * @return True if the week ended where it did when it was recorded.
+     */
+    static boolean replay(File file) throws Exception {
+        final InputReplay replay = new InputReplay(Files.readAllBytes(file.toPath()));
+        final WeekSnapshot[] end = new WeekSnapshot[1];
+        final long[] nanos = new long[1];
+        //Completed weeks and saves go to a throwaway directory, so replays don't touch the player's own
+        final File scratch = Files.createTempDirectory("replay").toFile();
+        HeadlessRunner.run(1f / replay.getTickRate(), new HeadlessRunner.Script() {
+            @Override
+            public void run(ScriptedInput input) throws Exception {
+                HesHustle game = HeadlessRunner.createGame(replay.getTickRate(), scratch);
+                game.create();
+                GameScreen screen = new GameScreen(game, replay.getStart());
+                screen.setInputSource(replay);
+                game.setScreen(screen);
+
+                long started = System.nanoTime();
+                //The week ending switches to the game over screen
+                while (!replay.isFinished() && game.getScreen() == screen) {
+                    game.render();
+                }
+                nanos[0] = System.nanoTime() - started;
+                end[0] = screen.snapshot();
+                game.history.dispose();
+                game.saves.dispose();
+            }
+        });
+        HeadlessRunner.delete(scratch);
+
+        WeekSnapshot expected = replay.getEnd();
+        boolean matched = end[0].getMinuteOfWeek() == expected.getMinuteOfWeek()
+                && end[0].getEnergy() == expected.getEnergy()
+                && end[0].getTimeAte() == expected.getTimeAte()
+                && end[0].getTimeSlept() == expected.getTimeSlept()
+                && end[0].getTimeStudy() == expected.getTimeStudy()
+                && end[0].getTimeActivity() == expected.getTimeActivity()
+                && end[0].getPlayerX() == expected.getPlayerX()
+                && end[0].getPlayerY() == expected.getPlayerY();
+        System.out.println(file + ": " + replay.getTicks() + " ticks in " + nanos[0] / 1000000 + " ms ("
+                + nanos[0] / Math.max(1, replay.getTicks()) / 1000f + " us/tick), " + (matched ? "matches" : "DIFFERS"));
+        if (!matched) {
+            System.out.println("  expected " + describe(expected));
+            System.out.println("  replayed " + describe(end[0]));
+        }
+        return matched;
+    }
+
+    private static String describe(WeekSnapshot week) {
+        return "minute " + week.getMinuteOfWeek() + ", energy " + week.getEnergy() + ", ate " + week.getTimeAte()
+                + ", slept " + week.getTimeSlept() + ", studied " + week.getTimeStudy() + ", activities "
+                + week.getTimeActivity() + ", at " + week.getPlayerX() + "," + week.getPlayerY();
+    }
+}
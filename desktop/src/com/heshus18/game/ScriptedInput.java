@@ -0,0 +1,94 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+
+/**
+ * Input that is driven by a script instead of a keyboard and mouse, for running the game headlessly.
+ * Keys can be held down or tapped, and taps/touches only count as "just pressed" until {@link #endFrame()}.
+ */
+public class ScriptedInput extends MockInput {
+    private final boolean[] pressed = new boolean[256];
+    private final boolean[] justPressed = new boolean[256];
+    private boolean justTouched;
+    private int touchX, touchY;
+
+    /**
+     * Holds a key down until it is released.
+     *
+     * @param key The key code from {@link com.badlogic.gdx.Input.Keys}.
+     */
+    public void press(int key) {
+        if (!pressed[key]) justPressed[key] = true;
+        pressed[key] = true;
+    }
+
+    /**
+     * Releases a held key.
+     *
+     * @param key The key code from {@link com.badlogic.gdx.Input.Keys}.
+     */
+    public void release(int key) {
+        pressed[key] = false;
+    }
+
+    /**
+     * Releases every held key.
+     */
+    public void releaseAll() {
+        for (int i = 0; i < pressed.length; i++) pressed[i] = false;
+    }
+
+    /**
+     * Presses a key for the current frame only.
+     *
+     * @param key The key code from {@link com.badlogic.gdx.Input.Keys}.
+     */
+    public void tap(int key) {
+        justPressed[key] = true;
+    }
+
+    /**
+     * Touches the screen at a position for the current frame.
+     *
+     * @param x The x coordinate in screen pixels.
+     * @param y The y coordinate in screen pixels, from the top of the screen.
+     */
+    public void touch(int x, int y) {
+        justTouched = true;
+        touchX = x;
+        touchY = y;
+    }
+
+    /**
+     * Clears the "just pressed" and "just touched" state at the end of a frame.
+     */
+    public void endFrame() {
+        for (int i = 0; i < justPressed.length; i++) justPressed[i] = false;
+        justTouched = false;
+    }
+
+    @Override
+    public boolean isKeyPressed(int key) {
+        return key >= 0 && key < pressed.length && pressed[key];
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int key) {
+        return key >= 0 && key < justPressed.length && justPressed[key];
+    }
+
+    @Override
+    public boolean justTouched() {
+        return justTouched;
+    }
+
+    @Override
+    public int getX() {
+        return touchX;
+    }
+
+    @Override
+    public int getY() {
+        return touchY;
+    }
+}
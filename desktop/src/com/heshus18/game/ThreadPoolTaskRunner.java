@@ -0,0 +1,138 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Runs tasks split across a fixed set of worker threads and the calling thread.
+ * The workers wait for work between runs rather than being handed it through a queue, so running a task doesn't
+ * allocate anything. A run returns once every part has finished, and small runs are done on the calling thread in one
+ * go, as waking the workers would take longer than the work.
+ */
+public class ThreadPoolTaskRunner implements TaskRunner {
+    //Fewest items worth giving a thread of its own
+    private static final int MIN_PART_SIZE = 256;
+
+    private final Object lock = new Object();
+    private final Thread[] workers;
+    //Increased for every run, so the workers know there is new work
+    private int generation;
+    private Task task;
+    private int count, parts, pending;
+    private Throwable failure;
+    private boolean disposed;
+
+    /**
+     * Creates a runner and starts its worker threads.
+     *
+     * @param threads The number of worker threads, in addition to the thread that calls {@link #run}.
+     */
+    public ThreadPoolTaskRunner(int threads) {
+        workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final int part = i + 1;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work(part);
+                }
+            }, "TaskRunner-" + part);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    @Override
+    public void run(int count, Task task) {
+        int parts = Math.min(workers.length + 1, count / MIN_PART_SIZE);
+        if (parts <= 1) {
+            task.run(0, count);
+            return;
+        }
+        synchronized (lock) {
+            if (disposed) throw new IllegalStateException("Task runner has been disposed");
+            this.task = task;
+            this.count = count;
+            this.parts = parts;
+            pending = parts - 1;
+            failure = null;
+            generation++;
+            lock.notifyAll();
+        }
+        try {
+            task.run(0, end(0, count, parts));
+        } finally {
+            //Wait for the workers even if this part failed, so they are never still running the task after a return
+            boolean interrupted = false;
+            synchronized (lock) {
+                while (pending > 0) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                this.task = null;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw new GdxRuntimeException("Task failed on a worker thread", failure);
+        }
+    }
+
+    //Runs the given part of every run that has that many parts, until disposed
+    private void work(int part) {
+        int seen = 0;
+        while (true) {
+            Task task;
+            int start, end;
+            synchronized (lock) {
+                while (generation == seen && !disposed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (disposed) return;
+                seen = generation;
+                if (part >= parts) continue;
+                task = this.task;
+                start = end(part - 1, count, parts);
+                end = end(part, count, parts);
+            }
+            Throwable thrown = null;
+            try {
+                task.run(start, end);
+            } catch (Throwable t) {
+                thrown = t;
+            }
+            synchronized (lock) {
+                if (thrown != null && failure == null) {
+                    failure = thrown;
+                }
+                if (--pending == 0) {
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    //Where a part ends, with the items shared out as evenly as possible
+    private static int end(int part, int count, int parts) {
+        return (int) ((long) count * (part + 1) / parts);
+    }
+
+    /**
+     * Stops the worker threads once they have finished what they are running.
+     */
+    @Override
+    public void dispose() {
+        synchronized (lock) {
+            disposed = true;
+            lock.notifyAll();
+        }
+    }
+}
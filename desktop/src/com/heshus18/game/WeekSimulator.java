@@ -0,0 +1,255 @@
+package com.heshus18.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many weeks of the game with {@link WeekRules} and no graphics, choosing activities with a policy, and reports
+ * how the score counters are distributed, for balancing the activities in "activities.json".
+ * Weeks are split between every core with fork/join. Each week has its own seed, so the results are the same however
+ * the work is split.
+ * Run with "./gradlew desktop:simulateWeeks", passing options with -Pargs, e.g.
+ * "-Pargs='--weeks=1000000 --policy=greedy --cost-scale=0.8,1,1.2'".
+ */
+public class WeekSimulator {
+    private static final long DEFAULT_WEEKS = 1000000;
+    //Weeks played by one fork/join task without splitting it further
+    private static final int WEEKS_PER_TASK = 8192;
+    //Weeks where the player does this many activities without finishing are stopped, as time can wrap past Sunday
+    private static final int MAX_ACTIONS = 500;
+    //Counter values above this are added to the last histogram bucket
+    private static final int MAX_COUNT = 63;
+
+    /**
+     * How a simulated player chooses what to do next from the activities that can be done.
+     */
+    public enum Policy {
+        //Chooses any activity that can be done, with equal chance
+        RANDOM {
+            @Override
+            Activity choose(Array<Activity> possible, RandomXS128 random) {
+                return possible.get(random.nextInt(possible.size));
+            }
+        },
+        //Studies whenever possible, then eats, then does other activities, and only goes to bed when nothing else
+        //can be done
+        GREEDY {
+            @Override
+            Activity choose(Array<Activity> possible, RandomXS128 random) {
+                Activity best = possible.first();
+                for (int i = 1; i < possible.size; i++) {
+                    if (possible.get(i).getType().ordinal() < best.getType().ordinal()) {
+                        best = possible.get(i);
+                    }
+                }
+                return best;
+            }
+        };
+
+        abstract Activity choose(Array<Activity> possible, RandomXS128 random);
+    }
+
+    /**
+     * Histograms of the score counters at the end of each simulated week, and how the weeks ended.
+     */
+    public static class Results {
+        final long[] ate = new long[MAX_COUNT + 1];
+        final long[] slept = new long[MAX_COUNT + 1];
+        final long[] studied = new long[MAX_COUNT + 1];
+        final long[] activities = new long[MAX_COUNT + 1];
+        //Weeks that ended by going to bed on Sunday
+        long finished;
+        //Weeks where nothing could be done, i.e. no energy left and too early to go to bed
+        long stuck;
+        //Weeks stopped after MAX_ACTIONS activities
+        long runaway;
+
+        void add(Score score) {
+            ate[Math.min(score.getTimeAte(), MAX_COUNT)]++;
+            slept[Math.min(score.getTimeSlept(), MAX_COUNT)]++;
+            studied[Math.min(score.getTimeStudy(), MAX_COUNT)]++;
+            activities[Math.min(score.getTimeActivity(), MAX_COUNT)]++;
+        }
+
+        void merge(Results other) {
+            for (int i = 0; i <= MAX_COUNT; i++) {
+                ate[i] += other.ate[i];
+                slept[i] += other.slept[i];
+                studied[i] += other.studied[i];
+                activities[i] += other.activities[i];
+            }
+            finished += other.finished;
+            stuck += other.stuck;
+            runaway += other.runaway;
+        }
+
+        public long getWeeks() {
+            return finished + stuck + runaway;
+        }
+    }
+
+    //Plays a range of weeks, splitting it in half until it is small enough to play on one thread
+    private static class WeekTask extends RecursiveTask<Results> {
+        private static final long serialVersionUID = 1L;
+
+        private final Array<Activity> activities;
+        private final Policy policy;
+        private final long seed, start, end;
+
+        WeekTask(Array<Activity> activities, Policy policy, long seed, long start, long end) {
+            this.activities = activities;
+            this.policy = policy;
+            this.seed = seed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Results compute() {
+            if (end - start > WEEKS_PER_TASK) {
+                long middle = (start + end) >>> 1;
+                WeekTask second = new WeekTask(activities, policy, seed, middle, end);
+                second.fork();
+                Results results = new WeekTask(activities, policy, seed, start, middle).compute();
+                results.merge(second.join());
+                return results;
+            }
+
+            Results results = new Results();
+            Score score = new Score();
+            WeekRules week = new WeekRules(score);
+            RandomXS128 random = new RandomXS128();
+            Array<Activity> possible = new Array<Activity>(activities.size);
+            for (long i = start; i < end; i++) {
+                score.resetCounters();
+                week.reset();
+                random.setSeed(seed + i);
+                playWeek(week, possible, random, results);
+                results.add(score);
+            }
+            return results;
+        }
+
+        private void playWeek(WeekRules week, Array<Activity> possible, RandomXS128 random, Results results) {
+            for (int action = 0; action < MAX_ACTIONS; action++) {
+                possible.clear();
+                for (int i = 0; i < activities.size; i++) {
+                    if (week.canPerform(activities.get(i))) {
+                        possible.add(activities.get(i));
+                    }
+                }
+                if (possible.isEmpty()) {
+                    results.stuck++;
+                    return;
+                }
+                if (week.perform(policy.choose(possible, random)) == WeekRules.Outcome.WEEK_OVER) {
+                    results.finished++;
+                    return;
+                }
+            }
+            results.runaway++;
+        }
+    }
+
+    /**
+     * Simulates weeks in parallel on the common fork/join pool.
+     *
+     * @param activities The activities the player can choose from.
+     * @param policy     How the player chooses activities.
+     * @param weeks      The number of weeks to play.
+     * @param seed       The seed the seed of each week is made from.
+     * @return The distribution of scores.
+     */
+    public static Results simulate(Array<Activity> activities, Policy policy, long weeks, long seed) {
+        return ForkJoinPool.commonPool().invoke(new WeekTask(activities, policy, seed, 0, weeks));
+    }
+
+    public static void main(String[] args) {
+        long weeks = DEFAULT_WEEKS;
+        long seed = 0;
+        Policy policy = Policy.RANDOM;
+        String activitiesFile = "activities.json";
+        float[] costScales = {1f};
+        for (String arg : args) {
+            if (arg.startsWith("--weeks=")) {
+                weeks = Long.parseLong(arg.substring("--weeks=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--policy=")) {
+                policy = Policy.valueOf(arg.substring("--policy=".length()).toUpperCase());
+            } else if (arg.startsWith("--activities=")) {
+                activitiesFile = arg.substring("--activities=".length());
+            } else if (arg.startsWith("--cost-scale=")) {
+                String[] values = arg.substring("--cost-scale=".length()).split(",");
+                costScales = new float[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    costScales[i] = Float.parseFloat(values[i]);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --weeks=N, --seed=N, "
+                        + "--policy=random|greedy, --activities=FILE or --cost-scale=X[,Y...]");
+            }
+        }
+
+        ActivityCatalogue catalogue = new ActivityCatalogue(new FileHandle(activitiesFile));
+        System.out.println("Simulating " + weeks + " weeks per run with the " + policy.name().toLowerCase()
+                + " policy on " + ForkJoinPool.commonPool().getParallelism() + " threads");
+        for (float costScale : costScales) {
+            Array<Activity> activities = scaleCosts(catalogue, costScale);
+            long startTime = System.nanoTime();
+            Results results = simulate(activities, policy, weeks, seed);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.out.println();
+            System.out.println("Energy costs x" + costScale + " (" + Math.round(weeks / seconds) + " weeks/s)");
+            System.out.println("  finished " + percent(results.finished, weeks) + ", stuck without energy "
+                    + percent(results.stuck, weeks) + ", past Sunday " + percent(results.runaway, weeks));
+            printCounter("  studied", results.studied, weeks);
+            printCounter("  ate", results.ate, weeks);
+            printCounter("  activities", results.activities, weeks);
+            printCounter("  slept", results.slept, weeks);
+        }
+    }
+
+    //Copies the catalogue's activities with their energy costs multiplied, to sweep how costly activities are
+    private static Array<Activity> scaleCosts(ActivityCatalogue catalogue, float costScale) {
+        Array<Activity> activities = new Array<Activity>(catalogue.size());
+        for (int i = 0; i < catalogue.size(); i++) {
+            Activity activity = catalogue.get(i);
+            activities.add(new Activity(activity.getId(), activity.getName(), activity.getType(),
+                    activity.getEnergyCost() * costScale, activity.getDuration(), activity.getPromptMessage(),
+                    activity.getSuccessMessage()));
+        }
+        return activities;
+    }
+
+    private static void printCounter(String name, long[] histogram, long weeks) {
+        double total = 0;
+        int max = 0;
+        for (int i = 0; i <= MAX_COUNT; i++) {
+            total += (double) i * histogram[i];
+            if (histogram[i] > 0) max = i;
+        }
+        System.out.println(name + ": mean " + Math.round(total / weeks * 100) / 100.0
+                + ", p10 " + percentile(histogram, weeks, 0.1) + ", median " + percentile(histogram, weeks, 0.5)
+                + ", p90 " + percentile(histogram, weeks, 0.9) + ", max " + (max == MAX_COUNT ? MAX_COUNT + "+" : max));
+    }
+
+    private static int percentile(long[] histogram, long weeks, double fraction) {
+        long target = (long) Math.ceil(weeks * fraction);
+        long seen = 0;
+        for (int i = 0; i <= MAX_COUNT; i++) {
+            seen += histogram[i];
+            if (seen >= target) return i;
+        }
+        return MAX_COUNT;
+    }
+
+    private static String percent(long count, long weeks) {
+        return Math.round(count * 1000.0 / weeks) / 10.0 + "%";
+    }
+}